@@ -0,0 +1,167 @@
+package com.windsurf.agentportal.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generators for ACORD-shaped payloads as returned by Roots.ai
+ * Sizes follow what we see in practice: a single-location ACORD 125, a mid-size commercial
+ * package and a large schedule-of-locations submission.
+ */
+public final class AcordPayloads {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String[] LINES_OF_BUSINESS = {
+            "GENERAL_LIABILITY", "COMMERCIAL_PROPERTY", "COMMERCIAL_AUTO", "WORKERS_COMPENSATION",
+            "UMBRELLA", "INLAND_MARINE", "CYBER"};
+    private static final String[] STREETS = {"Main St", "Oak Ave", "Market St", "Industrial Pkwy", "Harbor Blvd"};
+    private static final String[] CITIES = {"Columbus", "Austin", "Denver", "Raleigh", "Portland"};
+    private static final String[] STATES = {"OH", "TX", "CO", "NC", "OR"};
+    private static final String[] CONSTRUCTION = {"FRAME", "JOISTED_MASONRY", "NON_COMBUSTIBLE", "FIRE_RESISTIVE"};
+
+    /**
+     * Payload size classes
+     */
+    public enum Size {
+        SMALL(1, 2),
+        MEDIUM(10, 4),
+        LARGE(200, 7);
+
+        private final int locations;
+        private final int linesOfBusiness;
+
+        Size(int locations, int linesOfBusiness) {
+            this.locations = locations;
+            this.linesOfBusiness = linesOfBusiness;
+        }
+    }
+
+    private AcordPayloads() {
+    }
+
+    /**
+     * Builds a parsedData map of the given size
+     * @param size Size class
+     * @param seed Random seed; the same seed always yields the same payload
+     * @return Parsed ACORD data
+     */
+    public static Map<String, Object> parsedData(Size size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate effective = LocalDate.of(2026, 1, 1).plusDays(random.nextInt(365));
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("formType", "ACORD 125");
+        data.put("formEdition", "2016/03");
+
+        Map<String, Object> insured = new LinkedHashMap<>();
+        insured.put("name", "Insured Holdings " + random.nextInt(10_000) + " LLC");
+        insured.put("fein", String.format("%02d-%07d", random.nextInt(100), random.nextInt(10_000_000)));
+        insured.put("sicCode", String.valueOf(1000 + random.nextInt(8999)));
+        insured.put("naicsCode", String.valueOf(100_000 + random.nextInt(899_999)));
+        insured.put("businessType", "LLC");
+        insured.put("yearsInBusiness", 1 + random.nextInt(60));
+        insured.put("mailingAddress", address(random));
+        insured.put("website", null);
+        data.put("insured", insured);
+
+        Map<String, Object> policy = new LinkedHashMap<>();
+        policy.put("effectiveDate", effective.toString());
+        policy.put("expirationDate", effective.plusYears(1).toString());
+        policy.put("billingPlan", random.nextBoolean() ? "DIRECT" : "AGENCY");
+        policy.put("paymentPlan", "ANNUAL");
+        data.put("policy", policy);
+
+        List<String> lobs = new ArrayList<>();
+        for (int i = 0; i < size.linesOfBusiness; i++) {
+            lobs.add(LINES_OF_BUSINESS[i]);
+        }
+        data.put("linesOfBusiness", lobs);
+
+        List<Map<String, Object>> locations = new ArrayList<>(size.locations);
+        for (int i = 0; i < size.locations; i++) {
+            Map<String, Object> location = new LinkedHashMap<>();
+            location.put("locationNumber", i + 1);
+            location.put("address", address(random));
+            location.put("buildingValue", 100_000 + random.nextInt(9_900_000));
+            location.put("contentsValue", 10_000 + random.nextInt(990_000));
+            location.put("businessIncome", random.nextInt(2_000_000));
+            location.put("yearBuilt", 1900 + random.nextInt(125));
+            location.put("constructionType", CONSTRUCTION[random.nextInt(CONSTRUCTION.length)]);
+            location.put("squareFeet", 500 + random.nextInt(200_000));
+            location.put("sprinklered", random.nextBoolean());
+            location.put("alarmType", random.nextBoolean() ? "CENTRAL_STATION" : "");
+            location.put("additionalInterests", List.of());
+            locations.add(location);
+        }
+        data.put("locations", locations);
+
+        List<Map<String, Object>> priorCarriers = new ArrayList<>();
+        for (int year = 1; year <= 3; year++) {
+            Map<String, Object> prior = new LinkedHashMap<>();
+            prior.put("year", effective.getYear() - year);
+            prior.put("carrier", "Carrier " + random.nextInt(50));
+            prior.put("premium", 5_000 + random.nextInt(250_000));
+            prior.put("losses", random.nextInt(4));
+            priorCarriers.add(prior);
+        }
+        data.put("priorCarriers", priorCarriers);
+
+        Map<String, Object> contact = new LinkedHashMap<>();
+        contact.put("name", "Contact " + random.nextInt(1000));
+        contact.put("phone", String.format("(%03d) %03d-%04d", 200 + random.nextInt(799), random.nextInt(1000), random.nextInt(10_000)));
+        contact.put("email", "contact" + random.nextInt(1000) + "@example.com");
+        data.put("contact", contact);
+        data.put("remarks", "");
+
+        return data;
+    }
+
+    /**
+     * @param size Size class
+     * @return parsedData serialized as JSON
+     */
+    public static String parsedDataJson(Size size) {
+        return toJson(parsedData(size, size.ordinal()));
+    }
+
+    /**
+     * @param size Size class
+     * @return Roots.ai parse response body as JSON
+     */
+    public static String rootsAiResponseJson(Size size) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("requestId", "req-" + size.name().toLowerCase());
+        response.put("status", "COMPLETED");
+        response.put("parsedData", parsedData(size, size.ordinal()));
+        response.put("message", "Parsed successfully");
+        return toJson(response);
+    }
+
+    private static Map<String, Object> address(SplittableRandom random) {
+        Map<String, Object> address = new LinkedHashMap<>();
+        int city = random.nextInt(CITIES.length);
+        address.put("line1", (1 + random.nextInt(9999)) + " " + STREETS[random.nextInt(STREETS.length)]);
+        address.put("line2", null);
+        address.put("city", CITIES[city]);
+        address.put("state", STATES[city]);
+        address.put("postalCode", String.format("%05d", random.nextInt(100_000)));
+        address.put("country", "US");
+        return address;
+    }
+
+    private static String toJson(Object value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.windsurf.agentportal.benchmark;
+
+import com.windsurf.agentportal.config.ApiKeyProperties;
+import com.windsurf.agentportal.filter.ApiKeyAuthFilter;
+import com.windsurf.agentportal.security.ApiKeyRegistry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of API key resolution for accepted, rejected and public-path requests
+ * The number of registered clients is varied to show the constant-time comparison scales with it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiKeyAuthFilterBenchmark {
+
+    @Param({"valid", "invalid", "public"})
+    public String request;
+
+    @Param({"1", "16"})
+    public int clients;
+
+    private ApiKeyAuthFilter filter;
+    private String apiKey;
+
+    @Setup
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>();
+        for (int i = 0; i < clients; i++) {
+            properties.put("app.security.api-keys.client-" + i, "key-" + i + "-0123456789abcdef0123456789abcdef");
+        }
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+
+        filter = new ApiKeyAuthFilter(new ApiKeyRegistry(environment), new ApiKeyProperties(), new SimpleMeterRegistry());
+        apiKey = "invalid".equals(request)
+                ? "key-x-0123456789abcdef0123456789abcdef"
+                : "key-" + (clients - 1) + "-0123456789abcdef0123456789abcdef";
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws Exception {
+        MockHttpServletRequest httpRequest = "public".equals(request)
+                ? new MockHttpServletRequest("POST", "/notifyme/agent123")
+                : new MockHttpServletRequest("POST", "/submission");
+        httpRequest.addHeader(ApiKeyAuthFilter.API_KEY_HEADER, apiKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(httpRequest, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,163 @@
+package com.windsurf.agentportal.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Runs JMH and compares the scores with the checked-in baseline
+ *
+ * Arguments are passed to JMH unchanged, except for:
+ * --update-baseline   write the results of this run as the new baseline
+ * --tolerance=0.25    relative slowdown reported as a regression (default 0.20)
+ *
+ * Raw JMH results are written to target/jmh-result.json. Nothing is gated until a baseline has been
+ * recorded with JMH on the reference machine; a baseline from any other harness is ignored.
+ */
+public final class BenchmarkRunner {
+
+    static final Path BASELINE = Path.of("src/jmh/baseline/jmh-baseline.json");
+    static final Path RESULT = Path.of("target/jmh-result.json");
+    static final String HARNESS = "JMH";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean updateBaseline = false;
+        double tolerance = 0.20;
+        List<String> jmhArgs = new ArrayList<>();
+        for (String arg : args) {
+            if ("--update-baseline".equals(arg)) {
+                updateBaseline = true;
+            } else if (arg.startsWith("--tolerance=")) {
+                tolerance = Double.parseDouble(arg.substring("--tolerance=".length()));
+            } else {
+                jmhArgs.add(arg);
+            }
+        }
+
+        Files.createDirectories(RESULT.getParent());
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(jmhArgs.toArray(String[]::new)))
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT.toString())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Score> scores = new TreeMap<>();
+        String jmhVersion = null;
+        for (RunResult result : results) {
+            jmhVersion = result.getParams().getJmhVersion();
+            scores.put(key(result.getParams()), new Score(
+                    result.getPrimaryResult().getScore(),
+                    result.getPrimaryResult().getScoreUnit()));
+        }
+
+        if (updateBaseline) {
+            writeBaseline(scores, jmhVersion);
+            System.out.println("Baseline updated: " + BASELINE);
+            return;
+        }
+        Map<String, Score> baseline = readBaseline();
+        if (baseline.isEmpty()) {
+            System.out.println("No JMH baseline recorded, nothing compared; record one with --update-baseline");
+            return;
+        }
+        int regressions = compare(scores, baseline, tolerance);
+        if (regressions > 0) {
+            System.out.printf("%n%d benchmark(s) regressed by more than %.0f%%%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+    }
+
+    private static int compare(Map<String, Score> scores, Map<String, Score> baseline, double tolerance) {
+        int regressions = 0;
+        System.out.printf("%n%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : scores.entrySet()) {
+            Score current = entry.getValue();
+            Score previous = baseline.get(entry.getKey());
+            if (previous == null || !previous.unit().equals(current.unit())) {
+                System.out.printf("%-80s %14s %14.3f %9s%n", entry.getKey(), "-", current.score(), "new");
+                continue;
+            }
+            // Time-per-operation units: higher is worse; throughput units: lower is worse
+            boolean timePerOp = current.unit().endsWith("/op");
+            double change = (current.score() - previous.score()) / previous.score();
+            double slowdown = timePerOp ? change : -change;
+            boolean regressed = slowdown > tolerance;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), previous.score(), current.score(),
+                    change * 100, regressed ? "  REGRESSION" : "");
+        }
+        return regressions;
+    }
+
+    private static String key(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        String shortName = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+        if (params.getParamsKeys().isEmpty()) {
+            return shortName;
+        }
+        return shortName + params.getParamsKeys().stream()
+                .map(name -> name + "=" + params.getParam(name))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static Map<String, Score> readBaseline() throws IOException {
+        Map<String, Score> baseline = new TreeMap<>();
+        if (!Files.exists(BASELINE)) {
+            return baseline;
+        }
+        JsonNode root = OBJECT_MAPPER.readTree(BASELINE.toFile());
+        if (!root.path("harness").asText().startsWith(HARNESS)) {
+            // Scores from another harness are not comparable with JMH scores
+            System.out.println("Ignoring " + BASELINE + ": not recorded with JMH");
+            return baseline;
+        }
+        root.path("benchmarks").fields().forEachRemaining(field ->
+                baseline.put(field.getKey(), new Score(
+                        field.getValue().path("score").asDouble(),
+                        field.getValue().path("unit").asText())));
+        return baseline;
+    }
+
+    private static void writeBaseline(Map<String, Score> scores, String jmhVersion) throws IOException {
+        ObjectNode root = OBJECT_MAPPER.createObjectNode();
+        root.put("harness", HARNESS + " " + jmhVersion);
+        root.put("jdk", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        root.put("os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        root.put("cpus", Runtime.getRuntime().availableProcessors());
+        ObjectNode benchmarks = root.putObject("benchmarks");
+        scores.forEach((name, score) -> benchmarks.putObject(name)
+                .put("score", Math.round(score.score() * 1000) / 1000d)
+                .put("unit", score.unit()));
+        Files.createDirectories(BASELINE.getParent());
+        OBJECT_MAPPER.writeValue(BASELINE.toFile(), root);
+    }
+
+    private record Score(double score, String unit) {
+    }
+}
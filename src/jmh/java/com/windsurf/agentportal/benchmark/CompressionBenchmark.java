@@ -0,0 +1,80 @@
+package com.windsurf.agentportal.benchmark;
+
+import com.windsurf.agentportal.benchmark.AcordPayloads.Size;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU cost of gzip-encoding Origami update bodies against the bytes it saves
+ * level 6 is what Feign's default client uses for Content-Encoding: gzip; level 1 shows how much
+ * cheaper the fastest setting would be. Compressed sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Size size;
+
+    @Param({"1", "6"})
+    public int level;
+
+    private byte[] body;
+    private byte[] compressed;
+
+    @Setup
+    public void setUp() throws IOException {
+        body = ("{\"parsedData\":" + AcordPayloads.parsedDataJson(size) + "}").getBytes(StandardCharsets.UTF_8);
+        compressed = gzip();
+        System.out.printf("%n%s level %d: %d bytes -> %d bytes (%.1f%% saved)%n", size, level, body.length,
+                compressed.length, 100.0 * (body.length - compressed.length) / body.length);
+    }
+
+    @Benchmark
+    public byte[] gzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (OutputStream gzip = new LeveledGzipOutputStream(out, level)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] gunzip() throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        private LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level == 6 ? Deflater.DEFAULT_COMPRESSION : level);
+        }
+    }
+}
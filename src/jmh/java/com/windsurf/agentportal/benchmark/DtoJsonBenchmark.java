@@ -0,0 +1,62 @@
+package com.windsurf.agentportal.benchmark;
+
+import com.windsurf.agentportal.benchmark.AcordPayloads.Size;
+import com.windsurf.agentportal.dto.OrigamiUpdateRequest;
+import com.windsurf.agentportal.dto.RootsAiResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON codec cost for the two large upstream DTOs: decoding the Roots.ai parse response and
+ * encoding the Origami update request. The ObjectMapper is configured the way Spring builds it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoJsonBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Size size;
+
+    private ObjectMapper objectMapper;
+    private byte[] rootsAiResponse;
+    private OrigamiUpdateRequest updateRequest;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        rootsAiResponse = AcordPayloads.rootsAiResponseJson(size).getBytes(StandardCharsets.UTF_8);
+        updateRequest = OrigamiUpdateRequest.builder()
+                .submissionProposalId("SP-123")
+                .parsedData(AcordPayloads.parsedData(size, size.ordinal()))
+                .build();
+    }
+
+    @Benchmark
+    public RootsAiResponse readRootsAiResponse() throws Exception {
+        return objectMapper.readValue(rootsAiResponse, RootsAiResponse.class);
+    }
+
+    @Benchmark
+    public byte[] writeOrigamiUpdateRequest() throws Exception {
+        return objectMapper.writeValueAsBytes(updateRequest);
+    }
+}
@@ -0,0 +1,69 @@
+package com.windsurf.agentportal.benchmark;
+
+import com.windsurf.agentportal.config.FeignErrorDecoder;
+
+import feign.Request;
+import feign.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning upstream error responses into exceptions
+ * This path runs for every failed call while an upstream is degraded, so it matters most exactly
+ * when the service is under stress. Error bodies range from a short JSON message to an HTML error page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FeignErrorDecoderBenchmark {
+
+    @Param({"400", "429", "503"})
+    public int status;
+
+    @Param({"json", "html"})
+    public String body;
+
+    private final FeignErrorDecoder decoder = new FeignErrorDecoder();
+    private Request request;
+    private byte[] bodyBytes;
+
+    @Setup
+    public void setUp() {
+        request = Request.create(Request.HttpMethod.PUT, "https://api.origami.com/api/submissions/SP-123",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        String content = "json".equals(body)
+                ? "{\"error\":\"invalid_request\",\"message\":\"parsedData.insured.fein is malformed\",\"requestId\":\"r-42\"}"
+                : "<html><head><title>" + status + "</title></head><body>" + "<p>Upstream error</p>".repeat(200)
+                        + "</body></html>";
+        bodyBytes = content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Exception decode() {
+        Response response = Response.builder()
+                .status(status)
+                .reason("error")
+                .request(request)
+                .headers(Map.of("Content-Type", List.of("json".equals(body) ? "application/json" : "text/html")))
+                .body(bodyBytes)
+                .build();
+        return decoder.decode("OrigamiClient#updateSubmission(String,String,OrigamiUpdateRequest)", response);
+    }
+}
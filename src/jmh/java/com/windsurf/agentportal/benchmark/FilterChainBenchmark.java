@@ -0,0 +1,140 @@
+package com.windsurf.agentportal.benchmark;
+
+import com.windsurf.agentportal.config.RequestLoggingConfig;
+import com.windsurf.agentportal.config.SecurityConfig;
+import com.windsurf.agentportal.filter.ApiKeyAuthFilter;
+import com.windsurf.agentportal.filter.RateLimitFilter;
+import com.windsurf.agentportal.ratelimit.InMemoryTokenBucketStore;
+import com.windsurf.agentportal.security.ApiKeyRegistry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.filter.CommonsRequestLoggingFilter;
+import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of the servlet filters in front of the controllers, by route class
+ * The request logging filter and Spring Security's filter chain proxy are wired from the real
+ * configuration classes; the terminal servlet does nothing, so the score is pure filter cost.
+ * Compare each route against {@link #noFilters()} to get the overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterChainBenchmark {
+
+    static final String API_KEY = "benchmark-api-key";
+
+    private static final HttpServlet NO_OP_SERVLET = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+    };
+
+    /**
+     * probe: liveness/readiness checks, public: notification callback, api: authenticated endpoint
+     */
+    @Param({"probe", "public", "api"})
+    public String route;
+
+    private AnnotationConfigWebApplicationContext context;
+    private Filter[] filters;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "app.security.api-key", API_KEY,
+                "app.rate-limit.default-quota.capacity", Integer.MAX_VALUE,
+                "app.rate-limit.default-quota.refill-per-second", 1_000_000_000d)));
+        context.register(FilterChainContext.class);
+        context.refresh();
+
+        filters = new Filter[] {
+                context.getBean(CommonsRequestLoggingFilter.class),
+                context.getBean("springSecurityFilterChain", Filter.class)
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterChain() throws Exception {
+        MockHttpServletRequest request = newRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(NO_OP_SERVLET, filters).doFilter(request, response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse noFilters() throws Exception {
+        MockHttpServletRequest request = newRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(NO_OP_SERVLET).doFilter(request, response);
+        return response;
+    }
+
+    private MockHttpServletRequest newRequest() {
+        return switch (route) {
+            case "probe" -> new MockHttpServletRequest("GET", "/actuator/health");
+            case "public" -> new MockHttpServletRequest("POST", "/notifyme/agent123");
+            default -> {
+                MockHttpServletRequest request = new MockHttpServletRequest("GET", "/submission");
+                request.addHeader(ApiKeyAuthFilter.API_KEY_HEADER, API_KEY);
+                yield request;
+            }
+        };
+    }
+
+    @Configuration
+    @Import({SecurityConfig.class, RequestLoggingConfig.class, ApiKeyRegistry.class, ApiKeyAuthFilter.class,
+            RateLimitFilter.class, InMemoryTokenBucketStore.class})
+    static class FilterChainContext {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        HandlerMappingIntrospector mvcHandlerMappingIntrospector() {
+            return new HandlerMappingIntrospector();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.windsurf.agentportal.benchmark;
+
+import com.windsurf.agentportal.benchmark.AcordPayloads.Size;
+import com.windsurf.agentportal.model.JsonToMapConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the parsedData column conversion on every Submission write and read
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonToMapConverterBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Size size;
+
+    private final JsonToMapConverter converter = new JsonToMapConverter();
+    private Map<String, Object> parsedData;
+    private String column;
+
+    @Setup
+    public void setUp() {
+        parsedData = AcordPayloads.parsedData(size, size.ordinal());
+        column = converter.convertToDatabaseColumn(parsedData);
+    }
+
+    @Benchmark
+    public String toDatabaseColumn() {
+        return converter.convertToDatabaseColumn(parsedData);
+    }
+
+    @Benchmark
+    public Map<String, Object> toEntityAttribute() {
+        return converter.convertToEntityAttribute(column);
+    }
+}
@@ -0,0 +1,65 @@
+package com.windsurf.agentportal.benchmark;
+
+import com.windsurf.agentportal.dto.NotificationRequest;
+import com.windsurf.agentportal.model.Notification;
+import com.windsurf.agentportal.repository.NotificationRepository;
+import com.windsurf.agentportal.service.impl.NotificationServiceImpl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building a notification, dominated by timestamp parsing and id generation
+ * The repository is a no-op stand-in so only the service's own work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationServiceBenchmark {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private NotificationServiceImpl notificationService;
+    private NotificationRequest request;
+
+    @Setup
+    public void setUp() {
+        NotificationRepository repository = (NotificationRepository) Proxy.newProxyInstance(
+                NotificationRepository.class.getClassLoader(),
+                new Class<?>[] {NotificationRepository.class},
+                (proxy, method, args) -> "save".equals(method.getName()) ? args[0] : null);
+        notificationService = new NotificationServiceImpl(repository);
+        request = NotificationRequest.builder()
+                .submissionId("SP-123")
+                .status("PROCESSED")
+                .message("Submission was successfully processed")
+                .timestamp("2026-03-14T09:26:53")
+                .build();
+    }
+
+    @Benchmark
+    public Notification createNotification() {
+        return notificationService.createNotification("agent123", request);
+    }
+
+    @Benchmark
+    public LocalDateTime parseTimestamp() {
+        return LocalDateTime.parse(request.getTimestamp(), FORMATTER);
+    }
+}
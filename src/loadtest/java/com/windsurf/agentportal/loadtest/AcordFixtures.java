@@ -0,0 +1,84 @@
+package com.windsurf.agentportal.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * ACORD XML uploads and matching Roots.ai parse responses for the load test
+ */
+public final class AcordFixtures {
+
+    private static final String[] CITIES = {"Columbus", "Austin", "Denver", "Raleigh", "Portland"};
+    private static final String[] STATES = {"OH", "TX", "CO", "NC", "OR"};
+    private static final String[] LINES_OF_BUSINESS = {"CGL", "PROP", "AUTOB", "WORK", "UMBRC"};
+
+    private AcordFixtures() {
+    }
+
+    /**
+     * Builds an ACORD 125-style XML document
+     * @param locations Number of locations on the schedule
+     * @param seed Random seed
+     * @return XML bytes
+     */
+    public static byte[] acordXml(int locations, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate effective = LocalDate.of(2026, 1, 1).plusDays(random.nextInt(365));
+        StringBuilder xml = new StringBuilder(512 + locations * 640);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+           .append("<ACORD>\n <SignonRq><ClientApp><Org>AgentPortal</Org></ClientApp></SignonRq>\n")
+           .append(" <InsuranceSvcRq>\n  <CommlPkgPolicyQuoteInqRq>\n")
+           .append("   <InsuredOrPrincipal><GeneralPartyInfo><NameInfo><CommlName><CommercialName>")
+           .append("Insured Holdings ").append(random.nextInt(10_000)).append(" LLC")
+           .append("</CommercialName></CommlName><TaxIdentity><TaxIdTypeCd>FEIN</TaxIdTypeCd><TaxId>")
+           .append(String.format("%02d-%07d", random.nextInt(100), random.nextInt(10_000_000)))
+           .append("</TaxId></TaxIdentity></NameInfo></GeneralPartyInfo></InsuredOrPrincipal>\n")
+           .append("   <CommlPolicy><ContractTerm><EffectiveDt>").append(effective)
+           .append("</EffectiveDt><ExpirationDt>").append(effective.plusYears(1))
+           .append("</ExpirationDt></ContractTerm>\n");
+        for (int i = 0; i < 1 + random.nextInt(LINES_OF_BUSINESS.length); i++) {
+            xml.append("    <LOBCd>").append(LINES_OF_BUSINESS[i]).append("</LOBCd>\n");
+        }
+        xml.append("   </CommlPolicy>\n");
+        for (int i = 0; i < locations; i++) {
+            int city = random.nextInt(CITIES.length);
+            xml.append("   <Location id=\"L").append(i + 1).append("\"><Addr><Addr1>")
+               .append(1 + random.nextInt(9999)).append(" Main St</Addr1><City>").append(CITIES[city])
+               .append("</City><StateProvCd>").append(STATES[city]).append("</StateProvCd><PostalCode>")
+               .append(String.format("%05d", random.nextInt(100_000))).append("</PostalCode></Addr>")
+               .append("<BuildingValue>").append(100_000 + random.nextInt(9_900_000)).append("</BuildingValue>")
+               .append("<YearBuilt>").append(1900 + random.nextInt(125)).append("</YearBuilt></Location>\n");
+        }
+        xml.append("  </CommlPkgPolicyQuoteInqRq>\n </InsuranceSvcRq>\n</ACORD>\n");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds a Roots.ai parse response body
+     * @param locations Number of locations in parsedData
+     * @param seed Random seed
+     * @return JSON bytes
+     */
+    public static byte[] rootsAiResponse(int locations, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder json = new StringBuilder(512 + locations * 256);
+        json.append("{\"requestId\":\"req-").append(seed).append("\",\"status\":\"COMPLETED\",\"parsedData\":{")
+            .append("\"insured\":{\"name\":\"Insured Holdings ").append(random.nextInt(10_000)).append(" LLC\",")
+            .append("\"fein\":\"").append(String.format("%02d-%07d", random.nextInt(100), random.nextInt(10_000_000)))
+            .append("\"},\"policy\":{\"effectiveDate\":\"2026-01-01\",\"expirationDate\":\"2027-01-01\"},")
+            .append("\"linesOfBusiness\":[\"GENERAL_LIABILITY\",\"COMMERCIAL_PROPERTY\"],\"locations\":[");
+        for (int i = 0; i < locations; i++) {
+            int city = random.nextInt(CITIES.length);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"locationNumber\":").append(i + 1)
+                .append(",\"city\":\"").append(CITIES[city]).append("\",\"state\":\"").append(STATES[city])
+                .append("\",\"buildingValue\":").append(100_000 + random.nextInt(9_900_000))
+                .append(",\"yearBuilt\":").append(1900 + random.nextInt(125)).append('}');
+        }
+        json.append("]},\"message\":\"Parsed successfully\"}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
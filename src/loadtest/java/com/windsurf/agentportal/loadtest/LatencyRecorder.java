@@ -0,0 +1,79 @@
+package com.windsurf.agentportal.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects request latencies and response status counts
+ * Each worker records into its own buffer, so recording does not contend; the buffers are only
+ * merged and sorted once the run is over.
+ */
+final class LatencyRecorder {
+
+    private final Buffer[] buffers;
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    LatencyRecorder(int workers) {
+        buffers = new Buffer[workers];
+        for (int i = 0; i < workers; i++) {
+            buffers[i] = new Buffer();
+        }
+    }
+
+    void record(int worker, long latencyNanos, String outcome) {
+        buffers[worker].add(latencyNanos);
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    Map<String, Long> outcomes() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        outcomes.forEach((outcome, counter) -> snapshot.put(outcome, counter.sum()));
+        return snapshot;
+    }
+
+    /**
+     * @return All recorded latencies in nanoseconds, sorted ascending
+     */
+    long[] sorted() {
+        int total = 0;
+        for (Buffer buffer : buffers) {
+            total += buffer.size;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (Buffer buffer : buffers) {
+            System.arraycopy(buffer.values, 0, all, offset, buffer.size);
+            offset += buffer.size;
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    /**
+     * @param sorted Latencies sorted ascending
+     * @param percentile Percentile between 0 and 100
+     * @return Latency at the percentile (nearest rank), or 0 when nothing was recorded
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static final class Buffer {
+        private long[] values = new long[4096];
+        private int size;
+
+        private void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.windsurf.agentportal.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.windsurf.agentportal.AgentPortalServiceApplication;
+import com.windsurf.agentportal.filter.ApiKeyAuthFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test for POST /submission
+ *
+ * Starts stub Origami, Roots.ai and Agent Portal servers and the service itself in this JVM, then
+ * keeps {@code --concurrency} workers uploading ACORD files for {@code --duration} after a warm-up.
+ * Everything listens on loopback, so the run needs no network access.
+ *
+ * Options (--name=value):
+ * concurrency          concurrent uploads (default 16)
+ * duration, warmup     measured run and warm-up, e.g. 30s, 500ms (default 30s, 5s)
+ * locations            locations per ACORD file and per parse response (default 10)
+ * origami-latency      latency spec for each stub: fixed:30ms, uniform:20ms:80ms or lognormal:median:p99
+ * rootsai-latency
+ * portal-latency
+ * origami-error-rate   fraction of stub responses answered with 503 (default 0)
+ * rootsai-error-rate
+ * portal-error-rate
+ * rootsai-drip         slow-drip the parse response, e.g. 512:20ms (bytes per chunk : delay per chunk)
+ * deadline             client time budget sent in X-Request-Timeout-Ms, e.g. 5s (default: none)
+ * target               base URL of an already running service (e.g. the native binary); the stubs are
+ *                      still started and their URLs printed so that service can be pointed at them
+ * stub-port            fixed port for the Origami stub, Roots.ai and Agent Portal take the next two
+ *                      (default: ephemeral ports); use with target so the service can be started first
+ * client               app.submission.client of the in-process service: blocking or non-blocking (default blocking)
+ * max-concurrent       raises the service's admission and scheduling limits to this many submissions in flight
+ *                      (default: as configured), so the client, not the limits, is what is compared
+ * profiles             Spring profiles of the in-process service, e.g. prod,bench to measure the production
+ *                      persistence settings against file-mode H2 (default: none, in-memory H2)
+ *
+ * The report is printed and written to target/loadtest-report.json. With the in-process service it includes
+ * heap and threads per request in flight: the growth over the idle baseline taken before the measured run,
+ * divided by the concurrency, and how long requests waited for and held database connections.
+ */
+public final class LoadTestDriver {
+
+    static final Path REPORT = Path.of("target/loadtest-report.json");
+    static final String API_KEY = "loadtest-key";
+
+    private static final String BOUNDARY = "----agentportal-loadtest";
+
+    private LoadTestDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        Duration duration = Duration.ofMillis((long) StubBehavior.millis(options.getOrDefault("duration", "30s")));
+        Duration warmup = Duration.ofMillis((long) StubBehavior.millis(options.getOrDefault("warmup", "5s")));
+        int locations = Integer.parseInt(options.getOrDefault("locations", "10"));
+        String deadline = options.containsKey("deadline")
+                ? Long.toString((long) StubBehavior.millis(options.get("deadline"))) : null;
+
+        StubBehavior origami = behavior(options, "origami", "lognormal:40ms:200ms");
+        StubBehavior rootsAi = behavior(options, "rootsai", "lognormal:150ms:800ms");
+        StubBehavior portal = behavior(options, "portal", "fixed:10ms");
+
+        int stubPort = Integer.parseInt(options.getOrDefault("stub-port", "0"));
+
+        try (StubUpstreams stubs = new StubUpstreams(origami, rootsAi, portal, locations, stubPort)) {
+            System.out.printf("Stubs: origami=%s (%s), rootsai=%s (%s), agent-portal=%s (%s)%n",
+                    stubs.origamiUrl(), origami, stubs.rootsAiUrl(), rootsAi, stubs.agentPortalUrl(), portal);
+
+            ConfigurableApplicationContext application = null;
+            String target = options.get("target");
+            if (target == null) {
+                application = startService(stubs, options);
+                int port = ((ServletWebServerApplicationContext) application).getWebServer().getPort();
+                target = "http://127.0.0.1:" + port;
+            }
+
+            try {
+                HttpClient client = HttpClient.newBuilder()
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .executor(Executors.newFixedThreadPool(Math.max(2, concurrency / 4)))
+                        .build();
+                List<byte[]> bodies = new ArrayList<>();
+                for (int i = 0; i < 32; i++) {
+                    bodies.add(multipartBody(i, AcordFixtures.acordXml(locations, i)));
+                }
+                URI uri = URI.create(target + "/submission");
+
+                System.out.printf("Warming up for %s with %d workers against %s%n", warmup, concurrency, uri);
+                drive(client, uri, bodies, deadline, concurrency, warmup, new LatencyRecorder(concurrency));
+
+                System.out.printf("Measuring for %s%n", duration);
+                LatencyRecorder recorder = new LatencyRecorder(concurrency);
+                ResourceSampler sampler = new ResourceSampler(application != null);
+                PoolTimes poolBefore = PoolTimes.of(application);
+                long started = System.nanoTime();
+                drive(client, uri, bodies, deadline, concurrency, duration, recorder);
+                long elapsed = System.nanoTime() - started;
+                sampler.stop();
+
+                report(options, concurrency, elapsed, recorder, sampler, stubs, poolBefore, PoolTimes.of(application));
+            } finally {
+                if (application != null) {
+                    application.close();
+                }
+            }
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startService(StubUpstreams stubs, Map<String, String> options) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("app.submission.client", options.getOrDefault("client", "blocking"));
+        if (options.containsKey("max-concurrent")) {
+            int maxConcurrent = Integer.parseInt(options.get("max-concurrent"));
+            properties.put("app.admission.max-in-flight", maxConcurrent);
+            properties.put("app.scheduling.max-concurrent", maxConcurrent);
+        }
+        properties.put("server.port", 0);
+        properties.put("api.origami.base-url", stubs.origamiUrl());
+        properties.put("api.rootsai.base-url", stubs.rootsAiUrl());
+        properties.put("api.agent-portal.base-url", stubs.agentPortalUrl());
+        properties.put("api.origami.api-key", "stub");
+        properties.put("api.rootsai.api-key", "stub");
+        properties.put("api.agent-portal.api-key", "stub");
+        properties.put("security.api-key", API_KEY);
+        properties.put("app.security.api-key", API_KEY);
+        properties.put("app.rate-limit.enabled", false);
+        properties.put("app.submission.recovery.enabled", false);
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("spring.cloud.openfeign.client.config.default.loggerLevel", "none");
+        properties.put("spring.cloud.openfeign.client.config.default.readTimeout", 30_000);
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.windsurf.agentportal", "WARN");
+        properties.put("logging.level.com.springcloud.agentportal", "WARN");
+        properties.put("logging.level.org.springframework.cloud.openfeign", "WARN");
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(AgentPortalServiceApplication.class)
+                .properties(properties);
+        if (options.containsKey("profiles")) {
+            builder.profiles(options.get("profiles").split(","));
+        }
+        return builder.run();
+    }
+
+    private static void drive(HttpClient client, URI uri, List<byte[]> bodies, String deadline, int concurrency,
+                              Duration duration, LatencyRecorder recorder) throws InterruptedException {
+        long end = System.nanoTime() + duration.toNanos();
+        AtomicLong sequence = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        for (int worker = 0; worker < concurrency; worker++) {
+            int id = worker;
+            Thread thread = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        byte[] body = bodies.get((int) (sequence.getAndIncrement() % bodies.size()));
+                        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                                .timeout(Duration.ofSeconds(60))
+                                .header(ApiKeyAuthFilter.API_KEY_HEADER, API_KEY)
+                                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+                        if (deadline != null) {
+                            request.header("X-Request-Timeout-Ms", deadline);
+                        }
+                        long start = System.nanoTime();
+                        String outcome;
+                        try {
+                            outcome = String.valueOf(client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode());
+                        } catch (java.io.IOException e) {
+                            outcome = e.getClass().getSimpleName();
+                        }
+                        recorder.record(id, System.nanoTime() - start, outcome);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "loadtest-worker-" + worker);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+    }
+
+    private static byte[] multipartBody(int index, byte[] acordXml) {
+        String request = "{\"emailId\":\"agent" + index + "@example.com\",\"userId\":\"user-" + index
+                + "\",\"agentId\":\"agent-" + (index % 8) + "\",\"clientName\":\"Client " + index + "\"}";
+        ByteArrayOutputStream out = new ByteArrayOutputStream(acordXml.length + 512);
+        out.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"request\"\r\n"
+                + "Content-Type: application/json\r\n\r\n"
+                + request + "\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"acord-" + index + ".xml\"\r\n"
+                + "Content-Type: application/xml\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(acordXml);
+        out.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private static void report(Map<String, String> options, int concurrency, long elapsedNanos,
+                               LatencyRecorder recorder, ResourceSampler sampler, StubUpstreams stubs,
+                               PoolTimes poolBefore, PoolTimes poolAfter)
+            throws java.io.IOException {
+        long[] latencies = recorder.sorted();
+        double seconds = elapsedNanos / 1e9;
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ObjectNode report = objectMapper.createObjectNode();
+        report.putPOJO("options", options);
+        report.put("concurrency", concurrency);
+        report.put("seconds", Math.round(seconds * 100) / 100d);
+        report.put("requests", latencies.length);
+        report.put("throughputPerSecond", Math.round(latencies.length / seconds * 10) / 10d);
+        ObjectNode latency = report.putObject("latencyMillis");
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            latency.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                    toMillis(LatencyRecorder.percentile(latencies, percentile)));
+        }
+        latency.put("max", toMillis(latencies.length == 0 ? 0 : latencies[latencies.length - 1]));
+        report.putPOJO("responses", recorder.outcomes());
+        report.put("peakHeapUsedMb", sampler.peakHeapBytes() / (1024 * 1024));
+        report.put("peakThreads", sampler.peakThreads());
+        if (sampler.baselineHeapBytes() >= 0) {
+            report.put("baselineHeapUsedMb", sampler.baselineHeapBytes() / (1024 * 1024));
+            report.put("baselineThreads", sampler.baselineThreads());
+            report.put("heapPerInFlightKb", (sampler.peakHeapBytes() - sampler.baselineHeapBytes()) / 1024 / concurrency);
+            report.put("threadsPerInFlight", Math.round((sampler.peakThreads() - sampler.baselineThreads()) * 100d / concurrency) / 100d);
+        }
+        if (poolBefore != null && poolAfter != null) {
+            ObjectNode pool = report.putObject("connectionPool");
+            pool.put("size", poolAfter.size());
+            pool.put("acquisitions", poolAfter.acquisitions() - poolBefore.acquisitions());
+            pool.put("acquireMeanMillis", mean(poolAfter.acquireNanos() - poolBefore.acquireNanos(),
+                    poolAfter.acquisitions() - poolBefore.acquisitions()));
+            pool.put("acquireMaxMillis", Math.round(poolAfter.acquireMaxMillis() * 100) / 100d);
+            pool.put("usageMeanMillis", mean(poolAfter.usageNanos() - poolBefore.usageNanos(),
+                    poolAfter.usages() - poolBefore.usages()));
+        }
+        report.putPOJO("stubRequests", stubs.requestCounts());
+        report.putPOJO("stubFailures", stubs.failureCounts());
+
+        String json = objectMapper.writeValueAsString(report);
+        System.out.println(json);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, json);
+        System.out.println("Report written to " + REPORT);
+    }
+
+    private static double mean(double nanos, long count) {
+        return count == 0 ? 0 : toMillis((long) (nanos / count));
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1e4) / 100d;
+    }
+
+    private static StubBehavior behavior(Map<String, String> options, String name, String defaultLatency) {
+        return StubBehavior.of(
+                options.getOrDefault(name + "-latency", defaultLatency),
+                Double.parseDouble(options.getOrDefault(name + "-error-rate", "0")),
+                options.get(name + "-drip"));
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Cumulative Hikari timings of the in-process service; the difference of two snapshots covers the run
+     */
+    private record PoolTimes(int size, long acquisitions, double acquireNanos, double acquireMaxMillis,
+                             long usages, double usageNanos) {
+
+        private static PoolTimes of(ConfigurableApplicationContext application) {
+            if (application == null) {
+                return null;
+            }
+            MeterRegistry registry = application.getBean(MeterRegistry.class);
+            Timer acquire = registry.find("hikaricp.connections.acquire").timer();
+            Timer usage = registry.find("hikaricp.connections.usage").timer();
+            Gauge max = registry.find("hikaricp.connections.max").gauge();
+            if (acquire == null || usage == null || max == null) {
+                return null;
+            }
+            return new PoolTimes((int) max.value(), acquire.count(), acquire.totalTime(TimeUnit.NANOSECONDS),
+                    acquire.max(TimeUnit.MILLISECONDS), usage.count(), usage.totalTime(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    /**
+     * Samples heap usage and live threads while the measured run is in progress
+     */
+    private static final class ResourceSampler {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        private final AtomicLong peakHeapBytes = new AtomicLong();
+        private final long baselineHeapBytes;
+        private final int baselineThreads;
+
+        /**
+         * @param inProcess Whether the service runs in this JVM; only then is an idle baseline taken
+         */
+        private ResourceSampler(boolean inProcess) {
+            if (inProcess) {
+                // Warm-up requests have drained; what remains after a full collection is the idle footprint
+                System.gc();
+                baselineHeapBytes = memory.getHeapMemoryUsage().getUsed();
+                baselineThreads = threads.getThreadCount();
+            } else {
+                baselineHeapBytes = -1;
+                baselineThreads = -1;
+            }
+            threads.resetPeakThreadCount();
+            scheduler.scheduleAtFixedRate(
+                    () -> peakHeapBytes.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                    0, 100, TimeUnit.MILLISECONDS);
+        }
+
+        private void stop() {
+            scheduler.shutdownNow();
+        }
+
+        private long peakHeapBytes() {
+            return peakHeapBytes.get();
+        }
+
+        private int peakThreads() {
+            return threads.getPeakThreadCount();
+        }
+
+        private long baselineHeapBytes() {
+            return baselineHeapBytes;
+        }
+
+        private int baselineThreads() {
+            return baselineThreads;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.windsurf.agentportal.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How a stub upstream responds: latency distribution, error rate and slow-drip body delivery
+ *
+ * Latency specs:
+ * fixed:30ms                   every response after 30ms
+ * uniform:20ms:80ms            uniformly between the bounds
+ * lognormal:50ms:400ms         log-normal with the given median and 99th percentile
+ *
+ * Drip specs:
+ * 1024:20ms                    body written in 1 KiB chunks with 20ms between chunks
+ */
+public final class StubBehavior {
+
+    private static final double Z_99 = 2.3263478740408408;
+
+    private final String latencySpec;
+    private final String type;
+    private final double first;
+    private final double second;
+    private final double errorRate;
+    private final int dripChunkBytes;
+    private final long dripDelayMillis;
+
+    private StubBehavior(String latencySpec, double errorRate, String dripSpec) {
+        this.latencySpec = latencySpec;
+        String[] parts = latencySpec.split(":");
+        this.type = parts[0];
+        this.first = parts.length > 1 ? millis(parts[1]) : 0;
+        this.second = parts.length > 2 ? millis(parts[2]) : first;
+        this.errorRate = errorRate;
+        if (dripSpec == null || dripSpec.isBlank()) {
+            this.dripChunkBytes = 0;
+            this.dripDelayMillis = 0;
+        } else {
+            String[] drip = dripSpec.split(":");
+            this.dripChunkBytes = Integer.parseInt(drip[0]);
+            this.dripDelayMillis = (long) millis(drip[1]);
+        }
+        if (!type.equals("fixed") && !type.equals("uniform") && !type.equals("lognormal")) {
+            throw new IllegalArgumentException("Unknown latency distribution: " + latencySpec);
+        }
+    }
+
+    public static StubBehavior of(String latencySpec, double errorRate, String dripSpec) {
+        return new StubBehavior(latencySpec, errorRate, dripSpec);
+    }
+
+    /**
+     * @return Latency to apply before responding, in milliseconds
+     */
+    public long sampleLatencyMillis() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (type) {
+            case "uniform" -> (long) (first + random.nextDouble() * (second - first));
+            case "lognormal" -> {
+                double mu = Math.log(Math.max(first, 1));
+                double sigma = Math.max(0, (Math.log(Math.max(second, 1)) - mu) / Z_99);
+                yield (long) Math.exp(mu + sigma * random.nextGaussian());
+            }
+            default -> (long) first;
+        };
+    }
+
+    /**
+     * @return Whether this response should fail
+     */
+    public boolean shouldFail() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    public boolean isDripping() {
+        return dripChunkBytes > 0;
+    }
+
+    public int getDripChunkBytes() {
+        return dripChunkBytes;
+    }
+
+    public long getDripDelayMillis() {
+        return dripDelayMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "latency=" + latencySpec + ", errorRate=" + errorRate
+                + (isDripping() ? ", drip=" + dripChunkBytes + "B/" + dripDelayMillis + "ms" : "");
+    }
+
+    static double millis(String value) {
+        String normalized = value.trim().toLowerCase();
+        if (normalized.endsWith("ms")) {
+            return Double.parseDouble(normalized.substring(0, normalized.length() - 2));
+        }
+        if (normalized.endsWith("s")) {
+            return Double.parseDouble(normalized.substring(0, normalized.length() - 1)) * 1000;
+        }
+        return Double.parseDouble(normalized);
+    }
+}
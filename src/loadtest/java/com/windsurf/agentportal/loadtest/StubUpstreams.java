@@ -0,0 +1,181 @@
+package com.windsurf.agentportal.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process stand-ins for Origami, Roots.ai and Agent Portal
+ * Each stub listens on its own loopback port and applies its {@link StubBehavior} to every response.
+ */
+public final class StubUpstreams implements AutoCloseable {
+
+    private static final byte[] ERROR_BODY = "{\"error\":\"unavailable\",\"message\":\"stubbed failure\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "stub-upstream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+    private final AtomicLong proposalIds = new AtomicLong();
+    private final byte[][] parseResponses;
+
+    private final HttpServer origami;
+    private final HttpServer rootsAi;
+    private final HttpServer agentPortal;
+
+    public StubUpstreams(StubBehavior origamiBehavior, StubBehavior rootsAiBehavior,
+                         StubBehavior agentPortalBehavior, int parsedLocations) throws IOException {
+        this(origamiBehavior, rootsAiBehavior, agentPortalBehavior, parsedLocations, 0);
+    }
+
+    /**
+     * @param basePort Origami listens on this port, Roots.ai on the next and the Agent Portal on the one
+     *                 after; 0 for ephemeral ports
+     */
+    public StubUpstreams(StubBehavior origamiBehavior, StubBehavior rootsAiBehavior,
+                         StubBehavior agentPortalBehavior, int parsedLocations, int basePort) throws IOException {
+        parseResponses = new byte[16][];
+        for (int i = 0; i < parseResponses.length; i++) {
+            parseResponses[i] = AcordFixtures.rootsAiResponse(parsedLocations, i);
+        }
+
+        origami = start("origami", port(basePort, 0), origamiBehavior, exchange -> {
+            if ("POST".equals(exchange.getRequestMethod())
+                    && exchange.getRequestURI().getPath().endsWith("/api/submissions")) {
+                return ("{\"submissionProposalId\":\"SP-" + proposalIds.incrementAndGet()
+                        + "\",\"status\":\"CREATED\",\"message\":\"created\"}").getBytes(StandardCharsets.UTF_8);
+            }
+            String path = exchange.getRequestURI().getPath();
+            String id = path.substring(path.lastIndexOf('/') + 1);
+            return ("{\"submissionProposalId\":\"" + id + "\",\"status\":\"UPDATED\",\"message\":\"updated\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+        });
+        rootsAi = start("rootsai", port(basePort, 1), rootsAiBehavior, exchange ->
+                parseResponses[(int) (proposalIds.get() & (parseResponses.length - 1))]);
+        agentPortal = start("agent-portal", port(basePort, 2), agentPortalBehavior, exchange -> new byte[0]);
+    }
+
+    public String origamiUrl() {
+        return url(origami);
+    }
+
+    public String rootsAiUrl() {
+        return url(rootsAi);
+    }
+
+    public String agentPortalUrl() {
+        return url(agentPortal);
+    }
+
+    /**
+     * @return Requests received per stub
+     */
+    public Map<String, Long> requestCounts() {
+        return snapshot(requests);
+    }
+
+    /**
+     * @return Injected failures per stub
+     */
+    public Map<String, Long> failureCounts() {
+        return snapshot(failures);
+    }
+
+    @Override
+    public void close() {
+        origami.stop(0);
+        rootsAi.stop(0);
+        agentPortal.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static int port(int basePort, int offset) {
+        return basePort == 0 ? 0 : basePort + offset;
+    }
+
+    private HttpServer start(String name, int port, StubBehavior behavior, ResponseBody body) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", handler(name, behavior, body));
+        server.start();
+        return server;
+    }
+
+    private HttpHandler handler(String name, StubBehavior behavior, ResponseBody body) {
+        return exchange -> {
+            try (exchange; InputStream in = exchange.getRequestBody()) {
+                // Read the full request like a real server would before answering
+                in.transferTo(OutputStream.nullOutputStream());
+                requests.computeIfAbsent(name, key -> new LongAdder()).increment();
+
+                sleep(behavior.sampleLatencyMillis());
+
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                if (behavior.shouldFail()) {
+                    failures.computeIfAbsent(name, key -> new LongAdder()).increment();
+                    exchange.sendResponseHeaders(503, ERROR_BODY.length);
+                    exchange.getResponseBody().write(ERROR_BODY);
+                    return;
+                }
+
+                byte[] content = body.create(exchange);
+                if (content.length == 0) {
+                    exchange.sendResponseHeaders(200, -1);
+                } else if (behavior.isDripping()) {
+                    exchange.sendResponseHeaders(200, 0);
+                    OutputStream out = exchange.getResponseBody();
+                    for (int offset = 0; offset < content.length; offset += behavior.getDripChunkBytes()) {
+                        out.write(content, offset, Math.min(behavior.getDripChunkBytes(), content.length - offset));
+                        out.flush();
+                        sleep(behavior.getDripDelayMillis());
+                    }
+                } else {
+                    exchange.sendResponseHeaders(200, content.length);
+                    exchange.getResponseBody().write(content);
+                }
+            }
+        };
+    }
+
+    private static String url(HttpServer server) {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> snapshot = new java.util.TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        return snapshot;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseBody {
+        byte[] create(HttpExchange exchange) throws IOException;
+    }
+}
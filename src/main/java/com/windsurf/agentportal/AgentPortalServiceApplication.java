@@ -1,15 +1,19 @@
 package com.windsurf.agentportal;
 
+import com.windsurf.agentportal.config.NativeRuntimeHints;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for Agent Portal Service
  * Handles submission flow with external API integrations
  */
 @SpringBootApplication
-@EnableFeignClients
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class AgentPortalServiceApplication {
 
     public static void main(String[] args) {
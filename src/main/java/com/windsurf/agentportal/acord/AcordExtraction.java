@@ -0,0 +1,91 @@
+package com.windsurf.agentportal.acord;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fields read locally from an ACORD XML form
+ * {@link #toParsedData()} uses the same keys as the Roots.ai parse result, so downstream consumers
+ * (Origami updates, search) do not need to know where the data came from.
+ */
+@Value
+@Builder
+public class AcordExtraction {
+
+    public static final String INSURED_NAME = "insuredName";
+    public static final String FEIN = "fein";
+    public static final String EFFECTIVE_DATE = "effectiveDate";
+    public static final String EXPIRATION_DATE = "expirationDate";
+    public static final String LINES_OF_BUSINESS = "linesOfBusiness";
+    public static final Set<String> FIELDS = Set.of(INSURED_NAME, FEIN, EFFECTIVE_DATE, EXPIRATION_DATE, LINES_OF_BUSINESS);
+
+    String insuredName;
+    String fein;
+    LocalDate effectiveDate;
+    LocalDate expirationDate;
+    @Singular("lineOfBusiness")
+    List<String> linesOfBusiness;
+
+    /**
+     * @param field One of the field name constants
+     * @return Whether the field was found in the form
+     */
+    public boolean has(String field) {
+        return switch (field) {
+            case INSURED_NAME -> insuredName != null;
+            case FEIN -> fein != null;
+            case EFFECTIVE_DATE -> effectiveDate != null;
+            case EXPIRATION_DATE -> expirationDate != null;
+            case LINES_OF_BUSINESS -> !linesOfBusiness.isEmpty();
+            default -> throw new IllegalArgumentException("Unknown ACORD field: " + field);
+        };
+    }
+
+    /**
+     * @return Whether nothing at all was extracted
+     */
+    public boolean isEmpty() {
+        return insuredName == null && fein == null && effectiveDate == null && expirationDate == null
+                && linesOfBusiness.isEmpty();
+    }
+
+    /**
+     * @return Extracted fields as parsedData; fields that were not found are left out
+     */
+    public Map<String, Object> toParsedData() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        Map<String, Object> insured = new LinkedHashMap<>();
+        if (insuredName != null) {
+            insured.put("name", insuredName);
+        }
+        if (fein != null) {
+            insured.put("fein", fein);
+        }
+        if (!insured.isEmpty()) {
+            data.put("insured", insured);
+        }
+
+        Map<String, Object> policy = new LinkedHashMap<>();
+        if (effectiveDate != null) {
+            policy.put(EFFECTIVE_DATE, effectiveDate.toString());
+        }
+        if (expirationDate != null) {
+            policy.put(EXPIRATION_DATE, expirationDate.toString());
+        }
+        if (!policy.isEmpty()) {
+            data.put("policy", policy);
+        }
+
+        if (!linesOfBusiness.isEmpty()) {
+            data.put(LINES_OF_BUSINESS, linesOfBusiness);
+        }
+        return data;
+    }
+}
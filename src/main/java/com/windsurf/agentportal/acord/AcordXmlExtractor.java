@@ -0,0 +1,214 @@
+package com.windsurf.agentportal.acord;
+
+import com.windsurf.agentportal.config.AcordExtractionProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Streaming reader for the common fields of ACORD XML forms
+ * The document is read with StAX one event at a time and only the values of interest are kept,
+ * so memory use does not grow with the size of the form (location schedules, attachments).
+ * DTDs and external entities are disabled.
+ *
+ * Fields read:
+ * insured name     InsuredOrPrincipal/.../CommercialName
+ * FEIN             InsuredOrPrincipal/.../TaxIdentity with TaxIdTypeCd FEIN
+ * policy dates     ContractTerm/EffectiveDt and ContractTerm/ExpirationDt (first occurrence)
+ * LOBs             every LOBCd, in document order without duplicates
+ */
+@Component
+@EnableConfigurationProperties(AcordExtractionProperties.class)
+@Slf4j
+public class AcordXmlExtractor {
+
+    private static final String ROOT = "ACORD";
+    private static final int MAX_LINES_OF_BUSINESS = 32;
+
+    private final XMLInputFactory xmlInputFactory;
+    private final int maxValueLength;
+
+    public AcordXmlExtractor(AcordExtractionProperties properties) {
+        this.maxValueLength = properties.getMaxValueLength();
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    }
+
+    /**
+     * Reads the common fields from an ACORD XML document
+     * @param content Document content; not closed
+     * @return Extracted fields, or empty if the content is not an ACORD XML document
+     */
+    public Optional<AcordExtraction> extract(InputStream content) {
+        XMLStreamReader reader = null;
+        try {
+            reader = xmlInputFactory.createXMLStreamReader(content);
+            return Optional.ofNullable(read(reader));
+        } catch (XMLStreamException e) {
+            log.debug("Upload is not well-formed XML, skipping local extraction: {}", e.getMessage());
+            return Optional.empty();
+        } finally {
+            close(reader);
+        }
+    }
+
+    private AcordExtraction read(XMLStreamReader reader) throws XMLStreamException {
+        AcordExtraction.AcordExtractionBuilder builder = AcordExtraction.builder();
+        Set<String> linesOfBusiness = new LinkedHashSet<>();
+        boolean rootSeen = false;
+        int insuredDepth = 0;
+        int contractTermDepth = 0;
+        int taxIdentityDepth = 0;
+        String taxIdType = null;
+        String taxId = null;
+        String insuredName = null;
+        LocalDate effectiveDate = null;
+        LocalDate expirationDate = null;
+        String fein = null;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if (!rootSeen) {
+                    if (!ROOT.equals(name)) {
+                        log.debug("Upload is XML but not ACORD (root element {})", name);
+                        return null;
+                    }
+                    rootSeen = true;
+                    continue;
+                }
+                switch (name) {
+                    case "InsuredOrPrincipal" -> insuredDepth++;
+                    case "ContractTerm" -> contractTermDepth++;
+                    case "TaxIdentity" -> {
+                        taxIdentityDepth++;
+                        taxIdType = null;
+                        taxId = null;
+                    }
+                    case "CommercialName" -> {
+                        if (insuredDepth > 0 && insuredName == null) {
+                            insuredName = readText(reader);
+                        }
+                    }
+                    case "TaxIdTypeCd" -> {
+                        if (taxIdentityDepth > 0) {
+                            taxIdType = readText(reader);
+                        }
+                    }
+                    case "TaxId" -> {
+                        if (taxIdentityDepth > 0) {
+                            taxId = readText(reader);
+                        }
+                    }
+                    case "EffectiveDt" -> {
+                        if (contractTermDepth > 0 && effectiveDate == null) {
+                            effectiveDate = readDate(reader);
+                        }
+                    }
+                    case "ExpirationDt" -> {
+                        if (contractTermDepth > 0 && expirationDate == null) {
+                            expirationDate = readDate(reader);
+                        }
+                    }
+                    case "LOBCd" -> {
+                        String lob = readText(reader);
+                        if (lob != null && linesOfBusiness.size() < MAX_LINES_OF_BUSINESS) {
+                            linesOfBusiness.add(lob);
+                        }
+                    }
+                    default -> {
+                        // Not a field of interest
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "InsuredOrPrincipal" -> insuredDepth--;
+                    case "ContractTerm" -> contractTermDepth--;
+                    case "TaxIdentity" -> {
+                        taxIdentityDepth--;
+                        if (insuredDepth > 0 && fein == null && taxId != null
+                                && (taxIdType == null || "FEIN".equalsIgnoreCase(taxIdType))) {
+                            fein = taxId;
+                        }
+                    }
+                    default -> {
+                        // Not a field of interest
+                    }
+                }
+            }
+        }
+
+        if (!rootSeen) {
+            return null;
+        }
+        return builder
+                .insuredName(insuredName)
+                .fein(fein)
+                .effectiveDate(effectiveDate)
+                .expirationDate(expirationDate)
+                .linesOfBusiness(linesOfBusiness)
+                .build();
+    }
+
+    /**
+     * Reads the text content of the current element, up to {@code maxValueLength} characters,
+     * and leaves the reader on its end element
+     */
+    private String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (depth == 1 && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA)
+                    && text.length() < maxValueLength) {
+                int length = Math.min(reader.getTextLength(), maxValueLength - text.length());
+                text.append(reader.getTextCharacters(), reader.getTextStart(), length);
+            }
+        }
+        String value = text.toString().strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private LocalDate readDate(XMLStreamReader reader) throws XMLStreamException {
+        String value = readText(reader);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value);
+        } catch (DateTimeParseException e) {
+            log.debug("Ignoring unparseable ACORD date {}", value);
+            return null;
+        }
+    }
+
+    private static void close(XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            log.debug("Failed to close XML reader: {}", e.getMessage());
+        }
+    }
+}
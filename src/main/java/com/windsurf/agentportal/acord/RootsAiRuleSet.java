@@ -0,0 +1,67 @@
+package com.windsurf.agentportal.acord;
+
+import com.windsurf.agentportal.config.AcordExtractionProperties;
+import com.windsurf.agentportal.model.RootsAiAction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Decides from the local extraction whether Roots.ai is called, skipped or deferred
+ * Rules from {@code app.acord.extraction.rules} are evaluated in order and the first rule whose
+ * required fields were all extracted (and whose line-of-business restriction, if any, holds) decides.
+ * Without a matching rule Roots.ai is called as before.
+ */
+@Component
+@Slf4j
+public class RootsAiRuleSet {
+
+    private final List<AcordExtractionProperties.Rule> rules;
+
+    public RootsAiRuleSet(AcordExtractionProperties properties) {
+        this.rules = List.copyOf(properties.getRules());
+        for (AcordExtractionProperties.Rule rule : rules) {
+            for (String field : rule.getRequiredFields()) {
+                if (!AcordExtraction.FIELDS.contains(field)) {
+                    throw new IllegalStateException("ACORD rule " + rule.getName() + " requires unknown field " + field
+                            + ", expected one of " + AcordExtraction.FIELDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param extraction Fields extracted locally
+     * @return Action for the Roots.ai parse
+     */
+    public RootsAiAction decide(AcordExtraction extraction) {
+        for (AcordExtractionProperties.Rule rule : rules) {
+            if (matches(rule, extraction)) {
+                log.debug("ACORD rule {} matched, Roots.ai action {}", rule.getName(), rule.getAction());
+                return rule.getAction();
+            }
+        }
+        return RootsAiAction.CALL;
+    }
+
+    private static boolean matches(AcordExtractionProperties.Rule rule, AcordExtraction extraction) {
+        for (String field : rule.getRequiredFields()) {
+            if (!extraction.has(field)) {
+                return false;
+            }
+        }
+        if (!rule.getLinesOfBusiness().isEmpty()) {
+            if (extraction.getLinesOfBusiness().isEmpty()) {
+                return false;
+            }
+            for (String lob : extraction.getLinesOfBusiness()) {
+                if (!rule.getLinesOfBusiness().contains(lob)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,119 @@
+package com.windsurf.agentportal.admission;
+
+import com.windsurf.agentportal.config.AdmissionControlProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded concurrency with deadline-aware queueing
+ * At most {@code max-in-flight} requests run at once and at most {@code max-queue-size} wait for a slot.
+ * A request is rejected up front when its deadline falls before the expected completion time
+ * (estimated queue wait plus the moving average of recent service times), and while queued it never
+ * waits past the point where it could still finish in time. Rejected requests therefore cost nothing
+ * downstream and the client learns early that it should retry elsewhere or later.
+ */
+@Component
+public class AdmissionController {
+
+    private static final double SERVICE_TIME_WEIGHT = 0.2;
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxInFlight;
+    private final int maxQueueSize;
+    private final long maxQueueWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong serviceTimeNanos;
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWait;
+
+    public AdmissionController(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.maxInFlight = properties.getMaxInFlight();
+        this.maxQueueSize = properties.getMaxQueueSize();
+        this.maxQueueWaitNanos = properties.getMaxQueueWait().toNanos();
+        this.permits = new Semaphore(maxInFlight, true);
+        this.serviceTimeNanos = new AtomicLong(properties.getInitialServiceTime().toNanos());
+        this.meterRegistry = meterRegistry;
+        this.queueWait = Timer.builder("admission.queue.wait")
+                .description("Time admitted requests waited for a slot")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("admission.inflight", this, controller -> controller.inFlight()).register(meterRegistry);
+        Gauge.builder("admission.queued", queued, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("admission.service.time", serviceTimeNanos, value -> value.get() / 1e9)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits for a slot unless the request cannot complete before its deadline
+     * An admitted request must call {@link #release(long)} once it is done.
+     *
+     * @param deadlineNanos Deadline on the {@link System#nanoTime()} clock
+     * @return Decision
+     */
+    public AdmissionDecision admit(long deadlineNanos) throws InterruptedException {
+        long start = System.nanoTime();
+        long serviceTime = serviceTimeNanos.get();
+        int waiting = queued.get();
+
+        long expectedWait = permits.availablePermits() > 0 ? 0 : (waiting + 1) * serviceTime / maxInFlight;
+        if (waiting >= maxQueueSize) {
+            return shed(AdmissionDecision.Reason.QUEUE_FULL, 0, expectedWait + serviceTime);
+        }
+        if (start + expectedWait + serviceTime > deadlineNanos) {
+            return shed(AdmissionDecision.Reason.DEADLINE, 0, expectedWait + serviceTime);
+        }
+        if (permits.tryAcquire()) {
+            queueWait.record(0, TimeUnit.NANOSECONDS);
+            return AdmissionDecision.admitted(0);
+        }
+
+        long budget = Math.min(maxQueueWaitNanos, deadlineNanos - start - serviceTime);
+        boolean acquired;
+        queued.incrementAndGet();
+        try {
+            acquired = permits.tryAcquire(budget, TimeUnit.NANOSECONDS);
+        } finally {
+            queued.decrementAndGet();
+        }
+        long waited = System.nanoTime() - start;
+        if (!acquired) {
+            return shed(budget < maxQueueWaitNanos ? AdmissionDecision.Reason.DEADLINE : AdmissionDecision.Reason.QUEUE_TIMEOUT,
+                    waited, expectedWait + serviceTime);
+        }
+        queueWait.record(waited, TimeUnit.NANOSECONDS);
+        return AdmissionDecision.admitted(waited);
+    }
+
+    /**
+     * Frees the slot of an admitted request and feeds its duration into the service time estimate
+     * @param serviceNanos Time the request spent being processed
+     */
+    public void release(long serviceNanos) {
+        permits.release();
+        serviceTimeNanos.getAndUpdate(current -> current + (long) ((serviceNanos - current) * SERVICE_TIME_WEIGHT));
+    }
+
+    public int inFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    private AdmissionDecision shed(AdmissionDecision.Reason reason, long waited, long expectedNanos) {
+        meterRegistry.counter("admission.shed", "reason", reason.name().toLowerCase()).increment();
+        long retryAfterSeconds = Math.max(1, (expectedNanos + ONE_SECOND - 1) / ONE_SECOND);
+        return AdmissionDecision.rejected(reason, waited, retryAfterSeconds);
+    }
+}
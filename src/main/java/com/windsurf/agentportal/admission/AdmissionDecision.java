@@ -0,0 +1,37 @@
+package com.windsurf.agentportal.admission;
+
+import lombok.Value;
+
+/**
+ * Outcome of an admission attempt
+ */
+@Value
+public class AdmissionDecision {
+
+    public enum Reason {
+        /** Admitted */
+        NONE,
+        /** Too many requests already waiting */
+        QUEUE_FULL,
+        /** The request could not complete before its deadline */
+        DEADLINE,
+        /** No slot became free within the maximum queue wait */
+        QUEUE_TIMEOUT
+    }
+
+    Reason reason;
+    long queueWaitNanos;
+    long retryAfterSeconds;
+
+    public boolean isAdmitted() {
+        return reason == Reason.NONE;
+    }
+
+    static AdmissionDecision admitted(long queueWaitNanos) {
+        return new AdmissionDecision(Reason.NONE, queueWaitNanos, 0);
+    }
+
+    static AdmissionDecision rejected(Reason reason, long queueWaitNanos, long retryAfterSeconds) {
+        return new AdmissionDecision(reason, queueWaitNanos, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,26 @@
+package com.windsurf.agentportal.admission;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+import java.util.OptionalLong;
+
+/**
+ * Passes the remaining client budget on to upstream calls in the same header clients use
+ */
+public class DeadlinePropagationInterceptor implements RequestInterceptor {
+
+    private final String header;
+
+    public DeadlinePropagationInterceptor(String header) {
+        this.header = header;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        OptionalLong remaining = RequestDeadline.remainingMillis();
+        if (remaining.isPresent()) {
+            template.header(header, Long.toString(remaining.getAsLong()));
+        }
+    }
+}
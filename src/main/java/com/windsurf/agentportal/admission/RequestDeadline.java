@@ -0,0 +1,50 @@
+package com.windsurf.agentportal.admission;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline of the request being processed on the current thread
+ * Set by the admission filter from the client's time budget and read when calling upstreams,
+ * so they can give up on work the client is no longer waiting for.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * @param deadlineNanos Deadline on the {@link System#nanoTime()} clock, or null to clear
+     */
+    public static void set(Long deadlineNanos) {
+        if (deadlineNanos == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(deadlineNanos);
+        }
+    }
+
+    /**
+     * @return Deadline on the {@link System#nanoTime()} clock, or null if none
+     */
+    public static Long get() {
+        return DEADLINE.get();
+    }
+
+    /**
+     * @return Milliseconds left until the deadline (0 once passed), or empty if there is none
+     */
+    public static OptionalLong remainingMillis() {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+}
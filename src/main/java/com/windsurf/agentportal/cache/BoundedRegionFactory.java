@@ -0,0 +1,101 @@
+package com.windsurf.agentportal.cache;
+
+import com.windsurf.agentportal.config.SecondLevelCacheProperties;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate region factory keeping every cache region in this JVM
+ * Entity and query result regions are bounded by {@link SecondLevelCacheProperties}. The update
+ * timestamps region is never bounded or expired: a missing timestamp would let Hibernate serve query
+ * results cached before the last write to a table.
+ *
+ * Each region reports {@code app.cache.gets} (hit/miss), {@code app.cache.hit.ratio},
+ * {@code app.cache.size} and {@code app.cache.evictions}, tagged with the region name.
+ */
+@Slf4j
+public class BoundedRegionFactory extends RegionFactoryTemplate {
+
+    private final SecondLevelCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, BoundedStorageAccess> regions = new ConcurrentHashMap<>();
+
+    public BoundedRegionFactory(SecondLevelCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        // Limits come from SecondLevelCacheProperties, not from Hibernate settings
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(BoundedStorageAccess::release);
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                   DomainDataRegionBuildingContext buildingContext) {
+        return bounded(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return bounded(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return register(new BoundedStorageAccess(regionName, 0, null));
+    }
+
+    private BoundedStorageAccess bounded(String regionName) {
+        SecondLevelCacheProperties.Region limits = properties.regionFor(regionName);
+        log.debug("Cache region {}: max {} entries, time-to-live {}", regionName, limits.getMaxEntries(),
+                limits.getTimeToLive());
+        return register(new BoundedStorageAccess(regionName, limits.getMaxEntries(), limits.getTimeToLive()));
+    }
+
+    private BoundedStorageAccess register(BoundedStorageAccess storage) {
+        String region = storage.regionName();
+        regions.put(region, storage);
+        FunctionCounter.builder("app.cache.gets", storage, BoundedStorageAccess::hits)
+                .tag("region", region).tag("result", "hit")
+                .description("Second-level cache lookups")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.cache.gets", storage, BoundedStorageAccess::misses)
+                .tag("region", region).tag("result", "miss")
+                .description("Second-level cache lookups")
+                .register(meterRegistry);
+        FunctionCounter.builder("app.cache.evictions", storage, BoundedStorageAccess::evictions)
+                .tag("region", region)
+                .description("Entries evicted to stay within the region's size limit")
+                .register(meterRegistry);
+        Gauge.builder("app.cache.size", storage, BoundedStorageAccess::size)
+                .tag("region", region)
+                .description("Entries held, including expired ones not yet evicted")
+                .register(meterRegistry);
+        Gauge.builder("app.cache.hit.ratio", storage, BoundedStorageAccess::hitRatio)
+                .tag("region", region)
+                .description("Share of lookups served from the cache since startup")
+                .register(meterRegistry);
+        return storage;
+    }
+}
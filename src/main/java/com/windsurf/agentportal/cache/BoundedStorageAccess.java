@@ -0,0 +1,132 @@
+package com.windsurf.agentportal.cache;
+
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Storage for one cache region: least recently used entries beyond the size limit are evicted and
+ * entries older than the time-to-live are treated as absent
+ * Counts hits, misses and evictions for the region's metrics.
+ */
+class BoundedStorageAccess implements DomainDataStorageAccess {
+
+    private final String regionName;
+    private final int maxEntries;
+    private final long timeToLiveNanos;
+    private final Map<Object, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param regionName Region name
+     * @param maxEntries Size limit, or 0 for none
+     * @param timeToLive Entry lifetime, or null for none
+     */
+    BoundedStorageAccess(String regionName, int maxEntries, Duration timeToLive) {
+        this.regionName = regionName;
+        this.maxEntries = maxEntries;
+        this.timeToLiveNanos = timeToLive != null ? timeToLive.toNanos() : 0;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                boolean evict = BoundedStorageAccess.this.maxEntries > 0 && size() > BoundedStorageAccess.this.maxEntries;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Object value;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && isExpired(entry, System.nanoTime())) {
+                entries.remove(key);
+                entry = null;
+            }
+            value = entry != null ? entry.value : null;
+        }
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        Entry entry = new Entry(value, System.nanoTime());
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            return entry != null && !isExpired(entry, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void evictData() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public void evictData(Object key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void release() {
+        evictData();
+    }
+
+    String regionName() {
+        return regionName;
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    double hitRatio() {
+        long hits = hits();
+        long lookups = hits + misses();
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return timeToLiveNanos > 0 && now - entry.writtenAt > timeToLiveNanos;
+    }
+
+    private record Entry(Object value, long writtenAt) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.windsurf.agentportal.cache;
+
+/**
+ * Second-level cache region names, shared by the entity mappings, repository query hints and configuration
+ */
+public final class CacheRegions {
+
+    public static final String NOTIFICATION = "notification";
+    public static final String SUBMISSION_QUERIES = "submission-queries";
+    public static final String NOTIFICATION_QUERIES = "notification-queries";
+
+    private CacheRegions() {
+    }
+}
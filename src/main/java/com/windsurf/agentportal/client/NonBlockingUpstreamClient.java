@@ -0,0 +1,335 @@
+package com.windsurf.agentportal.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.windsurf.agentportal.config.AdmissionControlProperties;
+import com.windsurf.agentportal.config.FeignErrorDecoder;
+import com.windsurf.agentportal.config.RequestCompressionInterceptor;
+import com.windsurf.agentportal.config.ResilienceConfig;
+import com.windsurf.agentportal.dto.NotificationRequest;
+import com.windsurf.agentportal.dto.OrigamiSubmissionRequest;
+import com.windsurf.agentportal.dto.OrigamiSubmissionResponse;
+import com.windsurf.agentportal.dto.OrigamiUpdateRequest;
+import com.windsurf.agentportal.dto.RootsAiResponse;
+import com.windsurf.agentportal.exception.SubmissionServiceException;
+import com.windsurf.agentportal.origami.OrigamiPatchMethod;
+import com.windsurf.agentportal.origami.OrigamiTransport;
+
+import feign.Target;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Non-blocking counterpart of {@link OrigamiClient}, {@link RootsAiClient} and {@link AgentPortalNotifierClient}
+ * Built on the JDK HttpClient: requests are written and responses read by a small selector-driven pool,
+ * so a call in flight holds no thread. ACORD uploads are streamed from the MultipartFile instead of being
+ * buffered into the request. Used when {@code app.submission.client=non-blocking}.
+ *
+ * Uses the same base URLs, API key header and timeouts as the Feign clients. The deadline of the calling
+ * request is passed explicitly, because callbacks do not run on the request thread. Each call goes through
+ * the Resilience4j circuit breaker of the Feign method it stands in for, so both clients share breaker state,
+ * and error responses are mapped by {@link FeignErrorDecoder} and bodies compressed by
+ * {@link RequestCompressionInterceptor} as on the Feign path.
+ */
+@Component
+@ConditionalOnProperty(name = "app.submission.client", havingValue = "non-blocking")
+@Slf4j
+public class NonBlockingUpstreamClient implements DisposableBean {
+
+    private static final String ORIGAMI_CLIENT = "origamiClient";
+    private static final String ROOTS_AI_CLIENT = "rootsAiClient";
+    private static final String AGENT_PORTAL_CLIENT = "agentPortalNotifier";
+    private static final String API_KEY_HEADER = "X-API-KEY";
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    private static final String METHOD_OVERRIDE_HEADER = "X-HTTP-Method-Override";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+    private final String deadlineHeader;
+    private final String origamiBaseUrl;
+    private final String rootsAiBaseUrl;
+    private final String agentPortalBaseUrl;
+    private final Duration readTimeout;
+    private final OrigamiPatchMethod patchMethod;
+    private final RequestCompressionInterceptor compression;
+    private final CircuitBreaker createBreaker;
+    private final CircuitBreaker updateBreaker;
+    private final CircuitBreaker patchBreaker;
+    private final CircuitBreaker parseBreaker;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    public NonBlockingUpstreamClient(ObjectMapper objectMapper,
+                                     AdmissionControlProperties admissionControlProperties,
+                                     RequestCompressionInterceptor compression,
+                                     CircuitBreakerRegistry circuitBreakerRegistry,
+                                     CircuitBreakerNameResolver circuitBreakerNameResolver,
+                                     @Value("${api.origami.base-url}") String origamiBaseUrl,
+                                     @Value("${api.rootsai.base-url}") String rootsAiBaseUrl,
+                                     @Value("${api.agent-portal.base-url}") String agentPortalBaseUrl,
+                                     @Value("${spring.cloud.openfeign.client.config.default.connectTimeout:5000}") long connectTimeoutMillis,
+                                     @Value("${spring.cloud.openfeign.client.config.default.readTimeout:5000}") long readTimeoutMillis,
+                                     @Value("${app.submission.non-blocking.io-threads:4}") int ioThreads,
+                                     @Value("${api.origami.patch-method:${app.apis.origami.patch-method:none}}") OrigamiPatchMethod patchMethod) {
+        this.objectMapper = objectMapper;
+        this.deadlineHeader = admissionControlProperties.getDeadlineHeader();
+        this.origamiBaseUrl = StringUtils.trimTrailingCharacter(origamiBaseUrl, '/');
+        this.rootsAiBaseUrl = StringUtils.trimTrailingCharacter(rootsAiBaseUrl, '/');
+        this.agentPortalBaseUrl = StringUtils.trimTrailingCharacter(agentPortalBaseUrl, '/');
+        this.readTimeout = Duration.ofMillis(readTimeoutMillis);
+        this.patchMethod = patchMethod;
+        this.compression = compression;
+        this.createBreaker = feignCircuitBreaker(circuitBreakerRegistry, circuitBreakerNameResolver,
+                ORIGAMI_CLIENT, OrigamiClient.class, origamiBaseUrl, "createSubmission");
+        this.updateBreaker = feignCircuitBreaker(circuitBreakerRegistry, circuitBreakerNameResolver,
+                ORIGAMI_CLIENT, OrigamiClient.class, origamiBaseUrl, "updateSubmission");
+        this.patchBreaker = feignCircuitBreaker(circuitBreakerRegistry, circuitBreakerNameResolver,
+                ORIGAMI_CLIENT, OrigamiClient.class, origamiBaseUrl, "patchSubmission");
+        this.parseBreaker = feignCircuitBreaker(circuitBreakerRegistry, circuitBreakerNameResolver,
+                ROOTS_AI_CLIENT, RootsAiClient.class, rootsAiBaseUrl, "parseAcordFile");
+        this.executor = Executors.newFixedThreadPool(ioThreads, new CustomizableThreadFactory("upstream-io-"));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * @see OrigamiClient#createSubmission
+     */
+    public CompletableFuture<OrigamiSubmissionResponse> createSubmission(String apiKey, OrigamiSubmissionRequest request,
+                                                                         Long deadline) {
+        HttpRequest.Builder builder = json(origamiBaseUrl, "/api/submissions", apiKey, deadline, MediaType.APPLICATION_JSON_VALUE);
+        builder.POST(jsonBody(builder, ORIGAMI_CLIENT, MediaType.APPLICATION_JSON_VALUE, request));
+        return send(createBreaker, ORIGAMI_CLIENT, builder.build(), OrigamiSubmissionResponse.class);
+    }
+
+    /**
+     * @see OrigamiClient#updateSubmission
+     */
+    public CompletableFuture<OrigamiSubmissionResponse> updateSubmission(String apiKey, String submissionProposalId,
+                                                                         OrigamiUpdateRequest request, Long deadline) {
+        HttpRequest.Builder builder = json(origamiBaseUrl, "/api/submissions/" + segment(submissionProposalId), apiKey,
+                deadline, MediaType.APPLICATION_JSON_VALUE);
+        builder.PUT(jsonBody(builder, ORIGAMI_CLIENT, MediaType.APPLICATION_JSON_VALUE, request));
+        return send(updateBreaker, ORIGAMI_CLIENT, builder.build(), OrigamiSubmissionResponse.class);
+    }
+
+    /**
+     * Sent as a real PATCH, which the JDK client supports unlike the Feign client, or as POST with
+     * X-HTTP-Method-Override with {@code api.origami.patch-method=method-override}
+     *
+     * @see OrigamiClient#patchSubmission
+     */
+    public CompletableFuture<OrigamiSubmissionResponse> patchSubmission(String apiKey, String submissionProposalId,
+                                                                        Map<String, Object> patch, Long deadline) {
+        HttpRequest.Builder request = json(origamiBaseUrl, "/api/submissions/" + segment(submissionProposalId), apiKey,
+                deadline, MERGE_PATCH_JSON);
+        HttpRequest.BodyPublisher body = jsonBody(request, ORIGAMI_CLIENT, MERGE_PATCH_JSON, patch);
+        if (patchMethod == OrigamiPatchMethod.METHOD_OVERRIDE) {
+            request.header(METHOD_OVERRIDE_HEADER, "PATCH").POST(body);
+        } else {
+            request.method("PATCH", body);
+        }
+        return send(patchBreaker, ORIGAMI_CLIENT, request.build(), OrigamiSubmissionResponse.class);
+    }
+
+    /**
+     * Streams the file as the single part of a multipart/form-data body
+     *
+     * @see RootsAiClient#parseAcordFile
+     */
+    public CompletableFuture<RootsAiResponse> parseAcordFile(String apiKey, MultipartFile file, Long deadline) {
+        String boundary = "agentportal-" + UUID.randomUUID();
+        String contentType = file.getContentType() != null ? file.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        String filename = file.getOriginalFilename() != null ? file.getOriginalFilename() : "file";
+        byte[] head = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename.replace("\"", "") + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8);
+
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.concat(
+                HttpRequest.BodyPublishers.ofByteArray(head),
+                HttpRequest.BodyPublishers.ofInputStream(() -> {
+                    try {
+                        return file.getInputStream();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }),
+                HttpRequest.BodyPublishers.ofByteArray(tail));
+
+        HttpRequest.Builder request = request(rootsAiBaseUrl, "/api/parse", apiKey, deadline)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.MULTIPART_FORM_DATA_VALUE + "; boundary=" + boundary)
+                .POST(body);
+        return send(parseBreaker, ROOTS_AI_CLIENT, request.build(), RootsAiResponse.class);
+    }
+
+    /**
+     * Not behind a breaker of its own: the caller runs it in the notification service's breaker, as the
+     * Feign path does
+     *
+     * @see AgentPortalNotifierClient#notifyUser
+     */
+    public CompletableFuture<Void> notifyUser(String apiKey, String userId, NotificationRequest notification, Long deadline) {
+        HttpRequest.Builder builder = json(agentPortalBaseUrl, "/notifyme/" + segment(userId), apiKey, deadline,
+                MediaType.APPLICATION_JSON_VALUE);
+        builder.POST(jsonBody(builder, AGENT_PORTAL_CLIENT, MediaType.APPLICATION_JSON_VALUE, notification));
+        return send(null, AGENT_PORTAL_CLIENT, builder.build(), Void.class);
+    }
+
+    /**
+     * {@link OrigamiUpdater} transport over this client
+     */
+    public OrigamiTransport origamiTransport(String apiKey, Long deadline) {
+        return new OrigamiTransport() {
+            @Override
+            public CompletableFuture<?> put(String submissionProposalId, OrigamiUpdateRequest request) {
+                return updateSubmission(apiKey, submissionProposalId, request, deadline);
+            }
+
+            @Override
+            public CompletableFuture<?> patch(String submissionProposalId, Map<String, Object> patch) {
+                return patchSubmission(apiKey, submissionProposalId, patch, deadline);
+            }
+        };
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private HttpRequest.Builder json(String baseUrl, String path, String apiKey, Long deadline, String contentType) {
+        return request(baseUrl, path, apiKey, deadline)
+                .header(HttpHeaders.CONTENT_TYPE, contentType)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private HttpRequest.Builder request(String baseUrl, String path, String apiKey, Long deadline) {
+        Duration timeout = readTimeout;
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header(API_KEY_HEADER, apiKey);
+        if (deadline != null) {
+            long remainingMillis = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            if (remainingMillis == 0) {
+                throw new SubmissionServiceException("Request deadline passed before calling " + baseUrl);
+            }
+            builder.header(deadlineHeader, Long.toString(remainingMillis));
+            timeout = timeout.compareTo(Duration.ofMillis(remainingMillis)) < 0 ? timeout : Duration.ofMillis(remainingMillis);
+        }
+        return builder.timeout(timeout);
+    }
+
+    private static String segment(String value) {
+        return UriUtils.encodePathSegment(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Serializes the body, gzip-encoded (and the request marked as such) when {@link RequestCompressionInterceptor}
+     * would compress it for the Feign client
+     */
+    private HttpRequest.BodyPublisher jsonBody(HttpRequest.Builder request, String client, String contentType, Object body) {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new SubmissionServiceException("Failed to serialize request: " + e.getMessage(), e);
+        }
+        if (!compression.compresses(client, List.of(contentType), bytes.length)) {
+            return HttpRequest.BodyPublishers.ofByteArray(bytes);
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        request.header(CONTENT_ENCODING, GZIP);
+        return HttpRequest.BodyPublishers.ofByteArray(compressed.toByteArray());
+    }
+
+    /**
+     * @param breaker Circuit breaker of the call, or null if the caller applies one
+     * @param client Feign client name of the upstream
+     */
+    private <T> CompletableFuture<T> send(CircuitBreaker breaker, String client, HttpRequest request, Class<T> responseType) {
+        if (breaker == null) {
+            return send(client, request, responseType);
+        }
+        return breaker.executeCompletionStage(() -> send(client, request, responseType)).toCompletableFuture();
+    }
+
+    private <T> CompletableFuture<T> send(String client, HttpRequest request, Class<T> responseType) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    compression.learn(client, response.headers().allValues(ACCEPT_ENCODING));
+                    if (response.statusCode() / 100 != 2) {
+                        String url = request.uri().toString();
+                        String body = new String(response.body(), StandardCharsets.UTF_8);
+                        log.error("Error calling {}. Status: {}. Response: {}", url, response.statusCode(), body);
+                        SubmissionServiceException exception = FeignErrorDecoder.decode(url, response.statusCode(), body);
+                        throw exception != null ? exception : new SubmissionServiceException(request.method() + " "
+                                + url + " returned " + response.statusCode());
+                    }
+                    if (responseType == Void.class || response.body().length == 0) {
+                        return null;
+                    }
+                    try {
+                        return objectMapper.readValue(response.body(), responseType);
+                    } catch (IOException e) {
+                        throw new SubmissionServiceException("Unreadable response from " + request.uri() + ": "
+                                + e.getMessage(), e);
+                    }
+                });
+    }
+
+    /**
+     * The Resilience4j breaker Spring Cloud OpenFeign uses for a method of a Feign client, created with the
+     * same settings if no Feign call has created it yet
+     */
+    private static CircuitBreaker feignCircuitBreaker(CircuitBreakerRegistry registry, CircuitBreakerNameResolver resolver,
+                                                      String client, Class<?> type, String url, String methodName) {
+        Method method = Arrays.stream(type.getMethods())
+                .filter(candidate -> candidate.getName().equals(methodName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(type.getSimpleName() + " has no method " + methodName));
+        String name = resolver.resolveCircuitBreakerName(client, new Target.HardCodedTarget<>(type, client, url), method);
+        return registry.circuitBreaker(name, ResilienceConfig.circuitBreakerConfig());
+    }
+}
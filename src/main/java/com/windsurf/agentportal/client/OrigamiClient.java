@@ -11,6 +11,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 
+import java.util.Map;
+
 /**
  * Feign client for Origami API interactions
  */
@@ -44,4 +46,23 @@ public interface OrigamiClient {
         @PathVariable("submissionProposalId") String submissionProposalId,
         @RequestBody OrigamiUpdateRequest request
     );
+    
+    /**
+     * Applies a JSON merge patch (RFC 7386) to an existing submission
+     * Sent as POST with X-HTTP-Method-Override because the default Feign client cannot send PATCH, so only
+     * used with {@code api.origami.patch-method=method-override}.
+     *
+     * @param apiKey API key for authentication
+     * @param submissionProposalId ID of the submission to update
+     * @param patch Merge patch against the last update; null values remove fields
+     * @return Updated submission response
+     */
+    @PostMapping(value = "/api/submissions/{submissionProposalId}",
+            headers = "X-HTTP-Method-Override=PATCH",
+            consumes = "application/merge-patch+json")
+    OrigamiSubmissionResponse patchSubmission(
+        @RequestHeader("X-API-KEY") String apiKey,
+        @PathVariable("submissionProposalId") String submissionProposalId,
+        @RequestBody Map<String, Object> patch
+    );
 }
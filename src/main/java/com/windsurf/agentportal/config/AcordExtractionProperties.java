@@ -0,0 +1,82 @@
+package com.windsurf.agentportal.config;
+
+import com.windsurf.agentportal.model.RootsAiAction;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local ACORD XML extraction and the rules deciding when Roots.ai can be skipped or deferred
+ */
+@Data
+@ConfigurationProperties(prefix = "app.acord.extraction")
+public class AcordExtractionProperties {
+
+    /**
+     * Whether uploaded ACORD XML files are read locally before parsing
+     */
+    private boolean enabled = true;
+
+    /**
+     * Longest text value kept for a single element; longer values are truncated
+     */
+    private int maxValueLength = 512;
+
+    /**
+     * Rules evaluated in order; the first matching rule decides, no match means Roots.ai is called
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * How often submissions with a deferred Roots.ai parse are picked up
+     */
+    private Duration deferredInterval = Duration.ofSeconds(30);
+
+    /**
+     * Deferred parses handled per run
+     */
+    private int deferredBatchSize = 20;
+
+    /**
+     * Failed deferred parses before the submission is marked {@code FAILED} and Roots.ai no longer called
+     */
+    private int deferredMaxAttempts = 5;
+
+    /**
+     * Wait before retrying a failed deferred parse, doubled after every further failure
+     */
+    private Duration deferredBackoff = Duration.ofMinutes(1);
+
+    /**
+     * Longest wait between two attempts of a deferred parse
+     */
+    private Duration deferredMaxBackoff = Duration.ofHours(1);
+
+    @Data
+    public static class Rule {
+
+        /**
+         * Name used in logs and metrics
+         */
+        private String name;
+
+        /**
+         * Fields that must have been extracted: insuredName, fein, effectiveDate, expirationDate, linesOfBusiness
+         */
+        private List<String> requiredFields = new ArrayList<>();
+
+        /**
+         * If not empty, every extracted line of business (ACORD LOBCd) must be in this list
+         */
+        private List<String> linesOfBusiness = new ArrayList<>();
+
+        /**
+         * Action taken when the rule matches
+         */
+        private RootsAiAction action = RootsAiAction.SKIP;
+    }
+}
@@ -0,0 +1,56 @@
+package com.windsurf.agentportal.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Admission control for expensive endpoints: concurrency limit, bounded queue and deadlines
+ */
+@Data
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionControlProperties {
+
+    /**
+     * Whether admission control is applied at all
+     */
+    private boolean enabled = true;
+
+    /**
+     * POST paths subject to admission control
+     */
+    private List<String> paths = new ArrayList<>(List.of("/submission"));
+
+    /**
+     * Requests processed concurrently
+     */
+    private int maxInFlight = 32;
+
+    /**
+     * Requests allowed to wait for a slot; further requests are rejected immediately
+     */
+    private int maxQueueSize = 64;
+
+    /**
+     * Longest time a request waits for a slot
+     */
+    private Duration maxQueueWait = Duration.ofSeconds(5);
+
+    /**
+     * Request header carrying the client's remaining time budget in milliseconds; also sent to upstreams
+     */
+    private String deadlineHeader = "X-Request-Timeout-Ms";
+
+    /**
+     * Budget assumed when the client does not send one
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Service time assumed until real requests have been measured
+     */
+    private Duration initialServiceTime = Duration.ofSeconds(2);
+}
@@ -0,0 +1,57 @@
+package com.windsurf.agentportal.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * API key settings for clients calling this service
+ * Keys are registered per client id; a value prefixed with "sha256:" is taken as a hex digest
+ * so plain keys never have to appear in configuration
+ */
+@Data
+@ConfigurationProperties(prefix = "app.security")
+public class ApiKeyProperties {
+
+    public static final String PREFIX = "app.security";
+
+    /**
+     * Client id used for the legacy single {@code api-key} property
+     */
+    public static final String DEFAULT_CLIENT_ID = "default";
+
+    /**
+     * Legacy single API key, registered under the "default" client id
+     */
+    private String apiKey;
+
+    /**
+     * API keys by client id
+     */
+    private Map<String, String> apiKeys = new LinkedHashMap<>();
+
+    /**
+     * Optional properties file (clientId=key) re-read whenever it changes on disk
+     */
+    private String keysFile;
+
+    /**
+     * How often the keys file is checked for changes
+     */
+    private Duration reloadInterval = Duration.ofSeconds(30);
+
+    /**
+     * Paths that do not require an API key
+     */
+    private List<String> publicPaths = new ArrayList<>(List.of(
+            "/notifyme/**",
+            "/actuator/**",
+            "/api-docs/**",
+            "/swagger-ui/**",
+            "/swagger-ui.html"));
+}
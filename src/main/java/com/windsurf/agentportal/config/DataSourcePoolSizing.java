@@ -0,0 +1,50 @@
+package com.windsurf.agentportal.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizes the Hikari pool from the number of threads that can use a connection at the same time
+ * That is one per submission being processed (app.scheduling.max-concurrent, or with the non-blocking
+ * client the app.submission.non-blocking.db-threads that write checkpoints) plus {@code app.datasource.pool.reserved} for the
+ * background workers and read endpoints. The pool is fixed-size, so connections are not opened under
+ * load. An explicit {@code spring.datasource.hikari.maximum-pool-size} is left alone, and so is the read
+ * replica pool, which the pipeline never uses.
+ */
+@Component
+@ConditionalOnClass(HikariDataSource.class)
+@ConditionalOnProperty(name = "app.datasource.pool.sized-to-executors", havingValue = "true")
+@Slf4j
+public class DataSourcePoolSizing implements BeanPostProcessor, EnvironmentAware {
+
+    private Binder binder;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.binder = Binder.get(environment);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource && !"replicaDataSource".equals(beanName)
+                && !binder.bind("spring.datasource.hikari.maximum-pool-size", Integer.class).isBound()) {
+            boolean nonBlocking = "non-blocking".equals(binder.bind("app.submission.client", String.class).orElse("blocking"));
+            int submissions = nonBlocking
+                    ? binder.bind("app.submission.non-blocking.db-threads", Integer.class).orElse(4)
+                    : binder.bind("app.scheduling.max-concurrent", Integer.class).orElse(16);
+            int size = submissions + binder.bind("app.datasource.pool.reserved", Integer.class).orElse(10);
+            dataSource.setMaximumPoolSize(size);
+            dataSource.setMinimumIdle(size);
+            log.info("Connection pool {} sized to {} ({} for submissions in flight)", dataSource.getPoolName(), size, submissions);
+        }
+        return bean;
+    }
+}
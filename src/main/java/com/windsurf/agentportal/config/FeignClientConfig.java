@@ -1,8 +1,11 @@
 package com.windsurf.agentportal.config;
 
+import com.windsurf.agentportal.admission.DeadlinePropagationInterceptor;
 import feign.Logger;
 import feign.RequestInterceptor;
 import feign.codec.ErrorDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +16,7 @@ import java.util.concurrent.TimeUnit;
  * Configuration for Feign Clients
  */
 @Configuration
+@EnableConfigurationProperties(FeignCompressionProperties.class)
 @EnableFeignClients(basePackages = "com.windsurf.agentportal.client")
 public class FeignClientConfig {
 
@@ -41,8 +45,31 @@ public class FeignClientConfig {
     @Bean
     public RequestInterceptor requestInterceptor() {
         return requestTemplate -> {
-            requestTemplate.header("Content-Type", "application/json");
+            // Keep a content type declared on the method (e.g. merge patches)
+            if (!requestTemplate.headers().containsKey("Content-Type")) {
+                requestTemplate.header("Content-Type", "application/json");
+            }
             requestTemplate.header("Accept", "application/json");
         };
     }
+
+    /**
+     * gzip request bodies for upstreams that opted in (also registered as the response interceptor
+     * that learns which upstreams accept gzip)
+     * @return RequestCompressionInterceptor
+     */
+    @Bean
+    public RequestCompressionInterceptor requestCompressionInterceptor(FeignCompressionProperties properties,
+                                                                       MeterRegistry meterRegistry) {
+        return new RequestCompressionInterceptor(properties, meterRegistry);
+    }
+
+    /**
+     * Forward the remaining client time budget to upstreams
+     * @return RequestInterceptor
+     */
+    @Bean
+    public DeadlinePropagationInterceptor deadlinePropagationInterceptor(AdmissionControlProperties properties) {
+        return new DeadlinePropagationInterceptor(properties.getDeadlineHeader());
+    }
 }
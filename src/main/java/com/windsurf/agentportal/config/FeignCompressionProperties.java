@@ -0,0 +1,51 @@
+package com.windsurf.agentportal.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request body compression for the Feign clients, opted into per upstream
+ */
+@Data
+@ConfigurationProperties(prefix = "app.feign.compression")
+public class FeignCompressionProperties {
+
+    /**
+     * Bodies smaller than this are sent uncompressed
+     */
+    private DataSize minRequestSize = DataSize.ofKilobytes(2);
+
+    /**
+     * Content types eligible for compression
+     */
+    private List<String> mimeTypes = new ArrayList<>(List.of("application/json", "application/merge-patch+json"));
+
+    /**
+     * Compression mode by Feign client name (origamiClient, rootsAiClient, agentPortalNotifier);
+     * clients not listed are never compressed
+     */
+    private Map<String, Mode> clients = new LinkedHashMap<>();
+
+    public Mode modeFor(String clientName) {
+        return clients.getOrDefault(clientName, Mode.NEVER);
+    }
+
+    public enum Mode {
+
+        /** Bodies are sent as is */
+        NEVER,
+
+        /** Eligible bodies are always gzip-encoded */
+        ALWAYS,
+
+        /** Eligible bodies are gzip-encoded once the upstream has advertised gzip in an
+         *  Accept-Encoding response header (RFC 7694) */
+        NEGOTIATED
+    }
+}
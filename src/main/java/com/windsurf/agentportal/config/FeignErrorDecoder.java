@@ -4,7 +4,7 @@ import com.windsurf.agentportal.exception.SubmissionServiceException;
 import feign.Response;
 import feign.codec.ErrorDecoder;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -29,18 +29,31 @@ public class FeignErrorDecoder implements ErrorDecoder {
         String responseBody = getResponseBody(response);
         log.error("Error calling {}. Status: {}. Response: {}", requestUrl, status, responseBody);
 
+        SubmissionServiceException exception = decode(requestUrl, status, responseBody);
+        return exception != null ? exception : defaultErrorDecoder.decode(methodKey, response);
+    }
+
+    /**
+     * Maps an error response of an upstream to an application exception; shared with
+     * {@link com.windsurf.agentportal.client.NonBlockingUpstreamClient}
+     *
+     * @param requestUrl URL that was called
+     * @param status HTTP status of the response
+     * @param responseBody Body of the response
+     * @return Exception for a 4xx or 5xx status, otherwise null
+     */
+    public static SubmissionServiceException decode(String requestUrl, int status, String responseBody) {
         // Handle specific error status codes
         if (status >= 400 && status < 500) {
             return new SubmissionServiceException(
                     String.format("Client error when calling %s: %s - %s", 
-                            requestUrl, HttpStatus.valueOf(status), responseBody));
+                            requestUrl, HttpStatusCode.valueOf(status), responseBody));
         } else if (status >= 500) {
             return new SubmissionServiceException(
                     String.format("Server error when calling %s: %s - %s", 
-                            requestUrl, HttpStatus.valueOf(status), responseBody));
+                            requestUrl, HttpStatusCode.valueOf(status), responseBody));
         }
-
-        return defaultErrorDecoder.decode(methodKey, response);
+        return null;
     }
 
     private String getResponseBody(Response response) {
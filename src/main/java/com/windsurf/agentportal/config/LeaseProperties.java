@@ -0,0 +1,40 @@
+package com.windsurf.agentportal.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Database leases that split background work between instances
+ */
+@Data
+@ConfigurationProperties(prefix = "app.leases")
+public class LeaseProperties {
+
+    /**
+     * Whether background jobs coordinate through leases; when disabled every instance does all the work
+     */
+    private boolean enabled = true;
+
+    /**
+     * Name of this instance as lease owner; defaults to the host name with a random suffix
+     */
+    private String instanceId;
+
+    /**
+     * How long a lease stays valid without being renewed, and so the longest a crashed instance's work
+     * waits before another instance takes it over
+     */
+    private Duration timeToLive = Duration.ofMinutes(1);
+
+    /**
+     * Delay between renewals of the leases this instance holds; well below the time-to-live
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Partitions the work of a partitioned job is split into, by hash of the submission ID
+     */
+    private int partitions = 16;
+}
@@ -0,0 +1,88 @@
+package com.windsurf.agentportal.config;
+
+import com.windsurf.agentportal.client.AgentPortalNotifierClient;
+import com.windsurf.agentportal.client.OrigamiClient;
+import com.windsurf.agentportal.client.RootsAiClient;
+import com.windsurf.agentportal.dto.NotificationRequest;
+import com.windsurf.agentportal.dto.OrigamiSubmissionRequest;
+import com.windsurf.agentportal.dto.OrigamiSubmissionResponse;
+import com.windsurf.agentportal.dto.OrigamiUpdateRequest;
+import com.windsurf.agentportal.dto.RootsAiResponse;
+import com.windsurf.agentportal.dto.SubmissionExportRecord;
+import com.windsurf.agentportal.dto.SubmissionRequest;
+import com.windsurf.agentportal.dto.SubmissionResponse;
+import com.windsurf.agentportal.dto.SubmissionSearchResponse;
+import com.windsurf.agentportal.exception.ApiError;
+import com.windsurf.agentportal.model.ArchivedNotification;
+import com.windsurf.agentportal.model.ArchivedSubmission;
+import com.windsurf.agentportal.model.JsonToMapConverter;
+import com.windsurf.agentportal.model.Notification;
+import com.windsurf.agentportal.model.OrigamiSyncState;
+import com.windsurf.agentportal.model.RateLimitBucket;
+import com.windsurf.agentportal.model.ReplicaHeartbeat;
+import com.windsurf.agentportal.model.RootsAiAction;
+import com.windsurf.agentportal.model.Submission;
+import com.windsurf.agentportal.model.SubmissionFile;
+import com.windsurf.agentportal.model.SubmissionSearchState;
+import com.windsurf.agentportal.model.SubmissionSearchTerm;
+import com.windsurf.agentportal.model.SubmissionStage;
+import com.windsurf.agentportal.model.WorkerLease;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reachability metadata for the GraalVM native image ({@code mvn -Pnative native:compile})
+ * Spring AOT already covers beans, configuration properties and controller payloads. This adds what
+ * it cannot infer:
+ * <ul>
+ *   <li>Jackson binding for the Lombok DTOs sent and received by the Feign clients, for ApiError and for
+ *       the export records (also built by a JPQL constructor expression)</li>
+ *   <li>JDK proxies for the Feign client interfaces</li>
+ *   <li>the JPA entities and enums, and {@link JsonToMapConverter}, which Hibernate instantiates reflectively</li>
+ * </ul>
+ * Ignored on the JVM.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> DTOS = List.of(
+            SubmissionRequest.class, SubmissionResponse.class, OrigamiSubmissionRequest.class,
+            OrigamiSubmissionResponse.class, OrigamiUpdateRequest.class, RootsAiResponse.class,
+            NotificationRequest.class, ApiError.class, SubmissionExportRecord.class,
+            SubmissionSearchResponse.class);
+
+    private static final List<Class<?>> FEIGN_CLIENTS = List.of(
+            OrigamiClient.class, RootsAiClient.class, AgentPortalNotifierClient.class);
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            Submission.class, SubmissionFile.class, Notification.class, OrigamiSyncState.class,
+            RateLimitBucket.class, SubmissionSearchTerm.class, ArchivedSubmission.class,
+            ArchivedNotification.class, WorkerLease.class, ReplicaHeartbeat.class, SubmissionSearchState.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), DTOS.toArray(Class<?>[]::new));
+
+        for (Class<?> client : FEIGN_CLIENTS) {
+            hints.proxies().registerJdkProxy(client);
+            hints.reflection().registerType(client, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        for (Class<?> entity : ENTITIES) {
+            hints.reflection().registerType(entity,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        hints.reflection().registerType(SubmissionStage.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(RootsAiAction.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        hints.reflection().registerType(JsonToMapConverter.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
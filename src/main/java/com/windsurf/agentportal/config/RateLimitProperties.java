@@ -0,0 +1,58 @@
+package com.windsurf.agentportal.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-client request quotas enforced by the rate limit filter
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Whether rate limiting is enforced at all
+     */
+    private boolean enabled = true;
+
+    /**
+     * Where bucket state lives: "memory" (per node) or "jpa" (shared through the database)
+     */
+    private String store = "memory";
+
+    /**
+     * Quota applied to clients without an explicit entry in {@link #clients}
+     */
+    private Quota defaultQuota = new Quota();
+
+    /**
+     * Quotas by client id (as resolved from the API key)
+     */
+    private Map<String, Quota> clients = new LinkedHashMap<>();
+
+    /**
+     * Returns the quota for a client, falling back to the default quota
+     * @param clientId Client ID
+     * @return Quota
+     */
+    public Quota quotaFor(String clientId) {
+        return clients.getOrDefault(clientId, defaultQuota);
+    }
+
+    @Data
+    public static class Quota {
+
+        /**
+         * Maximum burst size
+         */
+        private int capacity = 20;
+
+        /**
+         * Tokens added per second
+         */
+        private double refillPerSecond = 5;
+    }
+}
@@ -0,0 +1,110 @@
+package com.windsurf.agentportal.config;
+
+import com.windsurf.agentportal.datasource.ReadReplicaRoutingDataSource;
+import com.windsurf.agentportal.datasource.ReplicaReadJpaDialect;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the auto-configured data source with one that routes read-only query transactions to a replica
+ * The primary pool is still configured from {@code spring.datasource}, the replica pool from
+ * {@code app.datasource.replica}. JPA and everything else use the routing data source, behind a lazy proxy
+ * so the route is chosen once the transaction has begun. Transactions that may be routed do not put into the
+ * second-level and query caches (see {@link ReplicaReadJpaDialect}). Sessions give their connection back at
+ * the end of every transaction: with open-in-view a session spans the request, and holding the connection
+ * would run every later transaction of the request, writes included, on the route of the first one.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+@EnableConfigurationProperties({DataSourceProperties.class, ReplicaDataSourceProperties.class})
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties properties) {
+        DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword());
+        if (StringUtils.hasText(properties.getDriverClassName())) {
+            builder.driverClassName(properties.getDriverClassName());
+        }
+        HikariDataSource dataSource = builder.build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                          @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                          ReplicaDataSourceProperties properties,
+                                                          MeterRegistry meterRegistry) {
+        // A check runs one interval after the previous one ended and may itself take up to an interval
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, properties.getRoutedPackages(),
+                properties.getLagCheckInterval().multipliedBy(3), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Replaces Spring Boot's vendor adapter, configured the same way, to install {@link ReplicaReadJpaDialect}
+     */
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(JpaProperties properties, ReadReplicaRoutingDataSource routingDataSource) {
+        ReplicaReadJpaDialect dialect = new ReplicaReadJpaDialect(routingDataSource);
+        HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter() {
+            @Override
+            public HibernateJpaDialect getJpaDialect() {
+                return dialect;
+            }
+        };
+        adapter.setShowSql(properties.isShowSql());
+        if (properties.getDatabase() != null) {
+            adapter.setDatabase(properties.getDatabase());
+        }
+        if (properties.getDatabasePlatform() != null) {
+            adapter.setDatabasePlatform(properties.getDatabasePlatform());
+        }
+        adapter.setGenerateDdl(properties.isGenerateDdl());
+        return adapter;
+    }
+}
@@ -0,0 +1,70 @@
+package com.windsurf.agentportal.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica that read-only query transactions are routed to
+ * Pool settings go under {@code app.datasource.replica.hikari}, like {@code spring.datasource.hikari}
+ * for the primary.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Whether read-only transactions are routed to the replica; when disabled there is only the primary
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URL of the replica
+     */
+    private String url;
+
+    /**
+     * Login user of the replica
+     */
+    private String username;
+
+    /**
+     * Login password of the replica
+     */
+    private String password;
+
+    /**
+     * JDBC driver class; derived from the URL if not set
+     */
+    private String driverClassName;
+
+    /**
+     * Packages whose read-only transactions go to the replica, matched against the class that started the
+     * transaction; read-only transactions started elsewhere (such as the default ones of repository
+     * methods called from the pipeline) stay on the primary
+     */
+    private List<String> routedPackages = new ArrayList<>(List.of(
+            "com.windsurf.agentportal.service",
+            "com.windsurf.agentportal.search"));
+
+    /**
+     * Replication lag above which reads fall back to the primary; unset to only check that the replica is
+     * reachable (e.g. for two independent local databases)
+     */
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    /**
+     * Delay between two measurements of the replication lag; reads fall back to the primary once no
+     * measurement has completed for three intervals
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Query run on the replica that returns its lag in seconds, for databases that report it themselves;
+     * by default the lag is measured with a heartbeat row written to the primary
+     */
+    private String lagQuery;
+}
@@ -0,0 +1,131 @@
+package com.windsurf.agentportal.config;
+
+import feign.InvocationContext;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.ResponseInterceptor;
+import feign.Target;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * gzip request bodies of the Feign clients that opted in through {@code app.feign.compression.clients}
+ * The interceptor only marks eligible requests with {@code Content-Encoding: gzip}; Feign's default
+ * client then compresses the body while writing it and drops the Content-Length header. Opted-in
+ * clients also ask for gzip responses, which the default client decompresses transparently.
+ *
+ * For {@link FeignCompressionProperties.Mode#NEGOTIATED} clients compression starts once a response
+ * from that upstream has listed gzip in its Accept-Encoding header (RFC 7694).
+ */
+@Slf4j
+public class RequestCompressionInterceptor implements RequestInterceptor, ResponseInterceptor {
+
+    private static final String GZIP = "gzip";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String DEFAULT_CONTENT_TYPE = "application/json";
+
+    private final FeignCompressionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final long minRequestSize;
+    private final Set<String> negotiatedClients = ConcurrentHashMap.newKeySet();
+
+    public RequestCompressionInterceptor(FeignCompressionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.minRequestSize = properties.getMinRequestSize().toBytes();
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        String client = clientName(template);
+        FeignCompressionProperties.Mode mode = properties.modeFor(client);
+        if (mode == FeignCompressionProperties.Mode.NEVER) {
+            return;
+        }
+        template.header(ACCEPT_ENCODING, GZIP);
+
+        byte[] body = template.body();
+        if (body == null || template.headers().containsKey(CONTENT_ENCODING)
+                || !compresses(client, template.headers().get(CONTENT_TYPE), body.length)) {
+            return;
+        }
+        template.header(CONTENT_ENCODING, GZIP);
+        meterRegistry.counter("feign.requests.compressed", "client", client).increment();
+    }
+
+    /**
+     * Whether a request body is to be gzip-encoded; also used by
+     * {@link com.windsurf.agentportal.client.NonBlockingUpstreamClient}, which compresses the body itself
+     *
+     * @param client Feign client name of the upstream
+     * @param contentTypes Content-Type header of the request
+     * @param length Length of the uncompressed body
+     * @return true if the body should be sent with {@code Content-Encoding: gzip}
+     */
+    public boolean compresses(String client, Collection<String> contentTypes, long length) {
+        FeignCompressionProperties.Mode mode = properties.modeFor(client);
+        if (mode == FeignCompressionProperties.Mode.NEVER || length < minRequestSize || !isCompressible(contentTypes)) {
+            return false;
+        }
+        return mode == FeignCompressionProperties.Mode.ALWAYS || negotiatedClients.contains(client);
+    }
+
+    /**
+     * Records the Accept-Encoding header of a response, for negotiated compression
+     *
+     * @param client Feign client name of the upstream
+     * @param acceptEncoding Accept-Encoding header of the response
+     */
+    public void learn(String client, Collection<String> acceptEncoding) {
+        if (properties.modeFor(client) == FeignCompressionProperties.Mode.NEGOTIATED
+                && !negotiatedClients.contains(client)
+                && acceptsGzip(acceptEncoding)) {
+            negotiatedClients.add(client);
+            log.info("Upstream {} accepts gzip request bodies, enabling compression", client);
+        }
+    }
+
+    @Override
+    public Object intercept(InvocationContext invocationContext, Chain chain) throws Exception {
+        Response response = invocationContext.response();
+        if (response != null && response.request() != null && response.request().requestTemplate() != null) {
+            learn(clientName(response.request().requestTemplate()), response.headers().get(ACCEPT_ENCODING));
+        }
+        return chain.next(invocationContext);
+    }
+
+    private boolean isCompressible(Collection<String> contentTypes) {
+        String contentType = contentTypes == null || contentTypes.isEmpty()
+                ? DEFAULT_CONTENT_TYPE
+                : contentTypes.iterator().next();
+        String mimeType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        return properties.getMimeTypes().contains(mimeType);
+    }
+
+    private static boolean acceptsGzip(Collection<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String value : acceptEncoding) {
+            for (String coding : value.split(",")) {
+                if (GZIP.equalsIgnoreCase(coding.split(";", 2)[0].trim())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String clientName(RequestTemplate template) {
+        Target<?> target = template.feignTarget();
+        return target != null ? target.name() : "";
+    }
+}
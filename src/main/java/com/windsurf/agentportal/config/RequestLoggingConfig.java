@@ -1,18 +1,43 @@
 package com.windsurf.agentportal.config;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.PathContainer;
 import org.springframework.web.filter.CommonsRequestLoggingFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
 
 /**
  * Configuration for request logging
+ * Excluded paths (health probes and other actuator traffic by default) bypass the filter entirely,
+ * so their requests are not wrapped for payload caching either.
  */
 @Configuration
 public class RequestLoggingConfig {
 
     @Bean
-    public CommonsRequestLoggingFilter logFilter() {
-        CommonsRequestLoggingFilter filter = new CommonsRequestLoggingFilter();
+    public CommonsRequestLoggingFilter logFilter(
+            @Value("${app.request-logging.excluded-paths:/actuator/**}") List<String> excludedPaths) {
+        List<PathPattern> excluded = excludedPaths.stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+
+        CommonsRequestLoggingFilter filter = new CommonsRequestLoggingFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                PathContainer path = PathContainer.parsePath(request.getRequestURI());
+                for (PathPattern pattern : excluded) {
+                    if (pattern.matches(path)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
         filter.setIncludeQueryString(true);
         filter.setIncludePayload(true);
         filter.setMaxPayloadLength(10000);
@@ -26,12 +26,21 @@ public class ResilienceConfig {
                 .timeLimiterConfig(TimeLimiterConfig.custom()
                         .timeoutDuration(Duration.ofSeconds(5))
                         .build())
-                .circuitBreakerConfig(CircuitBreakerConfig.custom()
-                        .failureRateThreshold(50)
-                        .waitDurationInOpenState(Duration.ofSeconds(10))
-                        .slidingWindowSize(10)
-                        .minimumNumberOfCalls(5)
-                        .build())
+                .circuitBreakerConfig(circuitBreakerConfig())
                 .build());
     }
+
+    /**
+     * Circuit breaker settings of every upstream call, also used by breakers taken straight from the
+     * Resilience4j registry so they behave the same whichever path creates them first
+     * @return CircuitBreakerConfig
+     */
+    public static CircuitBreakerConfig circuitBreakerConfig() {
+        return CircuitBreakerConfig.custom()
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofSeconds(10))
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(5)
+                .build();
+    }
 }
@@ -0,0 +1,83 @@
+package com.windsurf.agentportal.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Archival of old submissions and notifications, and purging of read notifications
+ */
+@Data
+@ConfigurationProperties(prefix = "app.retention")
+public class RetentionProperties {
+
+    /**
+     * Whether the retention worker runs; archived rows can be restored either way
+     */
+    private boolean enabled = true;
+
+    /**
+     * Delay between runs of the retention worker
+     */
+    private Duration interval = Duration.ofHours(1);
+
+    /**
+     * Rows moved or deleted per transaction
+     */
+    private int batchSize = 200;
+
+    /**
+     * Transaction timeout of a batch, which bounds how long a batch can hold its row locks
+     */
+    private Duration batchTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Pause between batches, leaving the tables to the request path
+     */
+    private Duration batchPause = Duration.ofMillis(100);
+
+    /**
+     * Longest a single run keeps going; the remaining rows are handled by the next run
+     */
+    private Duration maxRunTime = Duration.ofMinutes(10);
+
+    /**
+     * Age at which archived rows are deleted for good, by whole period; unset keeps them
+     */
+    private Duration archiveMaxAge;
+
+    private Submissions submissions = new Submissions();
+
+    private Notifications notifications = new Notifications();
+
+    @Data
+    public static class Submissions {
+
+        /**
+         * Submissions created longer ago than this are archived
+         */
+        private Duration maxAge = Duration.ofDays(180);
+
+        /**
+         * Only submissions in these statuses are archived, so nothing still in the pipeline is moved
+         */
+        private List<String> statuses = new ArrayList<>(List.of("PROCESSED", "FAILED"));
+    }
+
+    @Data
+    public static class Notifications {
+
+        /**
+         * Notifications older than this are archived, read or not
+         */
+        private Duration maxAge = Duration.ofDays(90);
+
+        /**
+         * Read notifications older than this are deleted without being archived
+         */
+        private Duration readMaxAge = Duration.ofDays(30);
+    }
+}
@@ -0,0 +1,49 @@
+package com.windsurf.agentportal.config;
+
+import com.windsurf.agentportal.scheduling.PriorityClass;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Priority classes and fair sharing for submission processing
+ */
+@Data
+@ConfigurationProperties(prefix = "app.scheduling")
+public class SchedulingProperties {
+
+    /**
+     * Submissions processed concurrently; the rest wait in the scheduler's queues
+     */
+    private int maxConcurrent = 16;
+
+    /**
+     * Relative share of processing slots per class while both have queued work
+     */
+    private Map<PriorityClass, Integer> classWeights = new EnumMap<>(Map.of(
+            PriorityClass.INTERACTIVE, 4,
+            PriorityClass.BULK, 1));
+
+    /**
+     * Default class by API client id, for clients that do not set a priority on the request
+     */
+    private Map<String, PriorityClass> clientClasses = new LinkedHashMap<>();
+
+    /**
+     * Fair-share weight by agentId within a class (default 1)
+     */
+    private Map<String, Double> agentWeights = new LinkedHashMap<>();
+
+    public int weightOf(PriorityClass priorityClass) {
+        return Math.max(1, classWeights.getOrDefault(priorityClass, 1));
+    }
+
+    public double weightOf(String agentId) {
+        Double weight = agentWeights.get(agentId);
+        return weight != null && weight > 0 ? weight : 1;
+    }
+}
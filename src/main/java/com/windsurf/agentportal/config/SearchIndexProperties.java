@@ -0,0 +1,84 @@
+package com.windsurf.agentportal.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * parsedData fields indexed for submission search
+ */
+@Data
+@ConfigurationProperties(prefix = "app.search")
+public class SearchIndexProperties {
+
+    /**
+     * Whether submissions are indexed and can be searched
+     */
+    private boolean enabled = true;
+
+    /**
+     * Searchable fields by name, as used in the {@code field} parameter of the search endpoint
+     */
+    private Map<String, Field> fields = new LinkedHashMap<>();
+
+    /**
+     * Shortest prefix accepted by a prefix search, so a query cannot match most of the index
+     */
+    private int minPrefixLength = 2;
+
+    /**
+     * Index terms are cut to this length; prefix searches on longer values still match
+     */
+    private int maxTermLength = 255;
+
+    /**
+     * Submissions waiting to be (re)indexed before further changes are dropped until the next sweep
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * How often submissions changed since they were last indexed are looked for and queued, catching up on
+     * changes dropped by a full queue or lost with the queue on restart
+     */
+    private Duration sweepInterval = Duration.ofMinutes(5);
+
+    /**
+     * Most submissions queued by one sweep
+     */
+    private int sweepBatchSize = 1000;
+
+    /**
+     * Whether every existing submission is reindexed once the application is ready
+     */
+    private boolean rebuildOnStartup = false;
+
+    @Data
+    public static class Field {
+
+        /**
+         * Dot-separated parsedData paths, e.g. insured.name; lists along a path are indexed element by element
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * How values are normalized, both when indexed and when searched
+         */
+        private Normalizer normalizer = Normalizer.TEXT;
+    }
+
+    public enum Normalizer {
+        /**
+         * Lower case, runs of whitespace collapsed to one space
+         */
+        TEXT,
+        /**
+         * Digits only, so formatting such as the dash in a FEIN does not matter
+         */
+        DIGITS
+    }
+}
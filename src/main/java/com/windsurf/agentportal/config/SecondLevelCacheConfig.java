@@ -0,0 +1,37 @@
+package com.windsurf.agentportal.config;
+
+import com.windsurf.agentportal.cache.BoundedRegionFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the Hibernate second-level and query caches on {@link BoundedRegionFactory}
+ * Only entities marked {@code @Cacheable} and finders carrying the cacheable query hint are cached.
+ * Hibernate keeps both consistent with writes made through JPA: an update or delete replaces the entity
+ * entry and bumps the table's update timestamp, which invalidates query results read before it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cache.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public BoundedRegionFactory boundedRegionFactory(SecondLevelCacheProperties properties, MeterRegistry meterRegistry) {
+        return new BoundedRegionFactory(properties, meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(BoundedRegionFactory regionFactory) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.windsurf.agentportal.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache held in this JVM
+ * Entries are not shared between instances; the time-to-live bounds how long one instance can serve
+ * data another instance has since changed.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class SecondLevelCacheProperties {
+
+    /**
+     * Whether entities and finder results are cached at all
+     */
+    private boolean enabled = true;
+
+    /**
+     * Limits for regions without an explicit entry in {@link #regions}
+     */
+    private Region defaultRegion = new Region();
+
+    /**
+     * Limits by region name (entity region "notification", query regions "submission-queries" and
+     * "notification-queries")
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    /**
+     * Returns the limits for a region, falling back to the default region
+     * @param name Region name
+     * @return Region limits
+     */
+    public Region regionFor(String name) {
+        return regions.getOrDefault(name, defaultRegion);
+    }
+
+    @Data
+    public static class Region {
+
+        /**
+         * Entries kept before the least recently used one is evicted
+         */
+        private int maxEntries = 1000;
+
+        /**
+         * Time after which an entry is no longer served, counted from when it was written
+         */
+        private Duration timeToLive = Duration.ofMinutes(5);
+    }
+}
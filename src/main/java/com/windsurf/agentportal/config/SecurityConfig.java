@@ -1,8 +1,14 @@
 package com.windsurf.agentportal.config;
 
+import com.windsurf.agentportal.filter.AdmissionControlFilter;
 import com.windsurf.agentportal.filter.ApiKeyAuthFilter;
+import com.windsurf.agentportal.filter.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -12,31 +18,99 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 /**
  * Security configuration for the application
- * Sets up endpoint security and adds the API key filter
+ * Public paths (actuator, notifications, API docs) are served by a minimal chain without
+ * authentication, session, request cache or CSRF filters. Everything else goes through the
+ * API chain with the API key, rate limit and admission control filters.
  */
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties({ApiKeyProperties.class, RateLimitProperties.class, AdmissionControlProperties.class})
 public class SecurityConfig {
 
     private final ApiKeyAuthFilter apiKeyAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final AdmissionControlFilter admissionControlFilter;
+    private final ApiKeyProperties apiKeyProperties;
 
-    public SecurityConfig(ApiKeyAuthFilter apiKeyAuthFilter) {
+    public SecurityConfig(ApiKeyAuthFilter apiKeyAuthFilter, RateLimitFilter rateLimitFilter,
+                          AdmissionControlFilter admissionControlFilter, ApiKeyProperties apiKeyProperties) {
         this.apiKeyAuthFilter = apiKeyAuthFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.admissionControlFilter = admissionControlFilter;
+        this.apiKeyProperties = apiKeyProperties;
     }
 
+    /**
+     * Minimal chain for public paths: only security headers are written
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    @Order(1)
+    public SecurityFilterChain publicFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(apiKeyProperties.getPublicPaths().toArray(String[]::new))
+            .csrf(AbstractHttpConfigurer::disable)
+            .sessionManagement(AbstractHttpConfigurer::disable)
+            .securityContext(AbstractHttpConfigurer::disable)
+            .requestCache(AbstractHttpConfigurer::disable)
+            .anonymous(AbstractHttpConfigurer::disable)
+            .servletApi(AbstractHttpConfigurer::disable)
+            .exceptionHandling(AbstractHttpConfigurer::disable)
+            .logout(AbstractHttpConfigurer::disable);
+
+        return http.build();
+    }
+
+    /**
+     * Chain for API endpoints requiring an API key
+     */
+    @Bean
+    @Order(2)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .requestCache(AbstractHttpConfigurer::disable)
+            .logout(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(authorize -> authorize
-                .requestMatchers("/actuator/**").permitAll()
-                .requestMatchers("/notifyme/**").permitAll()
-                .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                // Re-dispatch of a request authorized on arrival, once its asynchronous result is ready
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(apiKeyAuthFilter, UsernamePasswordAuthenticationFilter.class);
-        
+            .addFilterBefore(apiKeyAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitFilter, ApiKeyAuthFilter.class)
+            .addFilterAfter(admissionControlFilter, RateLimitFilter.class);
+
         return http.build();
     }
+
+    /**
+     * The API key filter is only used inside the API chain; keep Boot from also registering it
+     * as a servlet filter for every request
+     */
+    @Bean
+    public FilterRegistrationBean<ApiKeyAuthFilter> apiKeyAuthFilterRegistration() {
+        FilterRegistrationBean<ApiKeyAuthFilter> registration = new FilterRegistrationBean<>(apiKeyAuthFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /**
+     * The rate limit filter is only used inside the API chain
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /**
+     * The admission control filter is only used inside the API chain
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration() {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(admissionControlFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
 }
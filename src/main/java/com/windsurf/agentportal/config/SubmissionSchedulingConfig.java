@@ -0,0 +1,48 @@
+package com.windsurf.agentportal.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executor for submission processing
+ * The scheduler never hands it more than {@code app.scheduling.max-concurrent} tasks, so a fixed pool
+ * of that size is enough. Define a bean named {@code submissionExecutor} to use another executor.
+ *
+ * With the non-blocking client, checkpoints and other database work between stages run on
+ * {@code submissionDbExecutor}, so JPA writes never occupy the upstream client's I/O threads.
+ */
+@Configuration
+@EnableConfigurationProperties(SchedulingProperties.class)
+public class SubmissionSchedulingConfig {
+
+    @Bean(name = "submissionExecutor")
+    @ConditionalOnMissingBean(name = "submissionExecutor")
+    public Executor submissionExecutor(SchedulingProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getMaxConcurrent());
+        executor.setMaxPoolSize(properties.getMaxConcurrent());
+        executor.setQueueCapacity(properties.getMaxConcurrent());
+        executor.setThreadNamePrefix("submission-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "submissionDbExecutor")
+    @ConditionalOnMissingBean(name = "submissionDbExecutor")
+    @ConditionalOnProperty(name = "app.submission.client", havingValue = "non-blocking")
+    public Executor submissionDbExecutor(@Value("${app.submission.non-blocking.db-threads:4}") int dbThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(dbThreads);
+        executor.setMaxPoolSize(dbThreads);
+        executor.setThreadNamePrefix("submission-db-");
+        executor.initialize();
+        return executor;
+    }
+}
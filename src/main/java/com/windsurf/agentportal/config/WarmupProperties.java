@@ -0,0 +1,41 @@
+package com.windsurf.agentportal.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warm-up run at startup, before readiness reports ACCEPTING_TRAFFIC
+ */
+@Data
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+
+    /**
+     * Whether to warm up before the instance reports ready
+     */
+    private boolean enabled = true;
+
+    /**
+     * Upstream URLs to open a connection to (TLS handshake, keep-alive pool); normally the API base URLs
+     */
+    private List<String> targets = new ArrayList<>();
+
+    /**
+     * Connect and read timeout for each target; unreachable targets do not delay startup longer than this
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Synthetic parsedData round trips through JsonToMapConverter
+     */
+    private int converterIterations = 500;
+
+    /**
+     * Requests completing within this time count as fast for the time-to-first-fast-request metric
+     */
+    private Duration fastRequestThreshold = Duration.ofMillis(250);
+}
@@ -0,0 +1,73 @@
+package com.windsurf.agentportal.controller;
+
+import com.windsurf.agentportal.dto.SubmissionExportRecord;
+import com.windsurf.agentportal.retention.RetentionArchive;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for reading and restoring archived submissions and notifications
+ */
+@RestController
+@RequestMapping("/archive")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Archive API", description = "API for submissions and notifications moved out by the retention policy")
+public class ArchiveController {
+
+    private final RetentionArchive retentionArchive;
+
+    @Operation(summary = "Read an archived submission",
+            description = "Returns the submission as it was when archived, without restoring it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Archived submission",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SubmissionExportRecord.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - invalid API key"),
+            @ApiResponse(responseCode = "404", description = "No archived submission with this id")
+    })
+    @GetMapping("/submissions/{id}")
+    public ResponseEntity<SubmissionExportRecord> getArchivedSubmission(@PathVariable String id) {
+        return ResponseEntity.ok(SubmissionExportRecord.of(retentionArchive.findArchivedSubmission(id)));
+    }
+
+    @Operation(summary = "Restore an archived submission",
+            description = "Moves the submission back into the live table")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Restored submission",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SubmissionExportRecord.class))),
+            @ApiResponse(responseCode = "400", description = "A live submission with this id exists"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - invalid API key"),
+            @ApiResponse(responseCode = "404", description = "No archived submission with this id")
+    })
+    @PostMapping("/submissions/{id}/restore")
+    public ResponseEntity<SubmissionExportRecord> restoreSubmission(@PathVariable String id) {
+        log.info("Restoring archived submission {}", id);
+        return ResponseEntity.ok(SubmissionExportRecord.of(retentionArchive.restoreSubmission(id)));
+    }
+
+    @Operation(summary = "Restore an archived notification",
+            description = "Moves the notification back into the live table")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Notification restored", content = @Content),
+            @ApiResponse(responseCode = "400", description = "A live notification with this id exists"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - invalid API key"),
+            @ApiResponse(responseCode = "404", description = "No archived notification with this id")
+    })
+    @PostMapping("/notifications/{id}/restore")
+    public ResponseEntity<Void> restoreNotification(@PathVariable String id) {
+        log.info("Restoring archived notification {}", id);
+        retentionArchive.restoreNotification(id);
+        return ResponseEntity.noContent().build();
+    }
+}
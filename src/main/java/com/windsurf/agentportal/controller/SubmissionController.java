@@ -1,10 +1,22 @@
 package com.windsurf.agentportal.controller;
 
+import com.windsurf.agentportal.admission.RequestDeadline;
 import com.windsurf.agentportal.dto.SubmissionRequest;
 import com.windsurf.agentportal.dto.SubmissionResponse;
-import com.windsurf.agentportal.service.SubmissionService;
+import com.windsurf.agentportal.dto.SubmissionSearchResponse;
+import com.windsurf.agentportal.dto.SubmissionStatsResponse;
+import com.windsurf.agentportal.exception.ServiceUnavailableException;
+import com.windsurf.agentportal.filter.ApiKeyAuthFilter;
+import com.windsurf.agentportal.scheduling.PriorityClass;
+import com.windsurf.agentportal.scheduling.SubmissionScheduler;
+import com.windsurf.agentportal.search.SubmissionSearch;
+import com.windsurf.agentportal.security.ApiClient;
+import com.windsurf.agentportal.service.ISubmissionService;
+import com.windsurf.agentportal.service.export.SubmissionExporter;
+import com.windsurf.agentportal.stats.SubmissionStats;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,13 +26,24 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.multipart.MultipartFile;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
+
 /**
  * Controller for handling submission requests
  */
@@ -31,7 +54,11 @@ import jakarta.validation.Valid;
 @Tag(name = "Submission API", description = "API for handling submission requests from Agent Portal")
 public class SubmissionController {
 
-    private final SubmissionService submissionService;
+    private final ISubmissionService submissionService;
+    private final SubmissionScheduler submissionScheduler;
+    private final SubmissionExporter submissionExporter;
+    private final SubmissionStats submissionStats;
+    private final SubmissionSearch submissionSearch;
 
     @Operation(summary = "Process a new submission with ACORD file",
             description = "Receives ACORD file and metadata, processes it through Origami and Roots.ai, and notifies the Agent Portal")
@@ -40,22 +67,116 @@ public class SubmissionController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = SubmissionResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid request data"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - invalid API key"),
-            @ApiResponse(responseCode = "500", description = "Internal server error")
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Shutting down, overloaded or out of time; retry with Retry-After")
     })
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<SubmissionResponse> processSubmission(
+    public DeferredResult<ResponseEntity<SubmissionResponse>> processSubmission(
             @RequestPart("request") @Valid SubmissionRequest request,
-            @RequestPart("file") MultipartFile acordFile) {
+            @RequestPart("file") MultipartFile acordFile,
+            HttpServletRequest httpRequest) {
 
         log.info("Received submission request for userId: {} with file size: {} bytes",
                 request.getUserId(), acordFile.getSize());
 
+        // Answered once the submission has been processed; the request thread is released meanwhile
+        DeferredResult<ResponseEntity<SubmissionResponse>> result = new DeferredResult<>(
+                RequestDeadline.remainingMillis().isPresent() ? Math.max(1, RequestDeadline.remainingMillis().getAsLong()) : null);
+
         if (acordFile.isEmpty()) {
             log.warn("Empty file received in submission request");
-            return ResponseEntity.badRequest().body(SubmissionResponse.error("ACORD file is empty"));
+            result.setResult(ResponseEntity.badRequest().body(SubmissionResponse.error("ACORD file is empty")));
+            return result;
+        }
+
+        String clientId = ApiKeyAuthFilter.resolvedClient(httpRequest).map(ApiClient::getId).orElse(null);
+        PriorityClass priorityClass = submissionScheduler.classify(request.getPriority(), clientId);
+        CompletableFuture<SubmissionResponse> response = submissionScheduler.submit(priorityClass, request.getAgentId(),
+                () -> submissionService.processSubmissionAsync(request, acordFile));
+
+        result.onTimeout(() -> {
+            // Dropped if still queued; already running work completes and is resumed by a retry with the same key
+            response.cancel(false);
+            result.setErrorResult(new ServiceUnavailableException("Request deadline passed", 1));
+        });
+        response.whenComplete((completed, failure) -> {
+            if (failure != null) {
+                result.setErrorResult(failure);
+            } else {
+                result.setResult(ResponseEntity.ok(completed));
+            }
+        });
+        return result;
+    }
+
+    @Operation(summary = "Export submissions as newline-delimited JSON",
+            description = "Streams one JSON object per submission while reading; gzip-encoded when the client accepts it. parsedData is left out unless includeParsedData is set")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed",
+                    content = @Content(mediaType = "application/x-ndjson")),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - invalid API key")
+    })
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public void exportSubmissions(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String agentId,
+            @Parameter(description = "Earliest creation time (inclusive), e.g. 2026-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Latest creation time (exclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean includeParsedData,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
         }
 
-        SubmissionResponse response = submissionService.processSubmission(request, acordFile);
-        return ResponseEntity.ok(response);
+        SubmissionExporter.Filter filter = new SubmissionExporter.Filter(status, agentId, from, to, includeParsedData);
+        log.info("Exporting submissions: {}", filter);
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            // Sync flush, so every periodic flush of the exporter reaches the client
+            GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192, true);
+            submissionExporter.export(filter, gzipOut);
+            gzipOut.finish();
+        } else {
+            submissionExporter.export(filter, out);
+        }
+        out.flush();
+    }
+
+    @Operation(summary = "Submission counts for dashboards",
+            description = "Counts by status, by agent and status, and created per hour, maintained as submissions change and reconciled with the database periodically")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Current counts",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SubmissionStatsResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - invalid API key")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<SubmissionStatsResponse> getStats() {
+        return ResponseEntity.ok(submissionStats.snapshot());
+    }
+
+    @Operation(summary = "Search submissions by parsedData fields",
+            description = "Prefix or exact match on a parsedData field configured under app.search.fields, newest submissions first. The index is updated shortly after a submission's parsedData changes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of matching submissions",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SubmissionSearchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown field or mode, prefix too short or invalid page"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - invalid API key")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<SubmissionSearchResponse> searchSubmissions(
+            @Parameter(description = "Indexed field, e.g. insuredName") @RequestParam String field,
+            @RequestParam String q,
+            @Parameter(description = "prefix or exact") @RequestParam(defaultValue = SubmissionSearch.MODE_PREFIX) String mode,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(submissionSearch.search(field, q, mode, page, size));
     }
 }
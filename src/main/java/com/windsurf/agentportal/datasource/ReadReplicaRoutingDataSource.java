@@ -0,0 +1,103 @@
+package com.windsurf.agentportal.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends the connections of routed read-only transactions to the replica and everything else to the primary
+ * A transaction is routed when it is read-only and was started by a class in one of the routed packages
+ * ({@code app.datasource.replica.routed-packages}). While {@link ReplicaLagMonitor} reports the replica
+ * as lagging or unreachable, routed transactions fall back to the primary. They also do when its last
+ * report is older than the given maximum age, so a stalled monitor cannot keep the replica in use.
+ *
+ * The transaction's attributes are only known once it has begun, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers taking the
+ * connection to the first statement.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final List<String> routedPackages;
+    private final Counter primaryCount;
+    private final Counter replicaCount;
+    private final Counter fallbackCount;
+    private final long maxReportAgeNanos;
+    private volatile boolean replicaUsable;
+    private volatile long reportedAt;
+
+    /**
+     * @param maxReportAge Age after which the last report of the replica's state no longer counts
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, List<String> routedPackages,
+                                        Duration maxReportAge, MeterRegistry meterRegistry) {
+        this.routedPackages = routedPackages.stream().map(name -> name.endsWith(".") ? name : name + ".").toList();
+        this.maxReportAgeNanos = maxReportAge.toNanos();
+        this.primaryCount = routeCounter(meterRegistry, "primary");
+        this.replicaCount = routeCounter(meterRegistry, "replica");
+        this.fallbackCount = routeCounter(meterRegistry, "fallback");
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    /**
+     * @return Whether the last report found the replica usable and is recent enough to be trusted
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable && System.nanoTime() - reportedAt <= maxReportAgeNanos;
+    }
+
+    void setReplicaUsable(boolean replicaUsable) {
+        this.reportedAt = System.nanoTime();
+        this.replicaUsable = replicaUsable;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !isRouted(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            primaryCount.increment();
+            return Route.PRIMARY;
+        }
+        if (!isReplicaUsable()) {
+            fallbackCount.increment();
+            return Route.PRIMARY;
+        }
+        replicaCount.increment();
+        return Route.REPLICA;
+    }
+
+    /**
+     * @param transactionName Name of the transaction, the qualified name of the method that started it
+     * @return Whether the transaction goes to the replica when it is read-only and the replica is usable
+     */
+    boolean isRouted(String transactionName) {
+        if (transactionName == null) {
+            return false;
+        }
+        for (String routedPackage : routedPackages) {
+            if (transactionName.startsWith(routedPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("app.datasource.route")
+                .description("Connections taken, by the data source they were routed to; fallback counts read-only "
+                        + "transactions sent to the primary because the replica was lagging or unreachable")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+}
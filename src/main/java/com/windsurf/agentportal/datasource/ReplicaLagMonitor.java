@@ -0,0 +1,132 @@
+package com.windsurf.agentportal.datasource;
+
+import com.windsurf.agentportal.config.ReplicaDataSourceProperties;
+import com.windsurf.agentportal.model.ReplicaHeartbeat;
+import com.windsurf.agentportal.repository.ReplicaHeartbeatRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Measures the replication lag of the replica and tells {@link ReadReplicaRoutingDataSource} whether to use it
+ * By default a heartbeat row is written to the primary and read back from the replica; the lag is the age
+ * of the copy found there, accurate to one check interval. With {@code app.datasource.replica.lag-query}
+ * the replica reports its lag itself. The replica is used only while the last check succeeded within
+ * {@code app.datasource.replica.max-lag} and is no older than three check intervals; until the first
+ * check, and whenever checks stop completing, reads stay on the primary.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String HEARTBEAT_QUERY =
+            "select beat_at from replica_heartbeat where id = " + ReplicaHeartbeat.ID;
+
+    private final ReadReplicaRoutingDataSource routingDataSource;
+    private final JdbcTemplate replica;
+    private final ReplicaHeartbeatRepository heartbeatRepository;
+    private final ReplicaDataSourceProperties properties;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(ReadReplicaRoutingDataSource routingDataSource,
+                             @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                             ReplicaHeartbeatRepository heartbeatRepository,
+                             ReplicaDataSourceProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.heartbeatRepository = heartbeatRepository;
+        this.properties = properties;
+        this.replica.setQueryTimeout(timeoutSeconds());
+
+        Gauge.builder("app.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replication lag found by the last check, in seconds (NaN if it failed or is not measured)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("app.datasource.replica.usable", routingDataSource, dataSource -> dataSource.isReplicaUsable() ? 1 : 0)
+                .description("Whether read-only transactions currently go to the replica (0 once the last check is too old)")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT5S}")
+    public void check() {
+        Duration lag;
+        try {
+            lag = measureLag();
+        } catch (DataAccessException e) {
+            lagSeconds = Double.NaN;
+            update(false, "check failed: " + e.getMessage());
+            return;
+        }
+        lagSeconds = lag != null ? lag.toMillis() / 1000.0 : Double.NaN;
+
+        Duration maxLag = properties.getMaxLag();
+        if (maxLag == null || lag == null) {
+            update(true, "reachable");
+        } else {
+            update(lag.compareTo(maxLag) <= 0, "lag " + lag + ", max " + maxLag);
+        }
+    }
+
+    /**
+     * @return The replication lag, or null when only reachability is checked
+     */
+    private Duration measureLag() {
+        if (StringUtils.hasText(properties.getLagQuery())) {
+            Double seconds = replica.queryForObject(properties.getLagQuery(), Double.class);
+            return seconds != null ? Duration.ofMillis(Math.max(0, Math.round(seconds * 1000))) : Duration.ZERO;
+        }
+        if (properties.getMaxLag() == null) {
+            Boolean valid = replica.execute((ConnectionCallback<Boolean>) connection -> connection.isValid(timeoutSeconds()));
+            if (!Boolean.TRUE.equals(valid)) {
+                throw new DataAccessResourceFailureException("Replica connection is not valid");
+            }
+            return null;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (heartbeatRepository.beat(now) == 0) {
+            try {
+                heartbeatRepository.insert(now);
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the heartbeat row first
+            }
+        }
+        LocalDateTime replicated = replica.queryForObject(HEARTBEAT_QUERY, LocalDateTime.class);
+        Duration lag = Duration.between(replicated, now);
+        return lag.isNegative() ? Duration.ZERO : lag;
+    }
+
+    private void update(boolean usable, String reason) {
+        if (usable != routingDataSource.isReplicaUsable()) {
+            if (usable) {
+                log.info("Routing read-only transactions to the replica ({})", reason);
+            } else {
+                log.warn("Falling back to the primary for read-only transactions ({})", reason);
+            }
+        }
+        routingDataSource.setReplicaUsable(usable);
+    }
+
+    private int timeoutSeconds() {
+        return (int) Math.max(1, properties.getLagCheckInterval().toSeconds());
+    }
+}
@@ -0,0 +1,54 @@
+package com.windsurf.agentportal.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps what routed transactions read out of the second-level and query caches
+ * A transaction that {@link ReadReplicaRoutingDataSource} may send to the replica reads the caches but does
+ * not put into them ({@link CacheMode#GET}): the caches are shared by every later transaction, and a lagging
+ * replica would otherwise leave results in them that are older than the primary. The session's cache mode
+ * is restored when the transaction ends, since with open-in-view the session outlives it.
+ */
+public class ReplicaReadJpaDialect extends HibernateJpaDialect {
+
+    private final ReadReplicaRoutingDataSource routingDataSource;
+
+    public ReplicaReadJpaDialect(ReadReplicaRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        // The route is only chosen at the first statement, so every transaction that may take it is covered
+        if (!definition.isReadOnly() || !routingDataSource.isRouted(definition.getName())) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        return new RoutedTransactionData(transactionData, session, previousCacheMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof RoutedTransactionData routed) {
+            routed.session().setCacheMode(routed.previousCacheMode());
+            super.cleanupTransaction(routed.transactionData());
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+
+    private record RoutedTransactionData(Object transactionData, Session session, CacheMode previousCacheMode) {
+    }
+}
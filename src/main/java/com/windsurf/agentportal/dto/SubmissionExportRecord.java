@@ -0,0 +1,57 @@
+package com.windsurf.agentportal.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.windsurf.agentportal.model.RootsAiAction;
+import com.windsurf.agentportal.model.Submission;
+import com.windsurf.agentportal.model.SubmissionStage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One line of the submission export
+ * parsedData is only filled, and only written, when the export asks for it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SubmissionExportRecord {
+
+    private String id;
+    private String emailId;
+    private String userId;
+    private String agentId;
+    private String clientName;
+    private String submissionProposalId;
+    private String status;
+    private SubmissionStage stage;
+    private int attempts;
+    private RootsAiAction rootsAiAction;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Map<String, Object> parsedData;
+
+    /**
+     * Constructor used by the export query, which does not select parsedData
+     */
+    public SubmissionExportRecord(String id, String emailId, String userId, String agentId, String clientName,
+                                  String submissionProposalId, String status, SubmissionStage stage, int attempts,
+                                  RootsAiAction rootsAiAction, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, emailId, userId, agentId, clientName, submissionProposalId, status, stage, attempts, rootsAiAction,
+                createdAt, updatedAt, null);
+    }
+
+    public static SubmissionExportRecord of(Submission submission) {
+        return new SubmissionExportRecord(submission.getId(), submission.getEmailId(), submission.getUserId(),
+                submission.getAgentId(), submission.getClientName(), submission.getSubmissionProposalId(),
+                submission.getStatus(), submission.getStage(), submission.getAttempts(), submission.getRootsAiAction(),
+                submission.getCreatedAt(), submission.getUpdatedAt(), submission.getParsedData());
+    }
+}
@@ -28,4 +28,10 @@ public class SubmissionRequest {
     // Additional fields that might be part of the request
     private String agentId;
     private String clientName;
+    
+    // Optional client-chosen key; a retried request with the same key resumes the original submission
+    private String idempotencyKey;
+    
+    // Optional scheduling class: "interactive" (default) or "bulk"
+    private String priority;
 }
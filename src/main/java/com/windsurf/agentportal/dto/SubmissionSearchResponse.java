@@ -0,0 +1,35 @@
+package com.windsurf.agentportal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of submission search results
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SubmissionSearchResponse {
+
+    private String field;
+    /**
+     * The query as matched against the index, after normalization
+     */
+    private String query;
+    private String mode;
+    private int page;
+    private int size;
+    /**
+     * Whether a further page exists; the total is not counted
+     */
+    private boolean hasNext;
+    /**
+     * Matching submissions, newest first, without parsedData
+     */
+    private List<SubmissionExportRecord> results;
+}
@@ -0,0 +1,31 @@
+package com.windsurf.agentportal.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Submission counts for dashboards
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SubmissionStatsResponse {
+
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Map<String, Long>> byAgent;
+    /**
+     * Submissions created per hour, keyed by the start of the hour
+     */
+    private Map<LocalDateTime, Long> createdPerHour;
+    /**
+     * When the counts were last rebuilt from the database; later transitions are applied incrementally
+     */
+    private LocalDateTime reconciledAt;
+}
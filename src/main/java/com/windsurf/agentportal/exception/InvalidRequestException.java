@@ -0,0 +1,12 @@
+package com.windsurf.agentportal.exception;
+
+/**
+ * Exception for request parameters the service cannot act on, such as an unknown search field
+ * Mapped to 400.
+ */
+public class InvalidRequestException extends SubmissionServiceException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.windsurf.agentportal.exception;
+
+/**
+ * Exception for a resource that does not exist, such as a submission that was never archived
+ * Mapped to 404.
+ */
+public class ResourceNotFoundException extends SubmissionServiceException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.windsurf.agentportal.exception;
+
+/**
+ * Exception for work the service refuses to take on right now, such as while draining for shutdown
+ * Mapped to 503 with a Retry-After header.
+ */
+public class ServiceUnavailableException extends SubmissionServiceException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
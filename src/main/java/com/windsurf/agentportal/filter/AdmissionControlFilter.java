@@ -0,0 +1,152 @@
+package com.windsurf.agentportal.filter;
+
+import com.windsurf.agentportal.admission.AdmissionController;
+import com.windsurf.agentportal.admission.AdmissionDecision;
+import com.windsurf.agentportal.admission.RequestDeadline;
+import com.windsurf.agentportal.config.AdmissionControlProperties;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter applying admission control to submission uploads
+ * Runs after {@link RateLimitFilter}. The client's time budget is read from the deadline header
+ * (milliseconds, falling back to {@code app.admission.default-timeout}); requests that cannot be
+ * served in time are rejected with 503 and a Retry-After header before any work is done.
+ * A request answered asynchronously keeps its slot until the response has been completed.
+ */
+@Component
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionController admissionController;
+    private final AdmissionControlProperties properties;
+    private final List<PathPattern> paths;
+    private final long defaultTimeoutNanos;
+
+    public AdmissionControlFilter(AdmissionController admissionController, AdmissionControlProperties properties) {
+        this.admissionController = admissionController;
+        this.properties = properties;
+        this.paths = properties.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        this.defaultTimeoutNanos = properties.getDefaultTimeout().toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled() || !HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (PathPattern pattern : paths) {
+            if (pattern.matches(path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long deadline = System.nanoTime() + timeoutNanos(request);
+
+        AdmissionDecision decision;
+        try {
+            decision = admissionController.admit(deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(response, 1, "Service is shutting down");
+            return;
+        }
+
+        if (!decision.isAdmitted()) {
+            log.warn("Shedding {} {}: {} (in flight {}, queued {}), retry after {}s", request.getMethod(),
+                    request.getRequestURI(), decision.getReason(), admissionController.inFlight(),
+                    admissionController.queued(), decision.getRetryAfterSeconds());
+            reject(response, decision.getRetryAfterSeconds(), "Service overloaded, retry later");
+            return;
+        }
+
+        long start = System.nanoTime();
+        RequestDeadline.set(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(start));
+            } else {
+                admissionController.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private long timeoutNanos(HttpServletRequest request) {
+        String header = request.getHeader(properties.getDeadlineHeader());
+        if (StringUtils.hasText(header)) {
+            try {
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(0, Long.parseLong(header.trim())));
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed {} header: {}", properties.getDeadlineHeader(), header);
+            }
+        }
+        return defaultTimeoutNanos;
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getWriter().write(message);
+    }
+
+    /**
+     * Frees the slot of an asynchronously processed request once its response is complete; completion
+     * follows timeouts and errors as well
+     */
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        private final long start;
+
+        private ReleaseOnComplete(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            admissionController.release(System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
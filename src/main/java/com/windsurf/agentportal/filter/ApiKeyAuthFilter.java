@@ -1,62 +1,101 @@
 package com.windsurf.agentportal.filter;
 
+import com.windsurf.agentportal.config.ApiKeyProperties;
+import com.windsurf.agentportal.security.ApiClient;
+import com.windsurf.agentportal.security.ApiKeyRegistry;
+
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.slf4j.MDC;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Filter for API key authentication
- * Checks for X-API-KEY header on protected endpoints
+ * Checks for X-API-KEY header on protected endpoints and resolves the calling client
+ * through the {@link ApiKeyRegistry}. The resolved {@link ApiClient} is stored as a request
+ * attribute and as the security principal for downstream rate limiting and metrics.
  */
 @Component
 @Slf4j
 public class ApiKeyAuthFilter extends OncePerRequestFilter {
 
-    private static final String API_KEY_HEADER = "X-API-KEY";
-    
-    @Value("${security.api-key}")
-    private String expectedApiKey;
+    public static final String API_KEY_HEADER = "X-API-KEY";
+    private static final String MDC_CLIENT_ID = "clientId";
+    private static final String METRIC_AUTHENTICATIONS = "apikey.authentications";
+
+    private final ApiKeyRegistry apiKeyRegistry;
+    private final MeterRegistry meterRegistry;
+    private final List<PathPattern> publicPaths;
+
+    public ApiKeyAuthFilter(ApiKeyRegistry apiKeyRegistry, ApiKeyProperties apiKeyProperties,
+                            MeterRegistry meterRegistry) {
+        this.apiKeyRegistry = apiKeyRegistry;
+        this.meterRegistry = meterRegistry;
+        this.publicPaths = apiKeyProperties.getPublicPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    /**
+     * Returns the client resolved for this request, if the request was authenticated by this filter
+     * @param request Current request
+     * @return Resolved client
+     */
+    public static Optional<ApiClient> resolvedClient(HttpServletRequest request) {
+        return Optional.ofNullable((ApiClient) request.getAttribute(ApiClient.REQUEST_ATTRIBUTE));
+    }
 
     @Override
-    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
-                                    FilterChain filterChain) throws ServletException, IOException {
-        
-        // Skip filter for notification endpoints
-        if (request.getRequestURI().startsWith("/notifyme")) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-        
-        // Skip filter for actuator endpoints
-        if (request.getRequestURI().startsWith("/actuator")) {
-            filterChain.doFilter(request, response);
-            return;
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (PathPattern pattern : publicPaths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
         }
-        
-        // Skip filter for OpenAPI docs
-        if (request.getRequestURI().startsWith("/api-docs") || 
-            request.getRequestURI().startsWith("/swagger-ui")) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-        
-        // Check API key
-        String apiKey = request.getHeader(API_KEY_HEADER);
-        
-        if (apiKey == null || !apiKey.equals(expectedApiKey)) {
-            log.warn("Unauthorized access attempt with invalid API key: {}", apiKey);
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Optional<ApiClient> client = apiKeyRegistry.resolve(request.getHeader(API_KEY_HEADER));
+
+        if (client.isEmpty()) {
+            log.warn("Unauthorized access attempt to {} with invalid or missing API key", request.getRequestURI());
+            meterRegistry.counter(METRIC_AUTHENTICATIONS, "client", "unknown", "outcome", "rejected").increment();
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("Invalid or missing API key");
             return;
         }
-        
-        filterChain.doFilter(request, response);
+
+        ApiClient apiClient = client.get();
+        meterRegistry.counter(METRIC_AUTHENTICATIONS, "client", apiClient.getId(), "outcome", "accepted").increment();
+        request.setAttribute(ApiClient.REQUEST_ATTRIBUTE, apiClient);
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                apiClient.getId(), null, AuthorityUtils.createAuthorityList("ROLE_API_CLIENT")));
+
+        MDC.put(MDC_CLIENT_ID, apiClient.getId());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_CLIENT_ID);
+        }
     }
 }
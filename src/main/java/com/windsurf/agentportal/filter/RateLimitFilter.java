@@ -0,0 +1,70 @@
+package com.windsurf.agentportal.filter;
+
+import com.windsurf.agentportal.config.RateLimitProperties;
+import com.windsurf.agentportal.ratelimit.TokenBucketStore;
+import com.windsurf.agentportal.security.ApiClient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter enforcing per-client token bucket quotas
+ * Runs after {@link ApiKeyAuthFilter} and limits requests by the resolved client id;
+ * requests to public paths (no resolved client) are not limited.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_REJECTIONS = "ratelimit.rejections";
+
+    private final TokenBucketStore tokenBucketStore;
+    private final RateLimitProperties rateLimitProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimitProperties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        Optional<ApiClient> client = ApiKeyAuthFilter.resolvedClient(request);
+        if (client.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String clientId = client.get().getId();
+        long waitNanos = tokenBucketStore.tryAcquire(clientId, rateLimitProperties.quotaFor(clientId));
+
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            log.warn("Rate limit exceeded for client {} on {}, retry after {}s",
+                    clientId, request.getRequestURI(), retryAfterSeconds);
+            meterRegistry.counter(METRIC_REJECTIONS, "client", clientId).increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            response.getWriter().write("Rate limit exceeded");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -1,77 +1,204 @@
 package com.windsurf.agentportal.health;
 
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
-import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.stereotype.Component;
-import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Custom health indicator that reports the status of the circuit breaker.
- * This provides visibility into the circuit breaker state through the /actuator/health endpoint.
+ * Health indicator reporting every circuit breaker, bulkhead and rate limiter known to the
+ * Resilience4j registries (including the per-method breakers of the Feign clients).
+ * The health is built once and served from a cached snapshot; the snapshot is marked stale by
+ * state transitions, rejected calls and registry changes, and is otherwise rebuilt at most once
+ * per {@code app.health.resilience.max-snapshot-age} so the metrics do not drift too far.
+ * Frequent health checks therefore cost a volatile read.
+ *
+ * An open breaker is reported as CIRCUIT_OPEN and a half-open one as DEGRADED, never as DOWN: the
+ * instance can still serve reads and queue submissions, and one flaky upstream must not take every
+ * instance out of the load balancer. Both statuses map to HTTP 200 and the indicator is not part of the
+ * liveness and readiness groups.
  */
 @Component
-@RequiredArgsConstructor
+@Slf4j
 public class CircuitBreakerHealthIndicator implements HealthIndicator {
 
-    private final CircuitBreakerFactory<?, ?> circuitBreakerFactory;
-    
-    private static final String CIRCUIT_BREAKER_NAME = "notificationService";
-    private static final String DETAIL_CIRCUIT_BREAKER = "circuitBreaker";
-    private static final String DETAIL_STATE = "state";
-    private static final String DETAIL_METRICS = "metrics";
-    private static final String DETAIL_ERROR = "error";
-    private static final String STATUS_DEGRADED = "DEGRADED";
-    
+    private static final String DETAIL_CIRCUIT_BREAKERS = "circuitBreakers";
+    private static final String DETAIL_BULKHEADS = "bulkheads";
+    private static final String DETAIL_RATE_LIMITERS = "rateLimiters";
+    private static final Status STATUS_DEGRADED = new Status("DEGRADED");
+    private static final Status STATUS_CIRCUIT_OPEN = new Status("CIRCUIT_OPEN");
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final long maxSnapshotAgeNanos;
+
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private volatile Health snapshot;
+    private volatile long snapshotTakenAt;
+
+    public CircuitBreakerHealthIndicator(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            ObjectProvider<BulkheadRegistry> bulkheadRegistry,
+            ObjectProvider<RateLimiterRegistry> rateLimiterRegistry,
+            @Value("${app.health.resilience.max-snapshot-age:PT5S}") Duration maxSnapshotAge) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry.getIfAvailable();
+        this.rateLimiterRegistry = rateLimiterRegistry.getIfAvailable();
+        this.maxSnapshotAgeNanos = maxSnapshotAge.toNanos();
+        subscribe();
+    }
+
     @Override
     public Health health() {
-        try {
-            // Get the circuit breaker instance
-            io.github.resilience4j.circuitbreaker.CircuitBreaker circuitBreaker = 
-                ((io.github.resilience4j.circuitbreaker.CircuitBreaker) circuitBreakerFactory.create(CIRCUIT_BREAKER_NAME));
-            
-            // Get the state of the circuit breaker
+        Health current = snapshot;
+        if (current == null || stale.get() || System.nanoTime() - snapshotTakenAt > maxSnapshotAgeNanos) {
+            stale.set(false);
+            current = buildHealth();
+            snapshot = current;
+            snapshotTakenAt = System.nanoTime();
+        }
+        return current;
+    }
+
+    private void subscribe() {
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(this::watch);
+        circuitBreakerRegistry.getEventPublisher()
+                .onEntryAdded(event -> {
+                    watch(event.getAddedEntry());
+                    markStale();
+                })
+                .onEntryRemoved(event -> markStale())
+                .onEntryReplaced(event -> {
+                    watch(event.getNewEntry());
+                    markStale();
+                });
+
+        if (bulkheadRegistry != null) {
+            bulkheadRegistry.getAllBulkheads().forEach(this::watch);
+            bulkheadRegistry.getEventPublisher()
+                    .onEntryAdded(event -> {
+                        watch(event.getAddedEntry());
+                        markStale();
+                    })
+                    .onEntryRemoved(event -> markStale())
+                    .onEntryReplaced(event -> {
+                        watch(event.getNewEntry());
+                        markStale();
+                    });
+        }
+
+        if (rateLimiterRegistry != null) {
+            rateLimiterRegistry.getAllRateLimiters().forEach(this::watch);
+            rateLimiterRegistry.getEventPublisher()
+                    .onEntryAdded(event -> {
+                        watch(event.getAddedEntry());
+                        markStale();
+                    })
+                    .onEntryRemoved(event -> markStale())
+                    .onEntryReplaced(event -> {
+                        watch(event.getNewEntry());
+                        markStale();
+                    });
+        }
+    }
+
+    private void watch(CircuitBreaker circuitBreaker) {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.info("Circuit breaker {} changed state: {}", event.getCircuitBreakerName(), event.getStateTransition());
+            markStale();
+        });
+    }
+
+    private void watch(Bulkhead bulkhead) {
+        bulkhead.getEventPublisher().onCallRejected(event -> markStale());
+    }
+
+    private void watch(RateLimiter rateLimiter) {
+        rateLimiter.getEventPublisher().onFailure(event -> markStale());
+    }
+
+    private void markStale() {
+        stale.set(true);
+    }
+
+    private Health buildHealth() {
+        Status status = Status.UP;
+        Map<String, Object> circuitBreakers = new TreeMap<>();
+
+        for (CircuitBreaker circuitBreaker : circuitBreakerRegistry.getAllCircuitBreakers()) {
             CircuitBreaker.State state = circuitBreaker.getState();
-            
-            // Health status depends on circuit breaker state
-            if (state == CircuitBreaker.State.CLOSED) {
-                return Health.up()
-                        .withDetail(DETAIL_CIRCUIT_BREAKER, CIRCUIT_BREAKER_NAME)
-                        .withDetail(DETAIL_STATE, state)
-                        .withDetail(DETAIL_METRICS, buildMetricsMap(circuitBreaker))
-                        .build();
-            } else if (state == CircuitBreaker.State.HALF_OPEN) {
-                return Health.status(STATUS_DEGRADED)
-                        .withDetail(DETAIL_CIRCUIT_BREAKER, CIRCUIT_BREAKER_NAME)
-                        .withDetail(DETAIL_STATE, state)
-                        .withDetail(DETAIL_METRICS, buildMetricsMap(circuitBreaker))
-                        .build();
-            } else {
-                return Health.down()
-                        .withDetail(DETAIL_CIRCUIT_BREAKER, CIRCUIT_BREAKER_NAME)
-                        .withDetail(DETAIL_STATE, state)
-                        .withDetail(DETAIL_METRICS, buildMetricsMap(circuitBreaker))
-                        .build();
+            circuitBreakers.put(circuitBreaker.getName(), buildCircuitBreakerDetails(circuitBreaker));
+            status = worst(status, statusOf(state));
+        }
+
+        Health.Builder builder = Health.status(status).withDetail(DETAIL_CIRCUIT_BREAKERS, circuitBreakers);
+
+        if (bulkheadRegistry != null) {
+            Map<String, Object> bulkheads = new TreeMap<>();
+            for (Bulkhead bulkhead : bulkheadRegistry.getAllBulkheads()) {
+                bulkheads.put(bulkhead.getName(), Map.of(
+                        "availableConcurrentCalls", bulkhead.getMetrics().getAvailableConcurrentCalls(),
+                        "maxAllowedConcurrentCalls", bulkhead.getMetrics().getMaxAllowedConcurrentCalls()));
+            }
+            builder.withDetail(DETAIL_BULKHEADS, bulkheads);
+        }
+
+        if (rateLimiterRegistry != null) {
+            Map<String, Object> rateLimiters = new TreeMap<>();
+            for (RateLimiter rateLimiter : rateLimiterRegistry.getAllRateLimiters()) {
+                rateLimiters.put(rateLimiter.getName(), Map.of(
+                        "availablePermissions", rateLimiter.getMetrics().getAvailablePermissions(),
+                        "numberOfWaitingThreads", rateLimiter.getMetrics().getNumberOfWaitingThreads()));
             }
-        } catch (Exception e) {
-            return Health.unknown()
-                    .withDetail(DETAIL_CIRCUIT_BREAKER, CIRCUIT_BREAKER_NAME)
-                    .withDetail(DETAIL_ERROR, "Unable to determine circuit breaker state: " + e.getMessage())
-                    .build();
+            builder.withDetail(DETAIL_RATE_LIMITERS, rateLimiters);
         }
+
+        return builder.build();
+    }
+
+    private Map<String, Object> buildCircuitBreakerDetails(CircuitBreaker circuitBreaker) {
+        CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+        Map<String, Object> details = new TreeMap<>();
+        details.put("state", circuitBreaker.getState());
+        details.put("failureRate", metrics.getFailureRate());
+        details.put("slowCallRate", metrics.getSlowCallRate());
+        details.put("numberOfSuccessfulCalls", metrics.getNumberOfSuccessfulCalls());
+        details.put("numberOfFailedCalls", metrics.getNumberOfFailedCalls());
+        details.put("numberOfSlowCalls", metrics.getNumberOfSlowCalls());
+        details.put("numberOfNotPermittedCalls", metrics.getNumberOfNotPermittedCalls());
+        return details;
     }
-    
-    private java.util.Map<String, Object> buildMetricsMap(CircuitBreaker circuitBreaker) {
-        java.util.Map<String, Object> metrics = new java.util.HashMap<>();
-        
-        // Add relevant metrics from the circuit breaker
-        metrics.put("failureRate", circuitBreaker.getMetrics().getFailureRate());
-        metrics.put("slowCallRate", circuitBreaker.getMetrics().getSlowCallRate());
-        metrics.put("numberOfSuccessfulCalls", circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
-        metrics.put("numberOfFailedCalls", circuitBreaker.getMetrics().getNumberOfFailedCalls());
-        metrics.put("numberOfSlowCalls", circuitBreaker.getMetrics().getNumberOfSlowCalls());
-        
-        return metrics;
+
+    private static Status statusOf(CircuitBreaker.State state) {
+        return switch (state) {
+            case OPEN, FORCED_OPEN -> STATUS_CIRCUIT_OPEN;
+            case HALF_OPEN -> STATUS_DEGRADED;
+            default -> Status.UP;
+        };
+    }
+
+    private static Status worst(Status current, Status candidate) {
+        if (STATUS_CIRCUIT_OPEN.equals(current) || STATUS_CIRCUIT_OPEN.equals(candidate)) {
+            return STATUS_CIRCUIT_OPEN;
+        }
+        if (STATUS_DEGRADED.equals(current) || STATUS_DEGRADED.equals(candidate)) {
+            return STATUS_DEGRADED;
+        }
+        return Status.UP;
     }
 }
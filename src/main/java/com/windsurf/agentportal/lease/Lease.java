@@ -0,0 +1,19 @@
+package com.windsurf.agentportal.lease;
+
+/**
+ * A lease held by this instance
+ *
+ * @param name Lease name
+ * @param owner Instance holding it
+ * @param token Fencing token issued when it was acquired
+ */
+public record Lease(String name, String owner, long token) {
+
+    /**
+     * @return Part of the name before the first ':', used to tag metrics
+     */
+    public String group() {
+        int separator = name.indexOf(':');
+        return separator < 0 ? name : name.substring(0, separator);
+    }
+}
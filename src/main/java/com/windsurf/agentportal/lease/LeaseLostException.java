@@ -0,0 +1,13 @@
+package com.windsurf.agentportal.lease;
+
+import com.windsurf.agentportal.exception.SubmissionServiceException;
+
+/**
+ * Thrown when work is about to commit under a lease that has since been taken over by another instance
+ */
+public class LeaseLostException extends SubmissionServiceException {
+
+    public LeaseLostException(Lease lease) {
+        super("Lease " + lease.name() + " with token " + lease.token() + " is no longer held by " + lease.owner());
+    }
+}
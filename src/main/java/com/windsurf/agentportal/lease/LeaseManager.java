@@ -0,0 +1,255 @@
+package com.windsurf.agentportal.lease;
+
+import com.windsurf.agentportal.config.LeaseProperties;
+import com.windsurf.agentportal.model.WorkerLease;
+import com.windsurf.agentportal.repository.WorkerLeaseRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acquires, renews and fences {@link WorkerLease}s on behalf of this instance
+ * A lease is free once it has expired; whoever then wins the compare-and-set on its token owns it and
+ * gets the next token. Held leases are renewed every {@code app.leases.heartbeat-interval} and
+ * released on shutdown, so a stopping instance hands its work over without waiting for expiry. Renewal
+ * runs on a thread of its own, so a long retention run or deferred parse batch on the shared scheduler
+ * cannot hold it up past the time-to-live.
+ * With {@code app.leases.enabled=false} every lease is granted locally and fencing always succeeds.
+ */
+@Component
+@EnableConfigurationProperties(LeaseProperties.class)
+@Slf4j
+public class LeaseManager {
+
+    private final WorkerLeaseRepository repository;
+    private final LeaseProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String instanceId;
+    private final Map<String, Lease> held = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> ownedGauges = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeatExecutor =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("lease-heartbeat-"));
+
+    public LeaseManager(WorkerLeaseRepository repository, LeaseProperties properties, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.instanceId = StringUtils.hasText(properties.getInstanceId())
+                ? properties.getInstanceId()
+                : hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        log.info("Worker leases {} for instance {}", properties.isEnabled() ? "enabled" : "disabled", instanceId);
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Acquires a lease if it is free, or renews it if this instance already holds it
+     *
+     * @param name Lease name
+     * @return The lease, or empty if another instance holds it
+     */
+    public Optional<Lease> tryAcquire(String name) {
+        if (!properties.isEnabled()) {
+            return Optional.of(new Lease(name, instanceId, 0));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(properties.getTimeToLive());
+        Optional<WorkerLease> current = repository.findById(name);
+
+        if (current.isEmpty()) {
+            try {
+                repository.insert(name, instanceId, now, expiresAt);
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the lease first
+                return Optional.empty();
+            }
+            return Optional.of(acquired(new Lease(name, instanceId, 1), "created"));
+        }
+
+        WorkerLease lease = current.get();
+        if (instanceId.equals(lease.getOwner()) && lease.getExpiresAt().isAfter(now)) {
+            Lease ours = new Lease(name, instanceId, lease.getToken());
+            return renew(ours) ? Optional.of(track(ours)) : Optional.empty();
+        }
+        if (lease.getExpiresAt().isAfter(now)
+                || repository.compareAndTake(name, lease.getToken(), instanceId, now, expiresAt) != 1) {
+            return Optional.empty();
+        }
+        Lease taken = new Lease(name, instanceId, lease.getToken() + 1);
+        if (!instanceId.equals(lease.getOwner())) {
+            // Time the work stood unowned, from expiry or release by the previous owner
+            Timer.builder("app.leases.handoff")
+                    .description("Time between a lease being released or expiring and another instance taking it")
+                    .tag("group", taken.group())
+                    .register(meterRegistry)
+                    .record(Duration.between(lease.getExpiresAt(), now));
+            log.info("Took over lease {} from {} (token {})", name, lease.getOwner(), taken.token());
+        }
+        return Optional.of(acquired(taken, "taken-over"));
+    }
+
+    /**
+     * Extends a held lease by the time-to-live
+     *
+     * @param lease Lease to renew
+     * @return false if the lease was taken over, in which case its work must stop
+     */
+    public boolean renew(Lease lease) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        if (repository.renew(lease.name(), lease.owner(), lease.token(),
+                LocalDateTime.now().plus(properties.getTimeToLive())) == 1) {
+            return true;
+        }
+        lost(lease);
+        return false;
+    }
+
+    /**
+     * Gives a lease up, making it free for other instances right away
+     *
+     * @param lease Lease to release
+     */
+    public void release(Lease lease) {
+        held.remove(lease.name());
+        if (properties.isEnabled()) {
+            repository.renew(lease.name(), lease.owner(), lease.token(), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Checks, inside the caller's transaction, that the lease still carries its token
+     * Call before committing work done under the lease; the lease row stays locked until the caller
+     * commits, so a takeover cannot slip in between the check and the commit.
+     *
+     * @param lease Lease the work is done under
+     * @throws LeaseLostException if the lease has changed hands, so the caller's transaction rolls back
+     */
+    public void fence(Lease lease) {
+        if (properties.isEnabled() && repository.fence(lease.name(), lease.owner(), lease.token()) != 1) {
+            lost(lease);
+            throw new LeaseLostException(lease);
+        }
+    }
+
+    /**
+     * Checks, without a database round trip, that a lease survived its last renewal
+     *
+     * @param lease Lease the work is done under
+     * @return false once the lease has been found taken over or released
+     */
+    public boolean holds(Lease lease) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        Lease current = held.get(lease.name());
+        return current != null && current.token() == lease.token();
+    }
+
+    /**
+     * @param prefix Name prefix
+     * @return Leases held by this instance whose name starts with the prefix
+     */
+    public List<Lease> heldLeases(String prefix) {
+        return held.values().stream().filter(lease -> lease.name().startsWith(prefix)).toList();
+    }
+
+    @PostConstruct
+    void startHeartbeat() {
+        if (properties.isEnabled()) {
+            long interval = properties.getHeartbeatInterval().toMillis();
+            heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void heartbeat() {
+        for (Lease lease : held.values()) {
+            try {
+                renew(lease);
+            } catch (RuntimeException e) {
+                log.warn("Unable to renew lease {}: {}", lease.name(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        heartbeatExecutor.shutdownNow();
+        for (Lease lease : held.values()) {
+            try {
+                release(lease);
+            } catch (RuntimeException e) {
+                log.debug("Unable to release lease {} on shutdown: {}", lease.name(), e.getMessage());
+            }
+        }
+    }
+
+    private Lease acquired(Lease lease, String result) {
+        Counter.builder("app.leases.acquired")
+                .description("Leases acquired by this instance")
+                .tag("group", lease.group())
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+        return track(lease);
+    }
+
+    private Lease track(Lease lease) {
+        held.put(lease.name(), lease);
+        ownedGauges.computeIfAbsent(lease.group(), group -> Gauge.builder("app.leases.owned", held,
+                        leases -> leases.values().stream().filter(owned -> owned.group().equals(group)).count())
+                .description("Leases currently held by this instance")
+                .tag("group", group)
+                .register(meterRegistry));
+        return lease;
+    }
+
+    private void lost(Lease lease) {
+        if (held.remove(lease.name()) != null) {
+            log.warn("Lost lease {} (token {}) to another instance", lease.name(), lease.token());
+            Counter.builder("app.leases.lost")
+                    .description("Leases this instance found taken over while it still expected to hold them")
+                    .tag("group", lease.group())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "instance";
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.windsurf.agentportal.lease;
+
+import com.windsurf.agentportal.config.LeaseProperties;
+import com.windsurf.agentportal.model.WorkerLease;
+import com.windsurf.agentportal.repository.WorkerLeaseRepository;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Splits the work of a background job between live instances
+ * A job's work is divided into {@code app.leases.partitions} partitions by hash of the submission ID,
+ * each guarded by a lease named {@code <job>:<partition>}. Every instance also holds a lease named
+ * {@code node:<instance>} while it runs, from which the number of live instances is counted. On each run
+ * an instance keeps its partitions up to its fair share, gives up any above it, and takes free ones
+ * below it, so partitions move to new instances and away from stopped ones within a lease time-to-live.
+ */
+@Component
+public class WorkPartitioner {
+
+    static final String NODE_PREFIX = "node:";
+
+    private final LeaseManager leaseManager;
+    private final WorkerLeaseRepository repository;
+    private final int partitionCount;
+
+    public WorkPartitioner(LeaseManager leaseManager, WorkerLeaseRepository repository, LeaseProperties properties) {
+        this.leaseManager = leaseManager;
+        this.repository = repository;
+        this.partitionCount = properties.getPartitions();
+    }
+
+    /**
+     * Partitions of a job held by this instance
+     *
+     * @param partitionCount Number of partitions of the job
+     * @param leases Leases held, by partition
+     */
+    public record Partitions(int partitionCount, Map<Integer, Lease> leases) {
+
+        /**
+         * @param submissionId Submission ID
+         * @return Whether the submission falls in a partition held by this instance
+         */
+        public boolean owns(String submissionId) {
+            return leases.containsKey(partitionOf(submissionId, partitionCount));
+        }
+
+        /**
+         * @param submissionId Submission ID of a partition held by this instance
+         * @return Lease of the submission's partition, for fencing
+         */
+        public Lease leaseFor(String submissionId) {
+            return leases.get(partitionOf(submissionId, partitionCount));
+        }
+
+        /**
+         * @return Numbers of the partitions held, for selecting their submissions by {@code partitionHash}
+         */
+        public Set<Integer> ids() {
+            return leases.keySet();
+        }
+
+        public boolean isEmpty() {
+            return leases.isEmpty();
+        }
+    }
+
+    /**
+     * Rebalances the partitions of a job and returns those this instance now holds
+     *
+     * @param job Job name
+     * @return Partitions held; all of them when leases are disabled
+     */
+    public Partitions acquire(String job) {
+        TreeMap<Integer, Lease> owned = new TreeMap<>();
+        if (!leaseManager.isEnabled()) {
+            for (int partition = 0; partition < partitionCount; partition++) {
+                owned.put(partition, new Lease(leaseName(job, partition), leaseManager.getInstanceId(), 0));
+            }
+            return new Partitions(partitionCount, owned);
+        }
+
+        leaseManager.tryAcquire(NODE_PREFIX + leaseManager.getInstanceId());
+        LocalDateTime now = LocalDateTime.now();
+        long liveNodes = Math.max(1, repository.countByNameStartingWithAndExpiresAtAfter(NODE_PREFIX, now));
+        int share = (int) Math.ceil(partitionCount / (double) liveNodes);
+        String prefix = job + ":";
+
+        for (Lease lease : leaseManager.heldLeases(prefix)) {
+            int partition = Integer.parseInt(lease.name().substring(prefix.length()));
+            if (partition < partitionCount && leaseManager.renew(lease)) {
+                owned.put(partition, lease);
+            }
+        }
+        // Give up partitions above the fair share, so a newly started instance gets its part
+        while (owned.size() > share) {
+            Lease surplus = owned.remove(owned.lastKey());
+            leaseManager.release(surplus);
+        }
+        if (owned.size() < share) {
+            Map<String, WorkerLease> existing = repository.findByNameStartingWith(prefix).stream()
+                    .collect(Collectors.toMap(WorkerLease::getName, Function.identity()));
+            // Instances start looking at different partitions, so they rarely race for the same one
+            int start = Math.floorMod(leaseManager.getInstanceId().hashCode(), partitionCount);
+            for (int i = 0; i < partitionCount && owned.size() < share; i++) {
+                int partition = (start + i) % partitionCount;
+                WorkerLease current = existing.get(leaseName(job, partition));
+                if (owned.containsKey(partition) || (current != null && current.getExpiresAt().isAfter(now))) {
+                    continue;
+                }
+                leaseManager.tryAcquire(leaseName(job, partition)).ifPresent(lease -> owned.put(partition, lease));
+            }
+        }
+        return new Partitions(partitionCount, owned);
+    }
+
+    /**
+     * @param submissionId Submission ID
+     * @param partitionCount Number of partitions
+     * @return Partition of the submission
+     */
+    public static int partitionOf(String submissionId, int partitionCount) {
+        return partitionHash(submissionId) % partitionCount;
+    }
+
+    /**
+     * Hash a submission's partition is taken from, stored on the submission so queries can filter on
+     * {@code mod(partitionHash, partitionCount)}
+     *
+     * @param submissionId Submission ID
+     * @return Non-negative hash of the ID
+     */
+    public static int partitionHash(String submissionId) {
+        int hash = submissionId.hashCode();
+        // Spread the bits, since IDs differing only in their last characters are common
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash & Integer.MAX_VALUE;
+    }
+
+    private static String leaseName(String job, int partition) {
+        return job + ":" + partition;
+    }
+}
@@ -0,0 +1,27 @@
+package com.windsurf.agentportal.lifecycle;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/drain}) reporting the progress of the shutdown drain
+ * Read-only: the drain is started by the application shutting down, not over HTTP.
+ */
+@Component
+@Endpoint(id = "drain")
+public class DrainEndpoint {
+
+    private final SubmissionDrain submissionDrain;
+
+    public DrainEndpoint(SubmissionDrain submissionDrain) {
+        this.submissionDrain = submissionDrain;
+    }
+
+    @ReadOperation
+    public Map<String, Object> drain() {
+        return submissionDrain.progress();
+    }
+}
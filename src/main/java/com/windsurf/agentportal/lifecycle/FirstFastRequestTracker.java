@@ -0,0 +1,122 @@
+package com.windsurf.agentportal.lifecycle;
+
+import com.windsurf.agentportal.config.WarmupProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures time-to-first-fast-request: JVM uptime when the first API request completes successfully
+ * within {@code app.warmup.fast-request-threshold}
+ * A filter timing each request until its response is complete, so a request answered asynchronously
+ * (POST /submission) counts once its result has been written, not when it was handed over. Actuator
+ * requests (probes, scrapes) are ignored. Published as {@code app.startup.first.fast.request}.
+ */
+@Component
+@EnableConfigurationProperties(WarmupProperties.class)
+@Slf4j
+public class FirstFastRequestTracker extends OncePerRequestFilter {
+
+    private final long thresholdNanos;
+    private final AtomicLong uptimeMillis = new AtomicLong(-1);
+
+    public FirstFastRequestTracker(WarmupProperties properties, MeterRegistry meterRegistry) {
+        this.thresholdNanos = properties.getFastRequestThreshold().toNanos();
+        TimeGauge.builder("app.startup.first.fast.request", uptimeMillis, TimeUnit.MILLISECONDS,
+                        value -> value.get() < 0 ? Double.NaN : value.get())
+                .description("JVM uptime when the first API request completed within the fast-request threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return uptimeMillis.get() >= 0 || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new RecordOnComplete(request, start));
+            } else if (!failed) {
+                record(request, response.getStatus(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, long elapsedNanos) {
+        if (status >= 500 || elapsedNanos > thresholdNanos) {
+            return;
+        }
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (uptimeMillis.compareAndSet(-1, uptime)) {
+            log.info("First fast request ({} {} in {} ms) at {} ms after JVM start", request.getMethod(),
+                    request.getRequestURI(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), uptime);
+        }
+    }
+
+    /**
+     * @return JVM uptime in milliseconds at the first fast request, or -1 if there has been none yet
+     */
+    public long uptimeMillis() {
+        return uptimeMillis.get();
+    }
+
+    /**
+     * Records an asynchronously processed request once its response is complete, unless it timed out or failed
+     */
+    private final class RecordOnComplete implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final long start;
+        private volatile boolean failed;
+
+        private RecordOnComplete(HttpServletRequest request, long start) {
+            this.request = request;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (!failed && event.getSuppliedResponse() instanceof HttpServletResponse response) {
+                record(request, response.getStatus(), System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.windsurf.agentportal.lifecycle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.windsurf.agentportal.acord.AcordExtraction;
+import com.windsurf.agentportal.config.WarmupProperties;
+import com.windsurf.agentportal.dto.NotificationRequest;
+import com.windsurf.agentportal.dto.OrigamiSubmissionRequest;
+import com.windsurf.agentportal.dto.OrigamiSubmissionResponse;
+import com.windsurf.agentportal.dto.OrigamiUpdateRequest;
+import com.windsurf.agentportal.dto.RootsAiResponse;
+import com.windsurf.agentportal.dto.SubmissionRequest;
+import com.windsurf.agentportal.dto.SubmissionResponse;
+import com.windsurf.agentportal.model.JsonToMapConverter;
+import com.windsurf.agentportal.repository.SubmissionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Initializes what the first requests would otherwise pay for, before the instance reports ready
+ * Spring Boot publishes ReadinessState.ACCEPTING_TRAFFIC only after all ApplicationRunners have
+ * completed, so the readiness probe stays DOWN until this has run. Steps:
+ * <ul>
+ *   <li>codecs: Jackson serializers and deserializers for every DTO the controllers and Feign clients use</li>
+ *   <li>connections: a HEAD request to each {@code app.warmup.targets} URL, which loads the TLS stack,
+ *       resolves DNS and leaves a connection in the JDK keep-alive cache used by the Feign client</li>
+ *   <li>converter: synthetic parsedData round trips through {@link JsonToMapConverter}</li>
+ *   <li>persistence: Hibernate query plans and a pooled JDBC connection</li>
+ * </ul>
+ * A failing step is logged and skipped; it never prevents startup. Each step is timed as
+ * {@code app.warmup.duration}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final List<Class<?>> CODEC_TYPES = List.of(
+            SubmissionRequest.class, SubmissionResponse.class, OrigamiSubmissionRequest.class,
+            OrigamiSubmissionResponse.class, OrigamiUpdateRequest.class, RootsAiResponse.class,
+            NotificationRequest.class);
+
+    private final WarmupProperties properties;
+    private final ObjectMapper objectMapper;
+    private final SubmissionRepository submissionRepository;
+    private final MeterRegistry meterRegistry;
+
+    public StartupWarmup(WarmupProperties properties,
+                         ObjectMapper objectMapper,
+                         SubmissionRepository submissionRepository,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.submissionRepository = submissionRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        step("codecs", this::warmCodecs);
+        step("connections", this::primeConnections);
+        step("converter", this::warmConverter);
+        step("persistence", this::warmPersistence);
+        log.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void step(String name, Runnable step) {
+        long start = System.nanoTime();
+        try {
+            step.run();
+        } catch (RuntimeException e) {
+            log.warn("Warm-up step {} failed: {}", name, e.getMessage());
+        }
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("app.warmup.duration")
+                .tag("step", name)
+                .description("Time spent warming up before readiness")
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.debug("Warm-up step {} took {} ms", name, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private void warmCodecs() {
+        for (Class<?> type : CODEC_TYPES) {
+            try {
+                Object instance = type.getDeclaredConstructor().newInstance();
+                objectMapper.readValue(objectMapper.writeValueAsBytes(instance), type);
+            } catch (ReflectiveOperationException | IOException e) {
+                log.debug("Unable to warm codec for {}: {}", type.getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void primeConnections() {
+        List<CompletableFuture<Void>> connections = new ArrayList<>();
+        for (String target : properties.getTargets()) {
+            connections.add(CompletableFuture.runAsync(() -> connect(target)));
+        }
+        CompletableFuture.allOf(connections.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void connect(String target) {
+        int timeout = (int) properties.getConnectTimeout().toMillis();
+        long start = System.nanoTime();
+        try {
+            HttpURLConnection connection = (HttpURLConnection) URI.create(target).toURL().openConnection();
+            connection.setRequestMethod("HEAD");
+            connection.setConnectTimeout(timeout);
+            connection.setReadTimeout(timeout);
+            int status = connection.getResponseCode();
+            // Draining the (empty) body returns the connection to the keep-alive cache
+            InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (body != null) {
+                body.transferTo(OutputStream.nullOutputStream());
+                body.close();
+            }
+            log.info("Warm-up connection to {} answered {} in {} ms", target, status,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Warm-up connection to {} failed: {}", target, e.getMessage());
+        }
+    }
+
+    private void warmConverter() {
+        JsonToMapConverter converter = new JsonToMapConverter();
+        Map<String, Object> parsedData = syntheticParsedData();
+        for (int i = 0; i < properties.getConverterIterations(); i++) {
+            converter.convertToEntityAttribute(converter.convertToDatabaseColumn(parsedData));
+        }
+    }
+
+    private void warmPersistence() {
+        submissionRepository.findByIdempotencyKey("warmup");
+        submissionRepository.count();
+    }
+
+    private static Map<String, Object> syntheticParsedData() {
+        Map<String, Object> parsedData = new LinkedHashMap<>(AcordExtraction.builder()
+                .insuredName("Warmup Holdings LLC")
+                .fein("12-3456789")
+                .effectiveDate(LocalDate.of(2026, 1, 1))
+                .expirationDate(LocalDate.of(2027, 1, 1))
+                .lineOfBusiness("GENERAL_LIABILITY")
+                .lineOfBusiness("COMMERCIAL_PROPERTY")
+                .build()
+                .toParsedData());
+        List<Map<String, Object>> locations = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            Map<String, Object> location = new LinkedHashMap<>();
+            location.put("locationNumber", i);
+            location.put("address", Map.of("line1", i + " Main St", "city", "Columbus", "state", "OH"));
+            location.put("buildingValue", 1_000_000 + i);
+            location.put("sprinklered", i % 2 == 0);
+            locations.add(location);
+        }
+        parsedData.put("locations", locations);
+        return parsedData;
+    }
+}
@@ -0,0 +1,184 @@
+package com.windsurf.agentportal.lifecycle;
+
+import com.windsurf.agentportal.scheduling.SubmissionScheduler;
+import com.windsurf.agentportal.service.pipeline.SubmissionPipeline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Drains submission processing when the application shuts down
+ * Stops in the default lifecycle phase, before the web server stops accepting connections:
+ * readiness is switched to REFUSING_TRAFFIC, the {@link SubmissionScheduler} refuses new submissions
+ * with 503, and in-flight pipelines get up to {@code app.drain.timeout} to finish. Whatever is
+ * still unfinished afterwards is failed back to its caller if it never started; running pipelines are
+ * told to suspend at their next checkpoint so the recovery worker of another instance resumes them,
+ * and get up to {@code app.drain.suspend-timeout} to finish the upstream call they are in. A submission
+ * is never made resumable while this instance still has a call for it in flight; one still inside a
+ * call after that stays PROCESSING and is recovered once it counts as stalled.
+ *
+ * {@code spring.lifecycle.timeout-per-shutdown-phase} must be longer than both timeouts together.
+ */
+@Component
+@Slf4j
+public class SubmissionDrain implements SmartLifecycle {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    /**
+     * Drain progress
+     */
+    public enum State {
+        RUNNING,
+        DRAINING,
+        DRAINED
+    }
+
+    private final SubmissionScheduler submissionScheduler;
+    private final SubmissionPipeline submissionPipeline;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration timeout;
+    private final Duration suspendTimeout;
+
+    private volatile boolean running;
+    private volatile State state = State.RUNNING;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile int cancelled;
+    private volatile int suspended;
+    private volatile int abandoned;
+
+    public SubmissionDrain(SubmissionScheduler submissionScheduler,
+                           SubmissionPipeline submissionPipeline,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${app.drain.timeout:PT30S}") Duration timeout,
+                           @Value("${app.drain.suspend-timeout:PT10S}") Duration suspendTimeout) {
+        this.submissionScheduler = submissionScheduler;
+        this.submissionPipeline = submissionPipeline;
+        this.eventPublisher = eventPublisher;
+        this.timeout = timeout;
+        this.suspendTimeout = suspendTimeout;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        drain();
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        Thread thread = new Thread(() -> {
+            try {
+                drain();
+            } finally {
+                callback.run();
+            }
+        }, "submission-drain");
+        thread.start();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops before the web server's graceful shutdown (phase {@code DEFAULT_PHASE - 1024}), which only
+     * begins once the drain is done; the order among other default-phase lifecycle beans is unspecified
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    public boolean isDraining() {
+        return state != State.RUNNING;
+    }
+
+    /**
+     * @return Snapshot of the drain progress
+     */
+    public Map<String, Object> progress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("state", state);
+        progress.put("timeoutMillis", timeout.toMillis());
+        Instant started = startedAt;
+        if (started != null) {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long elapsed = Duration.between(started, end).toMillis();
+            progress.put("startedAt", started);
+            progress.put("elapsedMillis", elapsed);
+            progress.put("remainingMillis", state == State.DRAINING ? Math.max(0, timeout.toMillis() - elapsed) : 0);
+        }
+        progress.put("running", submissionScheduler.running());
+        progress.put("queued", submissionScheduler.queued());
+        progress.put("activePipelines", submissionPipeline.activeSubmissionIds().size());
+        progress.put("cancelled", cancelled);
+        progress.put("suspended", state == State.DRAINING ? submissionPipeline.suspendedCount() : suspended);
+        progress.put("abandoned", abandoned);
+        return progress;
+    }
+
+    synchronized void drain() {
+        if (state != State.RUNNING) {
+            return;
+        }
+        state = State.DRAINING;
+        startedAt = Instant.now();
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        submissionScheduler.stopAccepting();
+        log.info("Draining submissions: {} running, {} queued, waiting up to {}",
+                submissionScheduler.running(), submissionScheduler.queued(), timeout);
+
+        awaitIdle(timeout);
+
+        if (!idle()) {
+            cancelled = submissionScheduler.cancelQueued();
+            submissionPipeline.suspendAtNextCheckpoint();
+            log.info("Drain timed out, suspending {} running submission(s) at their next checkpoint",
+                    submissionPipeline.activeSubmissionIds().size());
+            awaitIdle(suspendTimeout);
+            suspended = submissionPipeline.suspendedCount();
+            abandoned = submissionPipeline.activeSubmissionIds().size();
+            log.warn("Drain timed out: {} queued submission(s) refused, {} suspended for recovery, "
+                    + "{} still in an upstream call left to stall recovery", cancelled, suspended, abandoned);
+        }
+
+        finishedAt = Instant.now();
+        state = State.DRAINED;
+        running = false;
+        log.info("Drain finished in {} ms", Duration.between(startedAt, finishedAt).toMillis());
+    }
+
+    private void awaitIdle(Duration wait) {
+        long deadline = System.nanoTime() + wait.toNanos();
+        try {
+            while (!idle() && System.nanoTime() < deadline) {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean idle() {
+        return submissionScheduler.running() == 0
+                && submissionScheduler.queued() == 0
+                && submissionPipeline.activeSubmissionIds().isEmpty();
+    }
+}
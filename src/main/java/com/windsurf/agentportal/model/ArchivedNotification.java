@@ -0,0 +1,47 @@
+package com.windsurf.agentportal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@link Notification} moved out of the live table by the retention worker
+ * Stored like {@link ArchivedSubmission}, partitioned by the yyyy-MM of the notification timestamp.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(indexes = {
+    @Index(name = "idx_archived_notification_period", columnList = "archivePeriod"),
+    @Index(name = "idx_archived_notification_user_id", columnList = "userId")
+})
+public class ArchivedNotification {
+
+    @Id
+    private String id;
+    @Column(nullable = false, length = 7)
+    private String archivePeriod;
+    private String userId;
+    private String submissionId;
+    private LocalDateTime timestamp;
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(nullable = false)
+    private byte[] payload;
+}
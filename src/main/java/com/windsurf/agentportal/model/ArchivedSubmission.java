@@ -0,0 +1,50 @@
+package com.windsurf.agentportal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@link Submission} moved out of the live table by the retention worker
+ * The full submission is kept as gzip-compressed JSON so it can be restored as it was; the columns
+ * alongside it are only there to find archived rows. archivePeriod (yyyy-MM of createdAt) is the
+ * partition key: archived rows are expired a period at a time.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(indexes = {
+    @Index(name = "idx_archived_submission_period", columnList = "archivePeriod"),
+    @Index(name = "idx_archived_submission_user_id", columnList = "userId")
+})
+public class ArchivedSubmission {
+
+    @Id
+    private String id;
+    @Column(nullable = false, length = 7)
+    private String archivePeriod;
+    private String userId;
+    private String agentId;
+    private String status;
+    private LocalDateTime createdAt;
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(nullable = false)
+    private byte[] payload;
+}
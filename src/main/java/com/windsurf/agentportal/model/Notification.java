@@ -5,6 +5,11 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.windsurf.agentportal.cache.CacheRegions;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
@@ -21,10 +26,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.NOTIFICATION)
 @Table(indexes = {
     @Index(name = "idx_notification_user_id", columnList = "userId"),
     @Index(name = "idx_notification_submission_id", columnList = "submissionId"),
-    @Index(name = "idx_notification_read", columnList = "read")
+    @Index(name = "idx_notification_read", columnList = "read"),
+    @Index(name = "idx_notification_timestamp", columnList = "timestamp")
 })
 public class Notification {
     
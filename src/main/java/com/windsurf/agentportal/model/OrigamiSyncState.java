@@ -0,0 +1,38 @@
+package com.windsurf.agentportal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Version;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * parsedData as last acknowledged by Origami for a proposal
+ * Later updates are sent as a merge patch against this state instead of the full map.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class OrigamiSyncState {
+
+    @Id
+    private String submissionProposalId;
+    @Version
+    private Long version;
+    @Lob
+    @Column(columnDefinition = "TEXT")
+    @Convert(converter = JsonToMapConverter.class)
+    private Map<String, Object> sentData;
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,23 @@
+package com.windsurf.agentportal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Shared token bucket state for rate limiting across nodes
+ * Holds the GCRA theoretical arrival time in epoch nanoseconds
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class RateLimitBucket {
+
+    @Id
+    private String bucketKey;
+    private long theoreticalArrivalTime;
+}
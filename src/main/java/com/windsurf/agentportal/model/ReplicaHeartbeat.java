@@ -0,0 +1,32 @@
+package com.windsurf.agentportal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single row written to the primary at every replica lag check
+ * The lag is how far the copy read back from the replica trails the time written. Table and column
+ * names are fixed because the replica is read with plain SQL.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "replica_heartbeat")
+public class ReplicaHeartbeat {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+    @Column(name = "beat_at", nullable = false)
+    private LocalDateTime beatAt;
+}
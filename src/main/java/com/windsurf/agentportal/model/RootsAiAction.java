@@ -0,0 +1,20 @@
+package com.windsurf.agentportal.model;
+
+/**
+ * What the pipeline does with Roots.ai for a submission, decided from the local ACORD extraction
+ */
+public enum RootsAiAction {
+
+    /** Parse with Roots.ai during the pipeline (default) */
+    CALL,
+
+    /** Local extraction is sufficient; Roots.ai is not called */
+    SKIP,
+
+    /** Continue with the local extraction and parse with Roots.ai after the agent has been notified;
+     *  switches to CALL once the deferred parse has completed */
+    DEFER,
+
+    /** The deferred parse kept failing and was given up; the local extraction is kept */
+    FAILED
+}
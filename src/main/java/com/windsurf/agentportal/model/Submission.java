@@ -5,75 +5,78 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.windsurf.agentportal.lease.WorkPartitioner;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Column;
 import jakarta.persistence.Lob;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Convert;
-import jakarta.persistence.AttributeConverter;
-
-import org.springframework.util.StringUtils;
-
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 import java.time.LocalDateTime;
 import java.util.Map;
 
 /**
  * Submission entity representing an insurance submission
+ * The pipeline {@link SubmissionStage} and its outputs (submissionProposalId, parsedData) are
+ * checkpointed here so interrupted submissions can be resumed. parsedData is first filled from the
+ * local ACORD extraction and replaced by the Roots.ai result unless {@link RootsAiAction} says otherwise.
+ * partitionHash is the {@link WorkPartitioner} hash of the ID, stored so background jobs can select the
+ * submissions of their partitions in the query; rows written before it existed get it on their next update.
+ * Submissions are not held in the second-level cache: other instances advance them, and a cached copy would
+ * be served stale and fail its version check when saved.
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_submission_status_updated_at", columnList = "status, updatedAt"),
+    @Index(name = "idx_submission_idempotency_key", columnList = "idempotencyKey", unique = true),
+    @Index(name = "idx_submission_created_at", columnList = "createdAt")
+})
 public class Submission {
     
     @Id
     private String id;
+    @Version
+    private Long version;
+    private String idempotencyKey;
     private String emailId;
     private String userId;
     private String agentId;
     private String clientName;
     private String submissionProposalId;
     private String status;
+    @Enumerated(EnumType.STRING)
+    private SubmissionStage stage;
+    @Builder.Default
+    private int attempts = 0;
+    @Enumerated(EnumType.STRING)
+    private RootsAiAction rootsAiAction;
+    private int deferredParseAttempts;
+    private LocalDateTime nextDeferredParseAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Integer partitionHash;
     @Lob
     @Column(columnDefinition = "TEXT")
     @Convert(converter = JsonToMapConverter.class)
     private Map<String, Object> parsedData;
-}
-
-/**
- * JPA Converter to convert between JSON string and Map for parsedData
- */
-class JsonToMapConverter implements AttributeConverter<Map<String, Object>, String> {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-
-    @Override
-    public String convertToDatabaseColumn(Map<String, Object> attribute) {
-        if (attribute == null) {
-            return null;
-        }
-        try {
-            return objectMapper.writeValueAsString(attribute);
-        } catch (JsonProcessingException e) {
-            throw new IllegalArgumentException("Error converting map to JSON", e);
-        }
-    }
-
-    @Override
-    public Map<String, Object> convertToEntityAttribute(String dbData) {
-        if (!StringUtils.hasText(dbData)) {
-            return Map.of();
-        }
-        try {
-            return objectMapper.readValue(dbData, Map.class);
-        } catch (JsonProcessingException e) {
-            throw new IllegalArgumentException("Error converting JSON to map", e);
+    @PrePersist
+    @PreUpdate
+    void assignPartitionHash() {
+        if (partitionHash == null && id != null) {
+            partitionHash = WorkPartitioner.partitionHash(id);
         }
     }
 }
@@ -0,0 +1,32 @@
+package com.windsurf.agentportal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version of a submission its {@link SubmissionSearchTerm} rows were last derived from
+ * Written in the same transaction as the terms, so a submission whose current version differs was changed
+ * after its last indexing, whether or not the in-memory reindex queue still knows about it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class SubmissionSearchState {
+
+    @Id
+    private String submissionId;
+    @Column(nullable = false)
+    private Long indexedVersion;
+    @Column(nullable = false)
+    private LocalDateTime indexedAt;
+}
@@ -0,0 +1,37 @@
+package com.windsurf.agentportal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * One normalized parsedData value of a submission, indexed for search
+ * Rows are derived from {@link Submission#getParsedData()} and rewritten whenever it changes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(indexes = {
+    @Index(name = "idx_search_term_field_term", columnList = "field, term, submissionId"),
+    @Index(name = "idx_search_term_submission_id", columnList = "submissionId")
+})
+public class SubmissionSearchTerm {
+
+    @Id
+    private String id;
+    @Column(nullable = false)
+    private String submissionId;
+    @Column(nullable = false, length = 64)
+    private String field;
+    @Column(nullable = false)
+    private String term;
+}
@@ -0,0 +1,32 @@
+package com.windsurf.agentportal.model;
+
+/**
+ * Stages of the submission pipeline, in execution order
+ * Each stage is persisted once its upstream call has completed, so a pipeline interrupted by a crash
+ * or restart resumes from the next stage instead of repeating paid upstream work.
+ */
+public enum SubmissionStage {
+
+    /** Submission stored locally, nothing sent upstream yet */
+    CREATED,
+
+    /** Proposal created in Origami; submissionProposalId is checkpointed */
+    ORIGAMI_CREATED,
+
+    /** ACORD file parsed by Roots.ai; parsedData is checkpointed */
+    PARSED,
+
+    /** Parsed data sent to Origami */
+    ORIGAMI_UPDATED,
+
+    /** Agent Portal notified; pipeline complete */
+    NOTIFIED;
+
+    /**
+     * @return Stage following this one, or this stage if it is the last
+     */
+    public SubmissionStage next() {
+        SubmissionStage[] stages = values();
+        return ordinal() + 1 < stages.length ? stages[ordinal() + 1] : this;
+    }
+}
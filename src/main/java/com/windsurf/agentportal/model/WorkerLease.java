@@ -0,0 +1,37 @@
+package com.windsurf.agentportal.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time-limited ownership of a background job, or of one partition of its work, by one instance
+ * The token grows by one every time the lease changes hands and is used as a fencing token: work
+ * done under a lease only commits while the lease still carries the token it was acquired with.
+ * Expiry times are wall-clock based; nodes are expected to run with synchronized clocks.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+public class WorkerLease {
+
+    @Id
+    @Column(length = 128)
+    private String name;
+    @Column(nullable = false)
+    private String owner;
+    private long token;
+    @Column(nullable = false)
+    private LocalDateTime acquiredAt;
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,135 @@
+package com.windsurf.agentportal.origami;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON merge patch (RFC 7386) computation for parsedData maps
+ * Objects are diffed key by key; arrays and scalars are replaced as a whole; a key present before
+ * and absent now is sent as null, which removes it on the receiving side.
+ */
+public final class MergePatch {
+
+    private MergePatch() {
+    }
+
+    /**
+     * Removes nulls, empty objects and empty arrays, recursively
+     * An object or array that only held such values is removed as well.
+     *
+     * @param data Map to prune; not modified
+     * @return Pruned copy, never null
+     */
+    public static Map<String, Object> prune(Map<String, Object> data) {
+        Map<String, Object> pruned = new LinkedHashMap<>();
+        if (data == null) {
+            return pruned;
+        }
+        data.forEach((key, value) -> {
+            Object prunedValue = pruneValue(value);
+            if (prunedValue != null) {
+                pruned.put(key, prunedValue);
+            }
+        });
+        return pruned;
+    }
+
+    /**
+     * Computes the merge patch turning {@code source} into {@code target}
+     * Both maps are expected to be pruned, so a null in the patch always means removal.
+     *
+     * @param source State the receiver has
+     * @param target State the receiver should have
+     * @return Patch; empty if nothing changed
+     */
+    public static Map<String, Object> diff(Map<String, Object> source, Map<String, Object> target) {
+        Map<String, Object> patch = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : target.entrySet()) {
+            Object before = source.get(entry.getKey());
+            Object after = entry.getValue();
+            if (before instanceof Map && after instanceof Map) {
+                Map<String, Object> nested = diff(asMap(before), asMap(after));
+                if (!nested.isEmpty()) {
+                    patch.put(entry.getKey(), nested);
+                }
+            } else if (!deepEquals(before, after)) {
+                patch.put(entry.getKey(), after);
+            }
+        }
+        for (String key : source.keySet()) {
+            if (!target.containsKey(key)) {
+                patch.put(key, null);
+            }
+        }
+        return patch;
+    }
+
+    private static Object pruneValue(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> pruned = prune(asMap(map));
+            return pruned.isEmpty() ? null : pruned;
+        }
+        if (value instanceof Collection<?> collection) {
+            List<Object> pruned = new ArrayList<>(collection.size());
+            for (Object element : collection) {
+                Object prunedElement = pruneValue(element);
+                if (prunedElement != null) {
+                    pruned.add(prunedElement);
+                }
+            }
+            return pruned.isEmpty() ? null : pruned;
+        }
+        return value;
+    }
+
+    /**
+     * Structural equality that treats numbers of different Java types (Integer, Long, Double
+     * from different JSON readers) as equal when their values are
+     */
+    static boolean deepEquals(Object left, Object right) {
+        if (left == right) {
+            return true;
+        }
+        if (left == null || right == null) {
+            return false;
+        }
+        if (left instanceof Number a && right instanceof Number b) {
+            return new BigDecimal(a.toString()).compareTo(new BigDecimal(b.toString())) == 0;
+        }
+        if (left instanceof Map<?, ?> a && right instanceof Map<?, ?> b) {
+            if (a.size() != b.size()) {
+                return false;
+            }
+            for (Map.Entry<?, ?> entry : a.entrySet()) {
+                if (!b.containsKey(entry.getKey()) || !deepEquals(entry.getValue(), b.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (left instanceof Collection<?> a && right instanceof Collection<?> b) {
+            if (a.size() != b.size()) {
+                return false;
+            }
+            Iterator<?> i = a.iterator();
+            Iterator<?> j = b.iterator();
+            while (i.hasNext()) {
+                if (!deepEquals(i.next(), j.next())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return left.equals(right);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return (Map<String, Object>) value;
+    }
+}
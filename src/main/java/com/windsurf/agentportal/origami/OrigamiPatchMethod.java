@@ -0,0 +1,16 @@
+package com.windsurf.agentportal.origami;
+
+/**
+ * How merge patches are sent to Origami ({@code api.origami.patch-method})
+ */
+public enum OrigamiPatchMethod {
+
+    /** Merge patches are not used; every change is sent as a full PUT (default) */
+    NONE,
+
+    /** A real PATCH request; only the non-blocking client can send it, the Feign client sends a full PUT */
+    PATCH,
+
+    /** POST with {@code X-HTTP-Method-Override: PATCH}, for when Origami is known to honour the override */
+    METHOD_OVERRIDE
+}
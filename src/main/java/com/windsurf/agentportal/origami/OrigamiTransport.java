@@ -0,0 +1,30 @@
+package com.windsurf.agentportal.origami;
+
+import com.windsurf.agentportal.dto.OrigamiUpdateRequest;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * How {@link OrigamiUpdater} reaches Origami: the Feign client, or the non-blocking client
+ */
+public interface OrigamiTransport {
+
+    /**
+     * Replaces the proposal's parsed data
+     */
+    CompletableFuture<?> put(String submissionProposalId, OrigamiUpdateRequest request);
+
+    /**
+     * Applies a JSON merge patch to the proposal
+     */
+    CompletableFuture<?> patch(String submissionProposalId, Map<String, Object> patch);
+
+    /**
+     * @return Whether {@link #patch} can be sent with the configured {@link OrigamiPatchMethod}; if not, updates
+     * are sent in full
+     */
+    default boolean canPatch() {
+        return true;
+    }
+}
@@ -0,0 +1,135 @@
+package com.windsurf.agentportal.origami;
+
+import com.windsurf.agentportal.client.OrigamiClient;
+import com.windsurf.agentportal.dto.OrigamiUpdateRequest;
+import com.windsurf.agentportal.model.OrigamiSyncState;
+import com.windsurf.agentportal.repository.OrigamiSyncStateRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Sends parsedData to Origami, skipping updates that change nothing since the last acknowledged one
+ * The first update for a proposal is a full PUT of the pruned map (no null or empty subtrees).
+ * Later updates (re-parses, deferred Roots.ai results) are merge patches against the stored
+ * {@link OrigamiSyncState}, when Origami is configured to accept them ({@code api.origami.patch-method});
+ * otherwise they are full PUTs as well. If nothing changed, no request is made.
+ */
+@Component
+@Slf4j
+public class OrigamiUpdater {
+
+    static final String MODE_FULL = "full";
+    static final String MODE_PATCH = "patch";
+    static final String MODE_UNCHANGED = "unchanged";
+
+    private final OrigamiClient origamiClient;
+    private final OrigamiSyncStateRepository syncStateRepository;
+    private final MeterRegistry meterRegistry;
+    private final OrigamiPatchMethod patchMethod;
+
+    public OrigamiUpdater(OrigamiClient origamiClient,
+                          OrigamiSyncStateRepository syncStateRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${api.origami.patch-method:${app.apis.origami.patch-method:none}}") OrigamiPatchMethod patchMethod) {
+        this.origamiClient = origamiClient;
+        this.syncStateRepository = syncStateRepository;
+        this.meterRegistry = meterRegistry;
+        this.patchMethod = patchMethod;
+        if (patchMethod == OrigamiPatchMethod.PATCH) {
+            log.info("Origami merge patches are sent as PATCH by the non-blocking client only; Feign sends full updates");
+        }
+    }
+
+    /**
+     * Brings the Origami proposal up to date with the given parsedData
+     *
+     * @param apiKey Origami API key
+     * @param submissionProposalId Proposal to update
+     * @param parsedData Current parsed data
+     */
+    public void update(String apiKey, String submissionProposalId, Map<String, Object> parsedData) {
+        OrigamiTransport feign = new OrigamiTransport() {
+            @Override
+            public CompletableFuture<?> put(String proposalId, OrigamiUpdateRequest request) {
+                return CompletableFuture.completedFuture(origamiClient.updateSubmission(apiKey, proposalId, request));
+            }
+
+            @Override
+            public CompletableFuture<?> patch(String proposalId, Map<String, Object> patch) {
+                return CompletableFuture.completedFuture(origamiClient.patchSubmission(apiKey, proposalId, patch));
+            }
+
+            @Override
+            public boolean canPatch() {
+                // The default Feign client cannot send PATCH
+                return patchMethod == OrigamiPatchMethod.METHOD_OVERRIDE;
+            }
+        };
+        try {
+            update(feign, submissionProposalId, parsedData).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Brings the Origami proposal up to date with the given parsedData over the given transport
+     * The sync state is only written once Origami has acknowledged the update.
+     *
+     * @param transport Transport to Origami
+     * @param submissionProposalId Proposal to update
+     * @param parsedData Current parsed data
+     * @return Completes once the update has been acknowledged, or immediately if nothing changed
+     */
+    public CompletableFuture<Void> update(OrigamiTransport transport, String submissionProposalId,
+                                          Map<String, Object> parsedData) {
+        Map<String, Object> current = MergePatch.prune(parsedData);
+        Optional<OrigamiSyncState> last = syncStateRepository.findById(submissionProposalId);
+
+        Map<String, Object> patch = last.isPresent()
+                ? MergePatch.diff(MergePatch.prune(last.get().getSentData()), current)
+                : null;
+        if (patch != null && patch.isEmpty()) {
+            log.debug("Parsed data for proposal {} unchanged, no update sent", submissionProposalId);
+            meterRegistry.counter("origami.updates", "mode", MODE_UNCHANGED).increment();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String mode;
+        CompletableFuture<?> sent;
+        if (patch == null || patchMethod == OrigamiPatchMethod.NONE || !transport.canPatch()) {
+            mode = MODE_FULL;
+            log.debug("Sending full parsed data for proposal {}", submissionProposalId);
+            sent = transport.put(submissionProposalId, OrigamiUpdateRequest.builder()
+                    .submissionProposalId(submissionProposalId)
+                    .parsedData(current)
+                    .build());
+        } else {
+            mode = MODE_PATCH;
+            log.debug("Sending merge patch with {} top-level change(s) for proposal {}", patch.size(), submissionProposalId);
+            sent = transport.patch(submissionProposalId, Map.of("parsedData", patch));
+        }
+
+        return sent.thenRun(() -> {
+            meterRegistry.counter("origami.updates", "mode", mode).increment();
+            OrigamiSyncState state = last.orElseGet(() -> OrigamiSyncState.builder()
+                    .submissionProposalId(submissionProposalId)
+                    .build());
+            state.setSentData(current);
+            state.setSentAt(LocalDateTime.now());
+            syncStateRepository.save(state);
+        });
+    }
+}
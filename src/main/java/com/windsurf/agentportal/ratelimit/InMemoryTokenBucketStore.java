@@ -0,0 +1,40 @@
+package com.windsurf.agentportal.ratelimit;
+
+import com.windsurf.agentportal.config.RateLimitProperties.Quota;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free, per-node token bucket store
+ * Each bucket is a single {@link AtomicLong} updated with compare-and-set; contended threads simply retry.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryTokenBucketStore implements TokenBucketStore {
+
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public long tryAcquire(String bucketKey, Quota quota) {
+        long interval = TokenBucketStore.emissionInterval(quota);
+        long burst = TokenBucketStore.burstTolerance(quota);
+        AtomicLong tat = buckets.computeIfAbsent(bucketKey, key -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long stored = tat.get();
+            long next = Math.max(stored, now) + interval;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(stored, next)) {
+                return 0;
+            }
+        }
+    }
+}
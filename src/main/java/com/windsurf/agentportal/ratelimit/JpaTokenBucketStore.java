@@ -0,0 +1,70 @@
+package com.windsurf.agentportal.ratelimit;
+
+import com.windsurf.agentportal.config.RateLimitProperties.Quota;
+import com.windsurf.agentportal.model.RateLimitBucket;
+import com.windsurf.agentportal.repository.RateLimitBucketRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Token bucket store shared by all nodes through the database
+ * Uses an optimistic compare-and-set update, so no row locks are held between requests.
+ * Arrival times are wall-clock based; nodes are expected to run with synchronized clocks.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "jpa")
+@RequiredArgsConstructor
+@Slf4j
+public class JpaTokenBucketStore implements TokenBucketStore {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final RateLimitBucketRepository repository;
+
+    @Override
+    public long tryAcquire(String bucketKey, Quota quota) {
+        long interval = TokenBucketStore.emissionInterval(quota);
+        long burst = TokenBucketStore.burstTolerance(quota);
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long now = epochNanos();
+            Optional<RateLimitBucket> bucket = repository.findById(bucketKey);
+
+            if (bucket.isEmpty()) {
+                try {
+                    repository.insert(bucketKey, now + interval);
+                    return 0;
+                } catch (DataIntegrityViolationException e) {
+                    // Another node created the bucket first; retry against its row
+                    continue;
+                }
+            }
+
+            long stored = bucket.get().getTheoreticalArrivalTime();
+            long next = Math.max(stored, now) + interval;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return wait;
+            }
+            if (repository.compareAndSet(bucketKey, stored, next) == 1) {
+                return 0;
+            }
+        }
+
+        // Heavy contention on one bucket: let the request through rather than failing closed
+        log.warn("Rate limit bucket {} contended after {} attempts, allowing request", bucketKey, MAX_ATTEMPTS);
+        return 0;
+    }
+
+    private static long epochNanos() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+}
@@ -0,0 +1,39 @@
+package com.windsurf.agentportal.ratelimit;
+
+import com.windsurf.agentportal.config.RateLimitProperties.Quota;
+
+/**
+ * Storage for token bucket state
+ * Implementations decide whether limits are enforced per node or shared across nodes.
+ * Buckets are tracked with the GCRA formulation: a single "theoretical arrival time" per key, so one
+ * atomic compare-and-set is enough to take a token.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Attempts to take one token from the bucket
+     *
+     * @param bucketKey Bucket identifier (usually the client id)
+     * @param quota Capacity and refill rate of the bucket
+     * @return 0 if a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    long tryAcquire(String bucketKey, Quota quota);
+
+    /**
+     * Nanoseconds between two tokens for a quota
+     * @param quota Bucket quota
+     * @return Emission interval in nanoseconds
+     */
+    static long emissionInterval(Quota quota) {
+        return (long) (1_000_000_000L / quota.getRefillPerSecond());
+    }
+
+    /**
+     * How far the theoretical arrival time may run ahead of the clock before requests are rejected
+     * @param quota Bucket quota
+     * @return Burst tolerance in nanoseconds
+     */
+    static long burstTolerance(Quota quota) {
+        return emissionInterval(quota) * quota.getCapacity();
+    }
+}
@@ -0,0 +1,37 @@
+package com.windsurf.agentportal.repository;
+
+import com.windsurf.agentportal.model.ArchivedSubmission;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for ArchivedSubmission entity
+ */
+@Repository
+public interface ArchivedSubmissionRepository extends CrudRepository<ArchivedSubmission, String> {
+    
+    /**
+     * Find the IDs of rows archived for periods before the given one
+     * @param period First period to keep (yyyy-MM)
+     * @param pageable Batch to return
+     * @return List of IDs, oldest period first
+     */
+    @Query("select a.id from ArchivedSubmission a where a.archivePeriod < :period order by a.archivePeriod")
+    List<String> findIdsByArchivePeriodBefore(@Param("period") String period, Pageable pageable);
+    
+    /**
+     * Delete archived rows by ID
+     * @param ids IDs
+     * @return Number of rows deleted
+     */
+    @Modifying
+    @Query("delete from ArchivedSubmission a where a.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<String> ids);
+}
@@ -1,9 +1,19 @@
 package com.windsurf.agentportal.repository;
 
+import com.windsurf.agentportal.cache.CacheRegions;
 import com.windsurf.agentportal.model.Notification;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,6 +27,10 @@ public interface NotificationRepository extends CrudRepository<Notification, Str
      * @param userId User ID
      * @return List of notifications
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.NOTIFICATION_QUERIES)
+    })
     List<Notification> findByUserId(String userId);
     
     /**
@@ -24,6 +38,10 @@ public interface NotificationRepository extends CrudRepository<Notification, Str
      * @param submissionId Submission ID
      * @return List of notifications
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.NOTIFICATION_QUERIES)
+    })
     List<Notification> findBySubmissionId(String submissionId);
     
     /**
@@ -31,5 +49,37 @@ public interface NotificationRepository extends CrudRepository<Notification, Str
      * @param userId User ID
      * @return List of unread notifications
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.NOTIFICATION_QUERIES)
+    })
     List<Notification> findByUserIdAndReadFalse(String userId);
+    
+    /**
+     * Find the IDs of read notifications older than the given time, oldest first
+     * @param cutoff Notifications timestamped before this are returned
+     * @param pageable Batch to return
+     * @return List of IDs
+     */
+    @Query("select n.id from Notification n where n.read = true and n.timestamp < :cutoff order by n.timestamp")
+    List<String> findReadIdsBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    /**
+     * Delete read notifications by ID; notifications marked unread since they were selected are kept
+     * @param ids Notification IDs
+     * @return Number of notifications deleted
+     */
+    @Modifying
+    @Query("delete from Notification n where n.id in :ids and n.read = true")
+    int deleteReadByIdIn(@Param("ids") Collection<String> ids);
+    
+    /**
+     * Find notifications due for archival, oldest first
+     * @param cutoff Notifications timestamped before this are due
+     * @param pageable Batch to return
+     * @return List of notifications
+     */
+    @Query("select n from Notification n where n.timestamp < :cutoff order by n.timestamp")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<Notification> findArchivable(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
 }
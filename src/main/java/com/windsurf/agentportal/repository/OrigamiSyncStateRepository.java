@@ -0,0 +1,26 @@
+package com.windsurf.agentportal.repository;
+
+import com.windsurf.agentportal.model.OrigamiSyncState;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Repository interface for OrigamiSyncState entity
+ */
+@Repository
+public interface OrigamiSyncStateRepository extends CrudRepository<OrigamiSyncState, String> {
+    
+    /**
+     * Delete the sync state of proposals
+     * @param submissionProposalIds Proposal IDs
+     * @return Number of rows deleted
+     */
+    @Modifying
+    @Query("delete from OrigamiSyncState o where o.submissionProposalId in :submissionProposalIds")
+    int deleteBySubmissionProposalIdIn(@Param("submissionProposalIds") Collection<String> submissionProposalIds);
+}
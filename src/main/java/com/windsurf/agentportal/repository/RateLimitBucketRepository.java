@@ -0,0 +1,44 @@
+package com.windsurf.agentportal.repository;
+
+import com.windsurf.agentportal.model.RateLimitBucket;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository interface for RateLimitBucket entity
+ */
+@Repository
+public interface RateLimitBucketRepository extends CrudRepository<RateLimitBucket, String> {
+
+    /**
+     * Creates a bucket; fails with a constraint violation if another node created it first
+     * (save() would merge into the other node's row instead)
+     * @param bucketKey Bucket key
+     * @param theoreticalArrivalTime Initial arrival time
+     * @return Number of rows inserted
+     */
+    @Transactional
+    @Modifying
+    @Query("insert into RateLimitBucket (bucketKey, theoreticalArrivalTime) values (:bucketKey, :theoreticalArrivalTime)")
+    int insert(@Param("bucketKey") String bucketKey,
+               @Param("theoreticalArrivalTime") long theoreticalArrivalTime);
+
+    /**
+     * Moves a bucket's arrival time only if nobody else changed it since it was read
+     * @param bucketKey Bucket key
+     * @param expected Arrival time that was read
+     * @param updated New arrival time
+     * @return Number of rows updated (0 when another node won the race)
+     */
+    @Transactional
+    @Modifying
+    @Query("update RateLimitBucket b set b.theoreticalArrivalTime = :updated "
+            + "where b.bucketKey = :bucketKey and b.theoreticalArrivalTime = :expected")
+    int compareAndSet(@Param("bucketKey") String bucketKey,
+                      @Param("expected") long expected,
+                      @Param("updated") long updated);
+}
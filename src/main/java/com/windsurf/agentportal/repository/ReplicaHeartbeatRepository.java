@@ -0,0 +1,38 @@
+package com.windsurf.agentportal.repository;
+
+import com.windsurf.agentportal.model.ReplicaHeartbeat;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for ReplicaHeartbeat entity
+ */
+@Repository
+public interface ReplicaHeartbeatRepository extends CrudRepository<ReplicaHeartbeat, Integer> {
+
+    /**
+     * Moves the heartbeat forward
+     * @param beatAt Time of the heartbeat
+     * @return Number of rows updated (0 until the heartbeat row exists)
+     */
+    @Transactional
+    @Modifying
+    @Query("update ReplicaHeartbeat h set h.beatAt = :beatAt where h.id = " + ReplicaHeartbeat.ID)
+    int beat(@Param("beatAt") LocalDateTime beatAt);
+
+    /**
+     * Creates the heartbeat row; fails with a constraint violation if another node created it first
+     * @param beatAt Time of the heartbeat
+     * @return Number of rows inserted
+     */
+    @Transactional
+    @Modifying
+    @Query("insert into ReplicaHeartbeat (id, beatAt) values (" + ReplicaHeartbeat.ID + ", :beatAt)")
+    int insert(@Param("beatAt") LocalDateTime beatAt);
+}
@@ -0,0 +1,26 @@
+package com.windsurf.agentportal.repository;
+
+import com.windsurf.agentportal.model.SubmissionFile;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Repository interface for SubmissionFile entity
+ */
+@Repository
+public interface SubmissionFileRepository extends CrudRepository<SubmissionFile, String> {
+    
+    /**
+     * Delete the spooled files of submissions
+     * @param submissionIds Submission IDs
+     * @return Number of files deleted
+     */
+    @Modifying
+    @Query("delete from SubmissionFile f where f.submissionId in :submissionIds")
+    int deleteBySubmissionIdIn(@Param("submissionIds") Collection<String> submissionIds);
+}
@@ -1,22 +1,47 @@
 package com.windsurf.agentportal.repository;
 
+import com.windsurf.agentportal.cache.CacheRegions;
+import com.windsurf.agentportal.dto.SubmissionExportRecord;
+import com.windsurf.agentportal.model.RootsAiAction;
 import com.windsurf.agentportal.model.Submission;
+import com.windsurf.agentportal.model.SubmissionStage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Submission entity
+ * The read API's finders are served from the query cache; lookups that must see other instances'
+ * writes (recovery, idempotency) go to the database.
  */
 @Repository
 public interface SubmissionRepository extends CrudRepository<Submission, String> {
     
+    /**
+     * Rows fetched per round trip by the export streams
+     */
+    int EXPORT_FETCH_SIZE = 500;
+    
     /**
      * Find submissions by user ID
      * @param userId User ID
      * @return List of submissions
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.SUBMISSION_QUERIES)
+    })
     List<Submission> findByUserId(String userId);
     
     /**
@@ -24,6 +49,10 @@ public interface SubmissionRepository extends CrudRepository<Submission, String>
      * @param agentId Agent ID
      * @return List of submissions
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.SUBMISSION_QUERIES)
+    })
     List<Submission> findByAgentId(String agentId);
     
     /**
@@ -31,5 +60,147 @@ public interface SubmissionRepository extends CrudRepository<Submission, String>
      * @param status Status
      * @return List of submissions
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.SUBMISSION_QUERIES)
+    })
     List<Submission> findByStatus(String status);
+    
+    /**
+     * Find the submissions to recover in the given partitions: SUSPENDED ones, and PROCESSING ones not
+     * updated since the cutoff, oldest update first
+     * Submissions without a partitionHash are returned whatever their partition; the caller filters them.
+     * @param suspended Status of submissions suspended by a draining instance
+     * @param processing Status of submissions in progress
+     * @param updatedBefore Cutoff time for submissions in progress
+     * @param partitionCount Number of partitions
+     * @param partitions Partitions to return submissions of
+     * @param pageable Page to return
+     * @return List of submissions
+     */
+    @Query("select s from Submission s where (s.status = :suspended "
+            + "or (s.status = :processing and s.updatedAt < :updatedBefore)) "
+            + "and (s.partitionHash is null or mod(s.partitionHash, :partitionCount) in :partitions) "
+            + "order by s.updatedAt")
+    List<Submission> findRecoverable(@Param("suspended") String suspended,
+                                     @Param("processing") String processing,
+                                     @Param("updatedBefore") LocalDateTime updatedBefore,
+                                     @Param("partitionCount") int partitionCount,
+                                     @Param("partitions") Collection<Integer> partitions,
+                                     Pageable pageable);
+    
+    /**
+     * Find a submission by its client-supplied idempotency key
+     * @param idempotencyKey Idempotency key
+     * @return Optional submission
+     */
+    Optional<Submission> findByIdempotencyKey(String idempotencyKey);
+    
+    /**
+     * Find submissions of the given partitions with the given Roots.ai action at a stage whose next attempt
+     * is due, oldest first
+     * Submissions without a partitionHash are returned whatever their partition; the caller filters them.
+     * @param rootsAiAction Roots.ai action
+     * @param stage Pipeline stage
+     * @param now Current time
+     * @param partitionCount Number of partitions
+     * @param partitions Partitions to return submissions of
+     * @param pageable Page to return
+     * @return List of submissions
+     */
+    @Query("select s from Submission s where s.rootsAiAction = :rootsAiAction and s.stage = :stage "
+            + "and (s.nextDeferredParseAt is null or s.nextDeferredParseAt <= :now) "
+            + "and (s.partitionHash is null or mod(s.partitionHash, :partitionCount) in :partitions) "
+            + "order by s.updatedAt")
+    List<Submission> findDeferredParsesDue(@Param("rootsAiAction") RootsAiAction rootsAiAction,
+                                           @Param("stage") SubmissionStage stage,
+                                           @Param("now") LocalDateTime now,
+                                           @Param("partitionCount") int partitionCount,
+                                           @Param("partitions") Collection<Integer> partitions,
+                                           Pageable pageable);
+    
+    /**
+     * Stream the export records matching the filters, without parsedData
+     * Rows are fetched from the driver in batches of {@link #EXPORT_FETCH_SIZE}; the stream must be
+     * consumed and closed inside a transaction.
+     * @param status Status, or null for any
+     * @param agentId Agent ID, or null for any
+     * @param from Earliest creation time (inclusive), or null
+     * @param to Latest creation time (exclusive), or null
+     * @return Stream of export records
+     */
+    @Query("select new com.windsurf.agentportal.dto.SubmissionExportRecord(s.id, s.emailId, s.userId, s.agentId, "
+            + "s.clientName, s.submissionProposalId, s.status, s.stage, s.attempts, s.rootsAiAction, s.createdAt, "
+            + "s.updatedAt) from Submission s "
+            + "where (:status is null or s.status = :status) "
+            + "and (:agentId is null or s.agentId = :agentId) "
+            + "and (:from is null or s.createdAt >= :from) "
+            + "and (:to is null or s.createdAt < :to)")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<SubmissionExportRecord> streamExportRecords(@Param("status") String status, @Param("agentId") String agentId,
+                                                       @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    /**
+     * Stream the submissions matching the filters, including parsedData
+     * Entities are read-only and bypass the second-level cache; callers detach each one once written.
+     * @param status Status, or null for any
+     * @param agentId Agent ID, or null for any
+     * @param from Earliest creation time (inclusive), or null
+     * @param to Latest creation time (exclusive), or null
+     * @return Stream of submissions
+     */
+    @Query("select s from Submission s "
+            + "where (:status is null or s.status = :status) "
+            + "and (:agentId is null or s.agentId = :agentId) "
+            + "and (:from is null or s.createdAt >= :from) "
+            + "and (:to is null or s.createdAt < :to)")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Submission> streamForExport(@Param("status") String status, @Param("agentId") String agentId,
+                                       @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    /**
+     * Count submissions per agent and status
+     * @return Rows of agentId, status, count
+     */
+    @Query("select s.agentId, s.status, count(s) from Submission s group by s.agentId, s.status")
+    List<Object[]> countByAgentAndStatus();
+    
+    /**
+     * Count submissions created per hour since the given time
+     * @param since Start of the first hour
+     * @return Rows of year, month, day, hour, count
+     */
+    @Query("select year(s.createdAt), month(s.createdAt), day(s.createdAt), hour(s.createdAt), count(s) "
+            + "from Submission s where s.createdAt >= :since "
+            + "group by year(s.createdAt), month(s.createdAt), day(s.createdAt), hour(s.createdAt)")
+    List<Object[]> countCreatedPerHourSince(@Param("since") LocalDateTime since);
+    
+    /**
+     * Stream the IDs of all submissions
+     * @return Stream of IDs; must be consumed and closed inside a transaction
+     */
+    @Query("select s.id from Submission s")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    Stream<String> streamIds();
+    
+    /**
+     * Find submissions due for archival, oldest first
+     * @param cutoff Submissions created before this are due
+     * @param statuses Statuses in which a submission is no longer processed
+     * @param pageable Batch to return
+     * @return List of submissions
+     */
+    @Query("select s from Submission s where s.createdAt < :cutoff and s.status in :statuses order by s.createdAt")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<Submission> findArchivable(@Param("cutoff") LocalDateTime cutoff,
+                                    @Param("statuses") Collection<String> statuses,
+                                    Pageable pageable);
 }
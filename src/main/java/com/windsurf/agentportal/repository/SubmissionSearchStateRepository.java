@@ -0,0 +1,43 @@
+package com.windsurf.agentportal.repository;
+
+import com.windsurf.agentportal.model.SubmissionSearchState;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for SubmissionSearchState entity
+ */
+@Repository
+public interface SubmissionSearchStateRepository extends CrudRepository<SubmissionSearchState, String> {
+    
+    /**
+     * Find submissions changed since they were last indexed, or never indexed
+     * @param pageable Number of IDs to return
+     * @return List of submission IDs
+     */
+    @Query("select s.id from Submission s where not exists (select 1 from SubmissionSearchState x "
+            + "where x.submissionId = s.id and x.indexedVersion = coalesce(s.version, 0))")
+    List<String> findOutdated(Pageable pageable);
+    
+    /**
+     * Find deleted or archived submissions that still have an index state
+     * @param pageable Number of IDs to return
+     * @return List of submission IDs
+     */
+    @Query("select x.submissionId from SubmissionSearchState x "
+            + "where not exists (select 1 from Submission s where s.id = x.submissionId)")
+    List<String> findOrphanedStates(Pageable pageable);
+    
+    /**
+     * Find index terms of deleted or archived submissions, for terms written before their state was recorded
+     * @param pageable Number of IDs to return
+     * @return List of submission IDs
+     */
+    @Query("select distinct t.submissionId from SubmissionSearchTerm t "
+            + "where not exists (select 1 from Submission s where s.id = t.submissionId)")
+    List<String> findOrphanedTerms(Pageable pageable);
+}
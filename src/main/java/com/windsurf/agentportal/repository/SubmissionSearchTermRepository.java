@@ -0,0 +1,56 @@
+package com.windsurf.agentportal.repository;
+
+import com.windsurf.agentportal.dto.SubmissionExportRecord;
+import com.windsurf.agentportal.model.SubmissionSearchTerm;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for SubmissionSearchTerm entity
+ */
+@Repository
+public interface SubmissionSearchTermRepository extends CrudRepository<SubmissionSearchTerm, String> {
+    
+    /**
+     * Find the index terms of a submission
+     * @param submissionId Submission ID
+     * @return List of terms
+     */
+    List<SubmissionSearchTerm> findBySubmissionId(String submissionId);
+    
+    /**
+     * Find submissions with a term equal to the given one, newest first
+     * @param field Field name
+     * @param term Normalized term
+     * @param pageable Page to return
+     * @return Slice of submissions, without parsedData
+     */
+    @Query("select new com.windsurf.agentportal.dto.SubmissionExportRecord(s.id, s.emailId, s.userId, s.agentId, "
+            + "s.clientName, s.submissionProposalId, s.status, s.stage, s.attempts, s.rootsAiAction, s.createdAt, "
+            + "s.updatedAt) from Submission s where s.id in ("
+            + "select t.submissionId from SubmissionSearchTerm t where t.field = :field and t.term = :term) "
+            + "order by s.createdAt desc, s.id")
+    Slice<SubmissionExportRecord> searchExact(@Param("field") String field, @Param("term") String term,
+                                              Pageable pageable);
+    
+    /**
+     * Find submissions with a term matching the given LIKE pattern, newest first
+     * @param field Field name
+     * @param pattern LIKE pattern with a fixed prefix, escaped with '!'
+     * @param pageable Page to return
+     * @return Slice of submissions, without parsedData
+     */
+    @Query("select new com.windsurf.agentportal.dto.SubmissionExportRecord(s.id, s.emailId, s.userId, s.agentId, "
+            + "s.clientName, s.submissionProposalId, s.status, s.stage, s.attempts, s.rootsAiAction, s.createdAt, "
+            + "s.updatedAt) from Submission s where s.id in ("
+            + "select t.submissionId from SubmissionSearchTerm t where t.field = :field and t.term like :pattern escape '!') "
+            + "order by s.createdAt desc, s.id")
+    Slice<SubmissionExportRecord> searchPrefix(@Param("field") String field, @Param("pattern") String pattern,
+                                               Pageable pageable);
+}
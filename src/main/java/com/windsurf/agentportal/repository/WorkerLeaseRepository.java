@@ -0,0 +1,104 @@
+package com.windsurf.agentportal.repository;
+
+import com.windsurf.agentportal.model.WorkerLease;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for WorkerLease entity
+ */
+@Repository
+public interface WorkerLeaseRepository extends CrudRepository<WorkerLease, String> {
+    
+    /**
+     * Find leases whose name starts with the given prefix
+     * @param prefix Name prefix, e.g. the job name followed by ':'
+     * @return List of leases
+     */
+    List<WorkerLease> findByNameStartingWith(String prefix);
+    
+    /**
+     * Count the unexpired leases whose name starts with the given prefix
+     * @param prefix Name prefix
+     * @param now Current time
+     * @return Number of unexpired leases
+     */
+    long countByNameStartingWithAndExpiresAtAfter(String prefix, LocalDateTime now);
+    
+    /**
+     * Creates a lease; fails with a constraint violation if another node created it first
+     * @param name Lease name
+     * @param owner Owner
+     * @param acquiredAt Time of creation
+     * @param expiresAt Expiry time
+     * @return Number of rows inserted
+     */
+    @Transactional
+    @Modifying
+    @Query("insert into WorkerLease (name, owner, token, acquiredAt, expiresAt) "
+            + "values (:name, :owner, 1, :acquiredAt, :expiresAt)")
+    int insert(@Param("name") String name,
+               @Param("owner") String owner,
+               @Param("acquiredAt") LocalDateTime acquiredAt,
+               @Param("expiresAt") LocalDateTime expiresAt);
+    
+    /**
+     * Takes over a lease only if nobody else took it since it was read, issuing the next token
+     * @param name Lease name
+     * @param expectedToken Token that was read
+     * @param owner New owner
+     * @param acquiredAt Time of the takeover
+     * @param expiresAt New expiry time
+     * @return Number of rows updated (0 when another node won the race)
+     */
+    @Transactional
+    @Modifying
+    @Query("update WorkerLease l set l.owner = :owner, l.token = l.token + 1, l.acquiredAt = :acquiredAt, "
+            + "l.expiresAt = :expiresAt where l.name = :name and l.token = :expectedToken")
+    int compareAndTake(@Param("name") String name,
+                       @Param("expectedToken") long expectedToken,
+                       @Param("owner") String owner,
+                       @Param("acquiredAt") LocalDateTime acquiredAt,
+                       @Param("expiresAt") LocalDateTime expiresAt);
+    
+    /**
+     * Extends a lease that is still held with the given token
+     * @param name Lease name
+     * @param owner Owner
+     * @param token Token of the lease
+     * @param expiresAt New expiry time
+     * @return Number of rows updated (0 when the lease was taken over)
+     */
+    @Transactional
+    @Modifying
+    @Query("update WorkerLease l set l.expiresAt = :expiresAt "
+            + "where l.name = :name and l.owner = :owner and l.token = :token")
+    int renew(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("token") long token,
+              @Param("expiresAt") LocalDateTime expiresAt);
+    
+    /**
+     * Confirms, inside the caller's transaction, that a lease is still held with the given token
+     * The update locks the lease row until the caller commits, so the lease cannot change hands
+     * while the caller's work is being committed.
+     * @param name Lease name
+     * @param owner Owner
+     * @param token Token of the lease
+     * @return Number of rows matched (0 when the lease was taken over)
+     */
+    @Transactional
+    @Modifying
+    @Query("update WorkerLease l set l.token = :token "
+            + "where l.name = :name and l.owner = :owner and l.token = :token")
+    int fence(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("token") long token);
+}
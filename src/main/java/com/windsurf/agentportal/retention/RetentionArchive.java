@@ -0,0 +1,286 @@
+package com.windsurf.agentportal.retention;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.windsurf.agentportal.config.RetentionProperties;
+import com.windsurf.agentportal.exception.InvalidRequestException;
+import com.windsurf.agentportal.exception.ResourceNotFoundException;
+import com.windsurf.agentportal.exception.SubmissionServiceException;
+import com.windsurf.agentportal.model.ArchivedNotification;
+import com.windsurf.agentportal.model.ArchivedSubmission;
+import com.windsurf.agentportal.model.Notification;
+import com.windsurf.agentportal.model.Submission;
+import com.windsurf.agentportal.repository.ArchivedNotificationRepository;
+import com.windsurf.agentportal.repository.ArchivedSubmissionRepository;
+import com.windsurf.agentportal.repository.NotificationRepository;
+import com.windsurf.agentportal.repository.OrigamiSyncStateRepository;
+import com.windsurf.agentportal.repository.SubmissionFileRepository;
+import com.windsurf.agentportal.repository.SubmissionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves submissions and notifications between the live tables and their archive tables
+ * Every batch runs in its own short transaction with a timeout of {@code app.retention.batch-timeout},
+ * so row locks are held for one batch at most. Submissions are deleted by entity, so a submission
+ * changed after it was selected fails its version check and the batch is retried on a later run.
+ */
+@Component
+@EnableConfigurationProperties(RetentionProperties.class)
+@Slf4j
+public class RetentionArchive {
+
+    /**
+     * Format of the archive partition key
+     */
+    public static final DateTimeFormatter PERIOD_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final SubmissionRepository submissionRepository;
+    private final NotificationRepository notificationRepository;
+    private final ArchivedSubmissionRepository archivedSubmissionRepository;
+    private final ArchivedNotificationRepository archivedNotificationRepository;
+    private final SubmissionFileRepository submissionFileRepository;
+    private final OrigamiSyncStateRepository origamiSyncStateRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate batchTransaction;
+    private final List<String> archivableStatuses;
+
+    public RetentionArchive(SubmissionRepository submissionRepository,
+                            NotificationRepository notificationRepository,
+                            ArchivedSubmissionRepository archivedSubmissionRepository,
+                            ArchivedNotificationRepository archivedNotificationRepository,
+                            SubmissionFileRepository submissionFileRepository,
+                            OrigamiSyncStateRepository origamiSyncStateRepository,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            RetentionProperties properties) {
+        this.submissionRepository = submissionRepository;
+        this.notificationRepository = notificationRepository;
+        this.archivedSubmissionRepository = archivedSubmissionRepository;
+        this.archivedNotificationRepository = archivedNotificationRepository;
+        this.submissionFileRepository = submissionFileRepository;
+        this.origamiSyncStateRepository = origamiSyncStateRepository;
+        this.objectMapper = objectMapper;
+        this.archivableStatuses = List.copyOf(properties.getSubmissions().getStatuses());
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchTransaction.setTimeout((int) Math.max(1, properties.getBatchTimeout().toSeconds()));
+    }
+
+    /**
+     * Archives one batch of finished submissions, with their spooled files and Origami sync state
+     *
+     * @param cutoff Submissions created before this are archived
+     * @param limit Largest number of submissions to archive
+     * @param fence Run inside the batch transaction before it commits; throws to roll the batch back
+     * @return Number of submissions archived
+     */
+    public int archiveSubmissions(LocalDateTime cutoff, int limit, Runnable fence) {
+        return batchTransaction.execute(status -> {
+            List<Submission> batch = submissionRepository.findArchivable(cutoff, archivableStatuses, PageRequest.of(0, limit));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            LocalDateTime archivedAt = LocalDateTime.now();
+            archivedSubmissionRepository.saveAll(batch.stream()
+                    .map(submission -> ArchivedSubmission.builder()
+                            .id(submission.getId())
+                            .archivePeriod(period(submission.getCreatedAt(), archivedAt))
+                            .userId(submission.getUserId())
+                            .agentId(submission.getAgentId())
+                            .status(submission.getStatus())
+                            .createdAt(submission.getCreatedAt())
+                            .archivedAt(archivedAt)
+                            .payload(encode(submission))
+                            .build())
+                    .toList());
+            submissionFileRepository.deleteBySubmissionIdIn(batch.stream().map(Submission::getId).toList());
+            List<String> proposalIds = batch.stream()
+                    .map(Submission::getSubmissionProposalId)
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (!proposalIds.isEmpty()) {
+                origamiSyncStateRepository.deleteBySubmissionProposalIdIn(proposalIds);
+            }
+            submissionRepository.deleteAll(batch);
+            fence.run();
+            return batch.size();
+        });
+    }
+
+    /**
+     * Archives one batch of old notifications, read or not
+     *
+     * @param cutoff Notifications timestamped before this are archived
+     * @param limit Largest number of notifications to archive
+     * @param fence Run inside the batch transaction before it commits; throws to roll the batch back
+     * @return Number of notifications archived
+     */
+    public int archiveNotifications(LocalDateTime cutoff, int limit, Runnable fence) {
+        return batchTransaction.execute(status -> {
+            List<Notification> batch = notificationRepository.findArchivable(cutoff, PageRequest.of(0, limit));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            LocalDateTime archivedAt = LocalDateTime.now();
+            archivedNotificationRepository.saveAll(batch.stream()
+                    .map(notification -> ArchivedNotification.builder()
+                            .id(notification.getId())
+                            .archivePeriod(period(notification.getTimestamp(), archivedAt))
+                            .userId(notification.getUserId())
+                            .submissionId(notification.getSubmissionId())
+                            .timestamp(notification.getTimestamp())
+                            .archivedAt(archivedAt)
+                            .payload(encode(notification))
+                            .build())
+                    .toList());
+            notificationRepository.deleteAll(batch);
+            fence.run();
+            return batch.size();
+        });
+    }
+
+    /**
+     * Deletes one batch of old read notifications without archiving them
+     *
+     * @param cutoff Read notifications timestamped before this are deleted
+     * @param limit Largest number of notifications to delete
+     * @param fence Run inside the batch transaction before it commits; throws to roll the batch back
+     * @return Number of notifications deleted
+     */
+    public int purgeReadNotifications(LocalDateTime cutoff, int limit, Runnable fence) {
+        return batchTransaction.execute(status -> {
+            List<String> ids = notificationRepository.findReadIdsBefore(cutoff, PageRequest.of(0, limit));
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            int deleted = notificationRepository.deleteReadByIdIn(ids);
+            fence.run();
+            return deleted;
+        });
+    }
+
+    /**
+     * Deletes one batch of archived submissions and notifications of periods before the given one
+     *
+     * @param period First period kept (yyyy-MM)
+     * @param limit Largest number of rows to delete from each archive table
+     * @param fence Run inside the batch transaction before it commits; throws to roll the batch back
+     * @return Number of archived rows deleted
+     */
+    public int expireArchives(String period, int limit, Runnable fence) {
+        return batchTransaction.execute(status -> {
+            int deleted = 0;
+            List<String> submissionIds = archivedSubmissionRepository.findIdsByArchivePeriodBefore(period, PageRequest.of(0, limit));
+            if (!submissionIds.isEmpty()) {
+                deleted += archivedSubmissionRepository.deleteByIdIn(submissionIds);
+            }
+            List<String> notificationIds = archivedNotificationRepository.findIdsByArchivePeriodBefore(period, PageRequest.of(0, limit));
+            if (!notificationIds.isEmpty()) {
+                deleted += archivedNotificationRepository.deleteByIdIn(notificationIds);
+            }
+            fence.run();
+            return deleted;
+        });
+    }
+
+    /**
+     * Reads an archived submission without restoring it
+     *
+     * @param id Submission ID
+     * @return Submission as it was when archived
+     */
+    @Transactional(readOnly = true)
+    public Submission findArchivedSubmission(String id) {
+        return decode(archivedSubmission(id).getPayload(), Submission.class);
+    }
+
+    /**
+     * Moves an archived submission back into the live table
+     * Its spooled file and Origami sync state are not restored: the submission is finished, and a later
+     * Origami update sends the full payload.
+     *
+     * @param id Submission ID
+     * @return Restored submission
+     */
+    @Transactional
+    public Submission restoreSubmission(String id) {
+        ArchivedSubmission archived = archivedSubmission(id);
+        if (submissionRepository.existsById(id)) {
+            throw new InvalidRequestException("Submission " + id + " is both archived and live, not restored");
+        }
+        Submission submission = decode(archived.getPayload(), Submission.class);
+        // Saved as a new row, with a fresh version
+        submission.setVersion(null);
+        archivedSubmissionRepository.delete(archived);
+        Submission restored = submissionRepository.save(submission);
+        log.info("Restored submission {} archived at {}", id, archived.getArchivedAt());
+        return restored;
+    }
+
+    /**
+     * Moves an archived notification back into the live table
+     *
+     * @param id Notification ID
+     * @return Restored notification
+     */
+    @Transactional
+    public Notification restoreNotification(String id) {
+        ArchivedNotification archived = archivedNotificationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No archived notification with id " + id));
+        if (notificationRepository.existsById(id)) {
+            throw new InvalidRequestException("Notification " + id + " is both archived and live, not restored");
+        }
+        Notification notification = decode(archived.getPayload(), Notification.class);
+        archivedNotificationRepository.delete(archived);
+        Notification restored = notificationRepository.save(notification);
+        log.info("Restored notification {} archived at {}", id, archived.getArchivedAt());
+        return restored;
+    }
+
+    private ArchivedSubmission archivedSubmission(String id) {
+        return archivedSubmissionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No archived submission with id " + id));
+    }
+
+    private static String period(LocalDateTime time, LocalDateTime fallback) {
+        return PERIOD_FORMAT.format(time != null ? time : fallback);
+    }
+
+    private byte[] encode(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, value);
+        } catch (IOException e) {
+            throw new SubmissionServiceException("Failed to archive " + value.getClass().getSimpleName() + ": "
+                    + e.getMessage(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private <T> T decode(byte[] payload, Class<T> type) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(in, type);
+        } catch (IOException e) {
+            throw new SubmissionServiceException("Unreadable archived " + type.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+}
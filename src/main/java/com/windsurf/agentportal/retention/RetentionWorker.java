@@ -0,0 +1,141 @@
+package com.windsurf.agentportal.retention;
+
+import com.windsurf.agentportal.config.RetentionProperties;
+import com.windsurf.agentportal.lease.Lease;
+import com.windsurf.agentportal.lease.LeaseLostException;
+import com.windsurf.agentportal.lease.LeaseManager;
+import com.windsurf.agentportal.lifecycle.SubmissionDrain;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Applies the retention policy of {@code app.retention} in batches
+ * Each run deletes old read notifications, archives old notifications and finished submissions, and
+ * expires archived rows of periods past {@code app.retention.archive-max-age}. A run stops after
+ * {@code max-run-time}, when this instance starts draining, or at the first failed batch; whatever is
+ * left is picked up by the next run. Only the instance holding the {@code retention} lease runs, and
+ * every batch is fenced with it, so a batch cannot commit once another instance has taken over.
+ */
+@Component
+@ConditionalOnProperty(name = "app.retention.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RetentionWorker {
+
+    private static final String JOB = "retention";
+
+    private final RetentionArchive retentionArchive;
+    private final RetentionProperties properties;
+    private final SubmissionDrain submissionDrain;
+    private final LeaseManager leaseManager;
+    private final MeterRegistry meterRegistry;
+
+    public RetentionWorker(RetentionArchive retentionArchive,
+                           RetentionProperties properties,
+                           SubmissionDrain submissionDrain,
+                           LeaseManager leaseManager,
+                           MeterRegistry meterRegistry) {
+        this.retentionArchive = retentionArchive;
+        this.properties = properties;
+        this.submissionDrain = submissionDrain;
+        this.leaseManager = leaseManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${app.retention.interval:PT1H}",
+            initialDelayString = "${app.retention.interval:PT1H}")
+    public void applyRetention() {
+        if (submissionDrain.isDraining()) {
+            return;
+        }
+        // Kept between runs and renewed by the lease heartbeat, so the job only moves when its holder stops
+        Optional<Lease> lease = leaseManager.tryAcquire(JOB);
+        if (lease.isEmpty()) {
+            return;
+        }
+        try {
+            applyRetention(lease.get());
+        } catch (LeaseLostException e) {
+            log.warn("Retention stopped: {}", e.getMessage());
+        }
+    }
+
+    private void applyRetention(Lease lease) {
+        Runnable fence = () -> leaseManager.fence(lease);
+        long deadline = System.nanoTime() + properties.getMaxRunTime().toNanos();
+        LocalDateTime now = LocalDateTime.now();
+        RetentionProperties.Notifications notifications = properties.getNotifications();
+        RetentionProperties.Submissions submissions = properties.getSubmissions();
+
+        long purged = runBatches("purge-read-notifications", deadline,
+                limit -> retentionArchive.purgeReadNotifications(now.minus(notifications.getReadMaxAge()), limit, fence));
+        long archivedNotifications = runBatches("archive-notifications", deadline,
+                limit -> retentionArchive.archiveNotifications(now.minus(notifications.getMaxAge()), limit, fence));
+        long archivedSubmissions = runBatches("archive-submissions", deadline,
+                limit -> retentionArchive.archiveSubmissions(now.minus(submissions.getMaxAge()), limit, fence));
+        long expired = 0;
+        if (properties.getArchiveMaxAge() != null) {
+            String firstKept = RetentionArchive.PERIOD_FORMAT.format(YearMonth.from(now.minus(properties.getArchiveMaxAge())));
+            expired = runBatches("expire-archives", deadline, limit -> retentionArchive.expireArchives(firstKept, limit, fence));
+        }
+
+        if (purged + archivedNotifications + archivedSubmissions + expired > 0) {
+            log.info("Retention: purged {} read notification(s), archived {} notification(s) and {} submission(s), "
+                    + "expired {} archived row(s)", purged, archivedNotifications, archivedSubmissions, expired);
+        }
+    }
+
+    private long runBatches(String operation, long deadline, IntUnaryOperator batch) {
+        Counter rows = Counter.builder("app.retention.rows")
+                .description("Rows archived, purged or expired by the retention worker")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Timer batches = Timer.builder("app.retention.batch")
+                .description("Duration of a retention batch transaction")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        int batchSize = properties.getBatchSize();
+        long total = 0;
+
+        while (System.nanoTime() < deadline && !submissionDrain.isDraining()) {
+            int done;
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                done = batch.applyAsInt(batchSize);
+            } catch (LeaseLostException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                log.warn("Retention batch {} failed, retrying on the next run: {}", operation, e.getMessage());
+                break;
+            } finally {
+                sample.stop(batches);
+            }
+            rows.increment(done);
+            total += done;
+            if (done < batchSize || !pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getBatchPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
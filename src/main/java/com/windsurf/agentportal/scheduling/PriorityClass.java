@@ -0,0 +1,31 @@
+package com.windsurf.agentportal.scheduling;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Scheduling classes for submission processing, highest priority first
+ */
+public enum PriorityClass {
+
+    /** Uploads an agent is waiting for */
+    INTERACTIVE,
+
+    /** Backfills and other batch uploads */
+    BULK;
+
+    /**
+     * @param value Class name in any case, may be null
+     * @return Matching class, or empty if the value is blank or unknown
+     */
+    public static Optional<PriorityClass> parse(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(valueOf(value.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.windsurf.agentportal.scheduling;
+
+import com.windsurf.agentportal.admission.RequestDeadline;
+import com.windsurf.agentportal.config.SchedulingProperties;
+import com.windsurf.agentportal.exception.ServiceUnavailableException;
+import com.windsurf.agentportal.exception.SubmissionServiceException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Orders submission processing by priority class and shares it fairly across agents
+ * Work is queued per {@link PriorityClass}; classes with queued work get processing slots in
+ * proportion to their weights (smooth weighted round robin), and within a class agents are served by
+ * a {@link WeightedFairQueue}. At most {@code app.scheduling.max-concurrent} tasks run at once on the
+ * {@code submissionExecutor}, which can be replaced by defining a bean with that name.
+ *
+ * {@link #execute} blocks the caller until its task has run; {@link #submit} returns the task's completion
+ * instead, so a request thread does not wait for its slot. The request deadline and MDC of the caller
+ * are carried over to the executor thread, and a task whose deadline has passed while queued is failed
+ * without being run.
+ *
+ * Once {@link #stopAccepting()} has been called new work is refused with
+ * {@link ServiceUnavailableException}; work already queued still runs unless it is cancelled with
+ * {@link #cancelQueued()}.
+ */
+@Component
+@Slf4j
+public class SubmissionScheduler {
+
+    private final SchedulingProperties properties;
+    private final Executor executor;
+    private final int maxConcurrent;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<PriorityClass, WeightedFairQueue<Task<?>>> queues = new EnumMap<>(PriorityClass.class);
+    private final Map<PriorityClass, Integer> currentWeights = new EnumMap<>(PriorityClass.class);
+    private final Map<PriorityClass, Timer> waitTimers = new EnumMap<>(PriorityClass.class);
+    private int running;
+    private boolean accepting = true;
+
+    public SubmissionScheduler(SchedulingProperties properties,
+                               @Qualifier("submissionExecutor") Executor executor,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.executor = executor;
+        this.maxConcurrent = Math.max(1, properties.getMaxConcurrent());
+        for (PriorityClass priorityClass : PriorityClass.values()) {
+            queues.put(priorityClass, new WeightedFairQueue<>());
+            currentWeights.put(priorityClass, 0);
+            String tag = priorityClass.name().toLowerCase();
+            waitTimers.put(priorityClass, Timer.builder("submission.queue.wait")
+                    .tag("class", tag)
+                    .description("Time submissions waited for a processing slot")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            Gauge.builder("submission.queue.depth", this, scheduler -> scheduler.queued(priorityClass))
+                    .tag("class", tag)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("submission.running", this, SubmissionScheduler::running).register(meterRegistry);
+    }
+
+    /**
+     * Resolves the class of a submission
+     * A client can lower the priority of its own submissions on the request, but not raise it above the
+     * class configured for it.
+     * @param requested Class named on the request, may be null
+     * @param clientId API client id, may be null
+     * @return Requested class capped at the client's configured class (INTERACTIVE if none)
+     */
+    public PriorityClass classify(String requested, String clientId) {
+        PriorityClass configured = clientId == null ? PriorityClass.INTERACTIVE
+                : properties.getClientClasses().getOrDefault(clientId, PriorityClass.INTERACTIVE);
+        return PriorityClass.parse(requested)
+                .filter(priorityClass -> priorityClass.compareTo(configured) > 0)
+                .orElse(configured);
+    }
+
+    /**
+     * Runs work once the scheduler grants it a slot and waits for the result
+     *
+     * @param priorityClass Class of the submission
+     * @param agentId Agent the submission belongs to (fair-share key), may be null
+     * @param work Work to run
+     * @return Result of the work
+     */
+    public <T> T execute(PriorityClass priorityClass, String agentId, Supplier<T> work) {
+        return executeAsync(priorityClass, agentId, () -> CompletableFuture.completedFuture(work.get()));
+    }
+
+    /**
+     * Like {@link #execute}, for work that completes asynchronously
+     * The slot is held until the returned future completes, not just while the supplier runs, so
+     * {@code max-concurrent} bounds the submissions in flight without parking an executor thread on each.
+     *
+     * @param priorityClass Class of the submission
+     * @param agentId Agent the submission belongs to (fair-share key), may be null
+     * @param work Starts the work and returns its completion
+     * @return Result of the work
+     */
+    public <T> T executeAsync(PriorityClass priorityClass, String agentId, Supplier<CompletableFuture<T>> work) {
+        Task<T> task = enqueue(priorityClass, agentId, work);
+        try {
+            return task.result.get();
+        } catch (InterruptedException e) {
+            cancel(task);
+            Thread.currentThread().interrupt();
+            throw new SubmissionServiceException("Interrupted while waiting for a processing slot", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new SubmissionServiceException("Submission processing failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Like {@link #executeAsync}, without waiting for the result
+     * Cancelling the returned future drops the work if it has not started yet.
+     *
+     * @param priorityClass Class of the submission
+     * @param agentId Agent the submission belongs to (fair-share key), may be null
+     * @param work Starts the work and returns its completion
+     * @return Completes with the result of the work, or with its failure unwrapped
+     */
+    public <T> CompletableFuture<T> submit(PriorityClass priorityClass, String agentId, Supplier<CompletableFuture<T>> work) {
+        return enqueue(priorityClass, agentId, work).result;
+    }
+
+    private <T> Task<T> enqueue(PriorityClass priorityClass, String agentId, Supplier<CompletableFuture<T>> work) {
+        Task<T> task = new Task<>(priorityClass, work, RequestDeadline.get(), MDC.getCopyOfContextMap());
+        String flow = agentId != null ? agentId : "";
+
+        lock.lock();
+        try {
+            if (!accepting) {
+                throw new ServiceUnavailableException("Service is shutting down", 1);
+            }
+            queues.get(priorityClass).add(flow, properties.weightOf(flow), task);
+        } finally {
+            lock.unlock();
+        }
+        dispatch();
+        return task;
+    }
+
+    /**
+     * Refuses any further work; used when the instance is draining for shutdown
+     */
+    public void stopAccepting() {
+        lock.lock();
+        try {
+            accepting = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fails every task that has not started yet, so its caller can retry on another instance
+     * @return Number of tasks cancelled
+     */
+    public int cancelQueued() {
+        List<Task<?>> cancelled = new ArrayList<>();
+        lock.lock();
+        try {
+            for (WeightedFairQueue<Task<?>> queue : queues.values()) {
+                Task<?> task;
+                while ((task = queue.poll()) != null) {
+                    cancelled.add(task);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Task<?> task : cancelled) {
+            task.result.completeExceptionally(new ServiceUnavailableException("Service is shutting down", 1));
+        }
+        return cancelled.size();
+    }
+
+    public int queued() {
+        lock.lock();
+        try {
+            int queued = 0;
+            for (WeightedFairQueue<Task<?>> queue : queues.values()) {
+                queued += queue.size();
+            }
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queued(PriorityClass priorityClass) {
+        lock.lock();
+        try {
+            return queues.get(priorityClass).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int running() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch() {
+        while (true) {
+            Task<?> next;
+            lock.lock();
+            try {
+                if (running >= maxConcurrent) {
+                    return;
+                }
+                next = pollNext();
+                if (next == null) {
+                    return;
+                }
+                running++;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                executor.execute(() -> run(next));
+            } catch (RejectedExecutionException e) {
+                finished();
+                next.result.completeExceptionally(new SubmissionServiceException("Submission executor rejected the task", e));
+            }
+        }
+    }
+
+    /**
+     * Smooth weighted round robin over the classes that have queued work
+     */
+    private Task<?> pollNext() {
+        PriorityClass selected = null;
+        int total = 0;
+        for (PriorityClass priorityClass : PriorityClass.values()) {
+            if (queues.get(priorityClass).isEmpty()) {
+                continue;
+            }
+            int weight = properties.weightOf(priorityClass);
+            total += weight;
+            currentWeights.merge(priorityClass, weight, Integer::sum);
+            if (selected == null || currentWeights.get(priorityClass) > currentWeights.get(selected)) {
+                selected = priorityClass;
+            }
+        }
+        if (selected == null) {
+            return null;
+        }
+        currentWeights.merge(selected, -total, Integer::sum);
+        return queues.get(selected).poll();
+    }
+
+    private void run(Task<?> task) {
+        CompletableFuture<?> done;
+        try {
+            waitTimers.get(task.priorityClass).record(System.nanoTime() - task.enqueuedAt, TimeUnit.NANOSECONDS);
+            done = task.run();
+        } catch (RuntimeException e) {
+            done = CompletableFuture.completedFuture(null);
+        }
+        done.whenComplete((result, failure) -> {
+            finished();
+            dispatch();
+        });
+    }
+
+    private void finished() {
+        lock.lock();
+        try {
+            running--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cancel(Task<?> task) {
+        lock.lock();
+        try {
+            queues.get(task.priorityClass).remove(task);
+        } finally {
+            lock.unlock();
+        }
+        task.result.cancel(false);
+    }
+
+    private static final class Task<T> {
+
+        private final PriorityClass priorityClass;
+        private final Supplier<CompletableFuture<T>> work;
+        private final Long deadline;
+        private final Map<String, String> mdc;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Task(PriorityClass priorityClass, Supplier<CompletableFuture<T>> work, Long deadline,
+                     Map<String, String> mdc) {
+            this.priorityClass = priorityClass;
+            this.work = work;
+            this.deadline = deadline;
+            this.mdc = mdc;
+        }
+
+        /**
+         * @return Completes when the work itself has finished, even if the caller stopped waiting
+         */
+        private CompletableFuture<?> run() {
+            if (result.isDone()) {
+                return result;
+            }
+            if (deadline != null && System.nanoTime() > deadline) {
+                result.completeExceptionally(new ServiceUnavailableException("Request deadline passed while queued", 1));
+                return result;
+            }
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            Long previousDeadline = RequestDeadline.get();
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            RequestDeadline.set(deadline);
+            try {
+                CompletableFuture<T> completion = work.get();
+                completion.whenComplete((value, failure) -> {
+                    if (failure != null) {
+                        result.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null
+                                ? failure.getCause() : failure);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+                return completion;
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return result;
+            } finally {
+                RequestDeadline.set(previousDeadline);
+                if (previousMdc != null) {
+                    MDC.setContextMap(previousMdc);
+                } else {
+                    MDC.clear();
+                }
+            }
+        }
+    }
+}
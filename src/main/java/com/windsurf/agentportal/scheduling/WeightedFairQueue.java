@@ -0,0 +1,67 @@
+package com.windsurf.agentportal.scheduling;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Weighted fair queue across flows (agents)
+ * Every item is tagged with a virtual start and finish time: it starts when its flow's previous item
+ * finishes (or at the current virtual time if the flow was idle) and lasts 1/weight. Items are served in
+ * finish-tag order, and the virtual time advances to the start tag of the item served, so a flow with
+ * many queued items cannot delay flows with few, and a flow of weight 2 gets twice the share of a flow
+ * of weight 1. Flows whose last item finished before the virtual time are forgotten. Not thread-safe.
+ *
+ * @param <T> Item type
+ */
+final class WeightedFairQueue<T> {
+
+    private final PriorityQueue<Entry<T>> queue = new PriorityQueue<>();
+    private final Map<String, Double> lastFinish = new HashMap<>();
+    private double virtualTime;
+    private long sequence;
+
+    void add(String flow, double weight, T item) {
+        double start = Math.max(virtualTime, lastFinish.getOrDefault(flow, 0d));
+        double finish = start + 1 / weight;
+        lastFinish.put(flow, finish);
+        queue.add(new Entry<>(start, finish, sequence++, item));
+    }
+
+    T poll() {
+        Entry<T> entry = queue.poll();
+        if (entry == null) {
+            return null;
+        }
+        virtualTime = entry.start;
+        // A flow whose last finish tag has been passed would start at the virtual time anyway
+        lastFinish.values().removeIf(finish -> finish <= virtualTime);
+        if (queue.isEmpty()) {
+            // Idle: no flow has a backlog to account for
+            lastFinish.clear();
+            virtualTime = 0;
+        }
+        return entry.item;
+    }
+
+    boolean remove(T item) {
+        return queue.removeIf(entry -> entry.item == item);
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    private record Entry<T>(double start, double finish, long sequence, T item) implements Comparable<Entry<T>> {
+
+        @Override
+        public int compareTo(Entry<T> other) {
+            int byFinish = Double.compare(finish, other.finish);
+            return byFinish != 0 ? byFinish : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.windsurf.agentportal.search;
+
+import com.windsurf.agentportal.config.SearchIndexProperties;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Flattens the configured parsedData paths into normalized search terms
+ */
+final class SearchTerms {
+
+    private SearchTerms() {
+    }
+
+    /**
+     * Term of a field as stored in the index
+     *
+     * @param field Field name
+     * @param term Normalized value
+     */
+    record Term(String field, String term) {
+    }
+
+    /**
+     * @param properties Search index configuration
+     * @param parsedData Submission parsedData, may be null
+     * @return Distinct terms of every configured field
+     */
+    static Set<Term> of(SearchIndexProperties properties, Map<String, Object> parsedData) {
+        Set<Term> terms = new LinkedHashSet<>();
+        if (parsedData == null) {
+            return terms;
+        }
+        properties.getFields().forEach((field, config) -> {
+            for (String path : config.getPaths()) {
+                collect(parsedData, path.split("\\."), 0, value -> {
+                    String term = normalize(config.getNormalizer(), value, properties.getMaxTermLength());
+                    if (!term.isEmpty()) {
+                        terms.add(new Term(field, term));
+                    }
+                });
+            }
+        });
+        return terms;
+    }
+
+    /**
+     * Normalizes a value the way the index stores it
+     *
+     * @param normalizer Normalizer of the field
+     * @param value Raw value
+     * @param maxLength Longest term kept
+     * @return Normalized value, empty if nothing is left
+     */
+    static String normalize(SearchIndexProperties.Normalizer normalizer, String value, int maxLength) {
+        String normalized = switch (normalizer) {
+            case TEXT -> value.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            case DIGITS -> value.replaceAll("\\D", "");
+        };
+        return normalized.length() > maxLength ? normalized.substring(0, maxLength) : normalized;
+    }
+
+    private static void collect(Object node, String[] path, int depth, Consumer<String> values) {
+        if (node == null) {
+            return;
+        }
+        if (node instanceof Collection<?> elements) {
+            for (Object element : elements) {
+                collect(element, path, depth, values);
+            }
+            return;
+        }
+        if (depth == path.length) {
+            if (node instanceof String || node instanceof Number || node instanceof Boolean) {
+                values.accept(node.toString());
+            }
+            return;
+        }
+        if (node instanceof Map<?, ?> map) {
+            collect(map.get(path[depth]), path, depth + 1, values);
+        }
+    }
+}
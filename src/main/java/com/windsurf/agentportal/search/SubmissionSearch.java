@@ -0,0 +1,85 @@
+package com.windsurf.agentportal.search;
+
+import com.windsurf.agentportal.config.SearchIndexProperties;
+import com.windsurf.agentportal.dto.SubmissionExportRecord;
+import com.windsurf.agentportal.dto.SubmissionSearchResponse;
+import com.windsurf.agentportal.exception.InvalidRequestException;
+import com.windsurf.agentportal.repository.SubmissionSearchTermRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Searches submissions by the parsedData fields indexed by {@link SubmissionSearchIndexer}
+ */
+@Service
+@RequiredArgsConstructor
+public class SubmissionSearch {
+
+    public static final String MODE_PREFIX = "prefix";
+    public static final String MODE_EXACT = "exact";
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final SearchIndexProperties properties;
+    private final SubmissionSearchTermRepository termRepository;
+
+    /**
+     * @param field Indexed field name
+     * @param query Value to match, normalized like the indexed values
+     * @param mode {@link #MODE_PREFIX} or {@link #MODE_EXACT}
+     * @param page Zero-based page number
+     * @param size Page size, at most {@link #MAX_PAGE_SIZE}
+     * @return Page of matching submissions, newest first
+     */
+    @Transactional(readOnly = true)
+    public SubmissionSearchResponse search(String field, String query, String mode, int page, int size) {
+        if (!properties.isEnabled()) {
+            throw new InvalidRequestException("Submission search is disabled");
+        }
+        SearchIndexProperties.Field config = properties.getFields().get(field);
+        if (config == null) {
+            throw new InvalidRequestException("Unknown search field '" + field + "', expected one of "
+                    + properties.getFields().keySet());
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        String term = SearchTerms.normalize(config.getNormalizer(), query == null ? "" : query,
+                properties.getMaxTermLength());
+
+        PageRequest pageRequest = PageRequest.of(page, size);
+        Slice<SubmissionExportRecord> results;
+        if (MODE_EXACT.equals(mode)) {
+            if (term.isEmpty()) {
+                throw new InvalidRequestException("q must not be empty");
+            }
+            results = termRepository.searchExact(field, term, pageRequest);
+        } else if (MODE_PREFIX.equals(mode)) {
+            if (term.length() < properties.getMinPrefixLength()) {
+                throw new InvalidRequestException("A prefix search needs at least "
+                        + properties.getMinPrefixLength() + " characters");
+            }
+            results = termRepository.searchPrefix(field, escapeLike(term) + "%", pageRequest);
+        } else {
+            throw new InvalidRequestException("Unknown search mode '" + mode + "', expected "
+                    + MODE_PREFIX + " or " + MODE_EXACT);
+        }
+
+        return SubmissionSearchResponse.builder()
+                .field(field)
+                .query(term)
+                .mode(mode)
+                .page(page)
+                .size(size)
+                .hasNext(results.hasNext())
+                .results(results.getContent())
+                .build();
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,103 @@
+package com.windsurf.agentportal.search;
+
+import com.windsurf.agentportal.model.Submission;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Queues submissions for reindexing once a change to their parsedData has committed
+ */
+@Component
+class SubmissionSearchEventListener
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final SubmissionSearchIndexer indexer;
+
+    SubmissionSearchEventListener(EntityManagerFactory entityManagerFactory, SubmissionSearchIndexer indexer) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.indexer = indexer;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Submission.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Submission submission && !isEmpty(submission.getParsedData())) {
+            indexer.submit(submission.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Submission submission && parsedDataChanged(event)) {
+            indexer.submit(submission.getId());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Submission submission) {
+            indexer.submit(submission.getId());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Not committed, nothing to index
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Not committed, nothing to index
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Not committed, nothing to index
+    }
+
+    private static boolean parsedDataChanged(PostUpdateEvent event) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            return true;
+        }
+        int parsedData = event.getPersister().getEntityMetamodel().getPropertyIndex("parsedData");
+        for (int property : dirty) {
+            if (property == parsedData) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEmpty(Map<String, Object> parsedData) {
+        return parsedData == null || parsedData.isEmpty();
+    }
+}
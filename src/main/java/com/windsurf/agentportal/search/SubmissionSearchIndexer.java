@@ -0,0 +1,188 @@
+package com.windsurf.agentportal.search;
+
+import com.windsurf.agentportal.config.SearchIndexProperties;
+import com.windsurf.agentportal.model.Submission;
+import com.windsurf.agentportal.model.SubmissionSearchState;
+import com.windsurf.agentportal.model.SubmissionSearchTerm;
+import com.windsurf.agentportal.repository.SubmissionRepository;
+import com.windsurf.agentportal.repository.SubmissionSearchStateRepository;
+import com.windsurf.agentportal.repository.SubmissionSearchTermRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the {@link SubmissionSearchTerm} rows of each submission in line with its parsedData
+ * Changed submissions are queued by id and reindexed one at a time on a background thread, reading the
+ * submission's current parsedData; repeated changes to a submission that is still queued are merged.
+ * Only terms that were added or removed are written, together with the {@link SubmissionSearchState}
+ * recording the version indexed. The queue is not durable: changes lost with it (full queue, crash,
+ * restart) are found from that state by {@link SubmissionSearchSweeper}.
+ */
+@Component
+@EnableConfigurationProperties(SearchIndexProperties.class)
+@Slf4j
+public class SubmissionSearchIndexer implements DisposableBean {
+
+    private final SearchIndexProperties properties;
+    private final SubmissionRepository submissionRepository;
+    private final SubmissionSearchTermRepository termRepository;
+    private final SubmissionSearchStateRepository stateRepository;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor;
+    private final Counter dropped;
+
+    public SubmissionSearchIndexer(SearchIndexProperties properties,
+                                   SubmissionRepository submissionRepository,
+                                   SubmissionSearchTermRepository termRepository,
+                                   SubmissionSearchStateRepository stateRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.submissionRepository = submissionRepository;
+        this.termRepository = termRepository;
+        this.stateRepository = stateRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(properties.getQueueCapacity()), new CustomizableThreadFactory("search-indexer-"));
+        this.dropped = Counter.builder("app.search.index.dropped")
+                .description("Submission changes not indexed because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("app.search.index.pending", pending, Set::size)
+                .description("Submissions waiting to be reindexed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a submission for reindexing
+     *
+     * @param submissionId Submission whose parsedData changed, or that was deleted
+     */
+    public void submit(String submissionId) {
+        if (!properties.isEnabled() || !pending.add(submissionId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                pending.remove(submissionId);
+                try {
+                    reindex(submissionId);
+                } catch (RuntimeException e) {
+                    log.warn("Unable to index submission {}: {}", submissionId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(submissionId);
+            dropped.increment();
+            log.warn("Search index queue full, submission {} left to the next sweep", submissionId);
+        }
+    }
+
+    /**
+     * @return Whether the reindex queue can take more submissions
+     */
+    public boolean hasCapacity() {
+        return executor.getQueue().remainingCapacity() > 0;
+    }
+
+    /**
+     * Brings the terms of one submission in line with its current parsedData
+     *
+     * @param submissionId Submission ID
+     */
+    public void reindex(String submissionId) {
+        writeTransaction.executeWithoutResult(status -> {
+            Optional<Submission> submission = submissionRepository.findById(submissionId);
+            Set<SearchTerms.Term> wanted = SearchTerms.of(properties, submission.map(Submission::getParsedData).orElse(null));
+
+            List<SubmissionSearchTerm> stale = new ArrayList<>();
+            for (SubmissionSearchTerm existing : termRepository.findBySubmissionId(submissionId)) {
+                if (!wanted.remove(new SearchTerms.Term(existing.getField(), existing.getTerm()))) {
+                    stale.add(existing);
+                }
+            }
+            termRepository.deleteAll(stale);
+            termRepository.saveAll(wanted.stream()
+                    .map(term -> SubmissionSearchTerm.builder()
+                            .id(UUID.randomUUID().toString())
+                            .submissionId(submissionId)
+                            .field(term.field())
+                            .term(term.term())
+                            .build())
+                    .toList());
+
+            if (submission.isPresent()) {
+                Long version = submission.get().getVersion();
+                stateRepository.save(SubmissionSearchState.builder()
+                        .submissionId(submissionId)
+                        .indexedVersion(version != null ? version : 0L)
+                        .indexedAt(LocalDateTime.now())
+                        .build());
+            } else if (stateRepository.existsById(submissionId)) {
+                stateRepository.deleteById(submissionId);
+            }
+        });
+    }
+
+    /**
+     * Reindexes every submission, for instance after the indexed fields were changed
+     *
+     * @return Number of submissions reindexed
+     */
+    public long rebuild() {
+        log.info("Rebuilding the submission search index");
+        long count = readTransaction.execute(status -> {
+            long reindexed = 0;
+            try (Stream<String> ids = submissionRepository.streamIds()) {
+                for (String id : (Iterable<String>) ids::iterator) {
+                    reindex(id);
+                    reindexed++;
+                }
+            }
+            return reindexed;
+        });
+        log.info("Submission search index rebuilt for {} submission(s)", count);
+        return count;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void rebuildOnStartup() {
+        if (properties.isEnabled() && properties.isRebuildOnStartup()) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,77 @@
+package com.windsurf.agentportal.search;
+
+import com.windsurf.agentportal.config.SearchIndexProperties;
+import com.windsurf.agentportal.lease.Lease;
+import com.windsurf.agentportal.lease.LeaseManager;
+import com.windsurf.agentportal.repository.SubmissionSearchStateRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Queues submissions whose search index is behind the database
+ * A submission is behind when its version differs from the one recorded in its {@link
+ * com.windsurf.agentportal.model.SubmissionSearchState}, or when it is gone (deleted, archived) but still has
+ * terms or a state. Any change to the row counts, as the version does not say which columns changed;
+ * reindexing a submission whose parsedData did not change writes no terms. Only the instance holding the
+ * {@code search-index-sweep} lease sweeps.
+ */
+@Component
+@Slf4j
+public class SubmissionSearchSweeper {
+
+    private static final String JOB = "search-index-sweep";
+
+    private final SearchIndexProperties properties;
+    private final SubmissionSearchIndexer indexer;
+    private final SubmissionSearchStateRepository stateRepository;
+    private final LeaseManager leaseManager;
+    private final Counter swept;
+
+    public SubmissionSearchSweeper(SearchIndexProperties properties,
+                                   SubmissionSearchIndexer indexer,
+                                   SubmissionSearchStateRepository stateRepository,
+                                   LeaseManager leaseManager,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.indexer = indexer;
+        this.stateRepository = stateRepository;
+        this.leaseManager = leaseManager;
+        this.swept = Counter.builder("app.search.index.swept")
+                .description("Submissions queued for reindexing by the sweep because their index was behind")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.sweep-interval:PT5M}",
+            initialDelayString = "${app.search.sweep-interval:PT5M}")
+    public void sweep() {
+        if (!properties.isEnabled() || !indexer.hasCapacity()) {
+            return;
+        }
+        Optional<Lease> lease = leaseManager.tryAcquire(JOB);
+        if (lease.isEmpty()) {
+            return;
+        }
+
+        Pageable batch = Pageable.ofSize(properties.getSweepBatchSize());
+        Set<String> behind = new LinkedHashSet<>(stateRepository.findOrphanedTerms(batch));
+        behind.addAll(stateRepository.findOrphanedStates(batch));
+        behind.addAll(stateRepository.findOutdated(batch));
+        if (behind.isEmpty()) {
+            return;
+        }
+        log.info("Search index behind for {} submission(s), queueing them", behind.size());
+        for (String submissionId : behind) {
+            indexer.submit(submissionId);
+        }
+        swept.increment(behind.size());
+    }
+}
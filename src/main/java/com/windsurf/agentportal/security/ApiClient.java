@@ -0,0 +1,24 @@
+package com.windsurf.agentportal.security;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Identity of a caller resolved from its API key
+ * Exposed to downstream filters (rate limiting, metrics) as a request attribute
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public final class ApiClient {
+
+    /**
+     * Request attribute under which the resolved client is stored
+     */
+    public static final String REQUEST_ATTRIBUTE = ApiClient.class.getName();
+
+    private final String id;
+}
@@ -0,0 +1,202 @@
+package com.windsurf.agentportal.security;
+
+import com.windsurf.agentportal.config.ApiKeyProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Registry of API keys for all known clients
+ * Only SHA-256 digests of the keys are held in memory. A presented key is hashed once and compared
+ * against every registered digest with {@link MessageDigest#isEqual}, so the time taken does not depend
+ * on which key (if any) matches or on how many leading bytes agree.
+ * The key set is rebuilt when {@code app.security.*} properties change (refresh events) or when the
+ * optional keys file is modified.
+ */
+@Component
+@Slf4j
+public class ApiKeyRegistry {
+
+    private static final String DIGEST_PREFIX = "sha256:";
+    private static final int DIGEST_HEX_LENGTH = 64;
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(ApiKeyRegistry::newDigest);
+
+    private final Environment environment;
+
+    private volatile Entry[] entries = new Entry[0];
+    private volatile FileTime keysFileModified;
+
+    public ApiKeyRegistry(Environment environment) {
+        this.environment = environment;
+        reload();
+    }
+
+    /**
+     * Resolves the client owning the presented key
+     * @param presentedKey Raw key from the request header
+     * @return Client identity, or empty if the key is missing or unknown
+     */
+    public Optional<ApiClient> resolve(String presentedKey) {
+        if (!StringUtils.hasLength(presentedKey)) {
+            return Optional.empty();
+        }
+        byte[] digest = digest(presentedKey);
+
+        // No early exit: every entry is compared so timing is independent of the match position
+        ApiClient match = null;
+        for (Entry entry : entries) {
+            if (MessageDigest.isEqual(entry.digest, digest)) {
+                match = entry.client;
+            }
+        }
+        return Optional.ofNullable(match);
+    }
+
+    /**
+     * @return Number of registered keys
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Rebuilds the key set from the current environment and keys file
+     */
+    public synchronized void reload() {
+        ApiKeyProperties properties = Binder.get(environment)
+                .bind(ApiKeyProperties.PREFIX, ApiKeyProperties.class)
+                .orElseGet(ApiKeyProperties::new);
+
+        Map<String, String> keys = new LinkedHashMap<>();
+        if (StringUtils.hasText(properties.getApiKey())) {
+            keys.put(ApiKeyProperties.DEFAULT_CLIENT_ID, properties.getApiKey());
+        }
+        keys.putAll(properties.getApiKeys());
+        keys.putAll(readKeysFile(properties.getKeysFile()));
+
+        List<Entry> loaded = new ArrayList<>(keys.size());
+        keys.forEach((clientId, key) -> {
+            if (!StringUtils.hasText(key)) {
+                return;
+            }
+            byte[] digest = toDigest(key.trim());
+            if (digest == null) {
+                // The value itself is not logged, it may be a plain key
+                log.error("Ignoring API key of client {}: '{}' must be followed by 64 hex digits",
+                        clientId, DIGEST_PREFIX);
+                return;
+            }
+            loaded.add(new Entry(new ApiClient(clientId), digest));
+        });
+        entries = loaded.toArray(new Entry[0]);
+
+        if (loaded.isEmpty()) {
+            log.warn("No API keys configured - all protected endpoints will reject requests");
+        } else {
+            log.info("Loaded {} API key(s) for clients: {}", loaded.size(),
+                    loaded.stream().map(entry -> entry.client().getId()).toList());
+        }
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().anyMatch(key -> key.startsWith(ApiKeyProperties.PREFIX))) {
+            log.info("API key configuration changed, reloading");
+            reload();
+        }
+    }
+
+    /**
+     * Reloads the registry when the keys file has been modified since the last load
+     */
+    @Scheduled(fixedDelayString = "${app.security.reload-interval:PT30S}")
+    public void reloadIfKeysFileChanged() {
+        String keysFile = environment.getProperty(ApiKeyProperties.PREFIX + ".keys-file");
+        if (!StringUtils.hasText(keysFile)) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(Path.of(keysFile));
+            if (!modified.equals(keysFileModified)) {
+                log.info("API keys file {} changed, reloading", keysFile);
+                reload();
+            }
+        } catch (IOException e) {
+            log.warn("Unable to check API keys file {}: {}", keysFile, e.getMessage());
+        }
+    }
+
+    private Map<String, String> readKeysFile(String keysFile) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        if (!StringUtils.hasText(keysFile)) {
+            return keys;
+        }
+        Path path = Path.of(keysFile);
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            properties.stringPropertyNames().forEach(name -> keys.put(name, properties.getProperty(name)));
+            keysFileModified = Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            log.error("Failed to read API keys file {}: {}", keysFile, e.getMessage());
+        }
+        return keys;
+    }
+
+    /**
+     * @return SHA-256 digest of the key, or null if it is given as a malformed digest
+     */
+    private static byte[] toDigest(String configuredKey) {
+        if (configuredKey.regionMatches(true, 0, DIGEST_PREFIX, 0, DIGEST_PREFIX.length())) {
+            String hex = configuredKey.substring(DIGEST_PREFIX.length()).trim();
+            if (hex.length() != DIGEST_HEX_LENGTH) {
+                return null;
+            }
+            try {
+                return HexFormat.of().parseHex(hex);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return digest(configuredKey);
+    }
+
+    private static byte[] digest(String key) {
+        MessageDigest sha256 = SHA_256.get();
+        sha256.reset();
+        return sha256.digest(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(ApiClient client, byte[] digest) {
+    }
+}
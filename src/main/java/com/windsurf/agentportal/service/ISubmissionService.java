@@ -8,6 +8,7 @@ import com.windsurf.agentportal.service.base.BaseService;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for managing submissions
@@ -23,6 +24,23 @@ public interface ISubmissionService extends BaseService<Submission, String> {
      */
     SubmissionResponse processSubmission(SubmissionRequest request, MultipartFile acordFile);
     
+    /**
+     * Process a new submission with ACORD file, completing when processing has finished
+     * Implementations that call upstreams without blocking return before the submission completes;
+     * the default runs {@link #processSubmission} on the calling thread.
+     *
+     * @param request Submission request with required parameters
+     * @param acordFile ACORD file to be processed
+     * @return Completes with the submission response, or exceptionally with the processing failure
+     */
+    default CompletableFuture<SubmissionResponse> processSubmissionAsync(SubmissionRequest request, MultipartFile acordFile) {
+        try {
+            return CompletableFuture.completedFuture(processSubmission(request, acordFile));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
     /**
      * Get submissions by user ID
      * @param userId User ID
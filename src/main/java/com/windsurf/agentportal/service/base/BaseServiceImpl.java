@@ -2,6 +2,7 @@ package com.windsurf.agentportal.service.base;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -9,6 +10,7 @@ import java.util.Optional;
 
 /**
  * Base service implementation that provides common CRUD operations
+ * Finders run in read-only transactions, which go to the read replica when one is configured.
  * @param <T> Entity type
  * @param <ID> Entity ID type
  * @param <R> Repository type
@@ -34,11 +36,13 @@ public abstract class BaseServiceImpl<T, ID, R extends CrudRepository<T, ID>> im
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Optional<T> findById(ID id) {
         return repository.findById(id);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<T> findAll() {
         List<T> entities = new ArrayList<>();
         repository.findAll().forEach(entities::add);
@@ -46,6 +50,7 @@ public abstract class BaseServiceImpl<T, ID, R extends CrudRepository<T, ID>> im
     }
     
     @Override
+    @Transactional(readOnly = true)
     public long count() {
         return repository.count();
     }
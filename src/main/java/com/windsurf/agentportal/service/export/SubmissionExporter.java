@@ -0,0 +1,98 @@
+package com.windsurf.agentportal.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.windsurf.agentportal.dto.SubmissionExportRecord;
+import com.windsurf.agentportal.model.Submission;
+import com.windsurf.agentportal.repository.SubmissionRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes submissions as newline-delimited JSON while they are read
+ * Rows come from a database cursor and are written and released one at a time, so memory use does not
+ * depend on how many rows match. Output is flushed every {@link SubmissionRepository#EXPORT_FETCH_SIZE}
+ * rows, so the client receives data while the export is still running.
+ */
+@Service
+@Slf4j
+public class SubmissionExporter {
+
+    private final SubmissionRepository submissionRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter recordWriter;
+
+    public SubmissionExporter(SubmissionRepository submissionRepository, EntityManager entityManager,
+                              ObjectMapper objectMapper) {
+        this.submissionRepository = submissionRepository;
+        this.entityManager = entityManager;
+        this.recordWriter = objectMapper.writerFor(SubmissionExportRecord.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Export filters; null fields do not filter
+     *
+     * @param status Status
+     * @param agentId Agent ID
+     * @param from Earliest creation time (inclusive)
+     * @param to Latest creation time (exclusive)
+     * @param includeParsedData Whether to read and write parsedData
+     */
+    public record Filter(String status, String agentId, LocalDateTime from, LocalDateTime to,
+                         boolean includeParsedData) {
+    }
+
+    /**
+     * Writes every submission matching the filter to the stream, one JSON object per line
+     *
+     * @param filter Export filter
+     * @param out Destination; flushed but not closed
+     * @return Number of submissions written
+     */
+    @Transactional(readOnly = true)
+    public long export(Filter filter, OutputStream out) throws IOException {
+        if (!filter.includeParsedData()) {
+            try (Stream<SubmissionExportRecord> records = submissionRepository.streamExportRecords(
+                    filter.status(), filter.agentId(), filter.from(), filter.to())) {
+                return write(records.iterator(), out);
+            }
+        }
+        try (Stream<Submission> submissions = submissionRepository.streamForExport(
+                filter.status(), filter.agentId(), filter.from(), filter.to())) {
+            return write(submissions.map(submission -> {
+                // Read-only entities are not dirty-checked, but would otherwise stay in the persistence context
+                entityManager.detach(submission);
+                return SubmissionExportRecord.of(submission);
+            }).iterator(), out);
+        }
+    }
+
+    long write(Iterator<SubmissionExportRecord> records, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = recordWriter.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (records.hasNext()) {
+                recordWriter.writeValue(generator, records.next());
+                generator.writeRaw('\n');
+                if (++count % SubmissionRepository.EXPORT_FETCH_SIZE == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        log.info("Exported {} submission(s)", count);
+        return count;
+    }
+}
@@ -2,6 +2,7 @@ package com.windsurf.agentportal.service.impl;
 
 import com.windsurf.agentportal.client.AgentPortalNotifierClient;
 import com.windsurf.agentportal.dto.NotificationRequest;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
@@ -10,6 +11,8 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 
 /**
  * Circuit Breaker implementation for notification service calls to Agent Portal.
@@ -31,7 +34,10 @@ import java.time.format.DateTimeFormatter;
 @Slf4j
 public class CircuitBreakerSubmissionService {
 
+    private static final String NOTIFICATION_CIRCUIT_BREAKER = "notificationService";
+
     private final CircuitBreaker notificationCircuitBreaker;
+    private final io.github.resilience4j.circuitbreaker.CircuitBreaker asyncNotificationCircuitBreaker;
     private final AgentPortalNotifierClient agentPortalNotifierClient;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
@@ -40,8 +46,11 @@ public class CircuitBreakerSubmissionService {
 
     public CircuitBreakerSubmissionService(
             CircuitBreakerFactory<?, ?> circuitBreakerFactory,
+            CircuitBreakerRegistry circuitBreakerRegistry,
             AgentPortalNotifierClient agentPortalNotifierClient) {
-        this.notificationCircuitBreaker = circuitBreakerFactory.create("notificationService");
+        this.notificationCircuitBreaker = circuitBreakerFactory.create(NOTIFICATION_CIRCUIT_BREAKER);
+        // The same Resilience4j instance the factory's breaker delegates to, so both paths share one state
+        this.asyncNotificationCircuitBreaker = circuitBreakerRegistry.circuitBreaker(NOTIFICATION_CIRCUIT_BREAKER);
         this.agentPortalNotifierClient = agentPortalNotifierClient;
     }
 
@@ -70,12 +79,7 @@ public class CircuitBreakerSubmissionService {
     public void notifyUserWithCircuitBreaker(String userId, String submissionId, String status, String message) {
         log.debug("Sending notification to Agent Portal for userId: {} with circuit breaker", userId);
         
-        NotificationRequest request = NotificationRequest.builder()
-                .submissionId(submissionId)
-                .status(status)
-                .message(message)
-                .timestamp(LocalDateTime.now().format(DATE_FORMATTER))
-                .build();
+        NotificationRequest request = notificationRequest(submissionId, status, message);
         
         notificationCircuitBreaker.run(
             // The actual service call
@@ -96,6 +100,42 @@ public class CircuitBreakerSubmissionService {
         );
     }
     
+    /**
+     * Non-blocking variant of {@link #notifyUserWithCircuitBreaker}, with the same circuit breaker and fallback
+     *
+     * @param userId User ID to notify in the Agent Portal system
+     * @param submissionId Submission ID for the notification reference
+     * @param status Status of the submission
+     * @param message Detailed message to send to the user
+     * @param call Sends the notification, given the API key and request
+     * @return Completes with false if the fallback was used; never completes exceptionally
+     */
+    public CompletableFuture<Boolean> notifyUserAsync(String userId, String submissionId, String status, String message,
+                                                      BiFunction<String, NotificationRequest, CompletableFuture<Void>> call) {
+        NotificationRequest request = notificationRequest(submissionId, status, message);
+        return asyncNotificationCircuitBreaker
+                .executeCompletionStage(() -> call.apply(agentPortalApiKey, request))
+                .toCompletableFuture()
+                .handle((result, throwable) -> {
+                    if (throwable == null) {
+                        log.info("Successfully sent notification to Agent Portal for userId: {}", userId);
+                        return true;
+                    }
+                    log.error("Circuit breaker triggered when sending notification: {}", throwable.getMessage());
+                    logFailedNotification(userId, submissionId, throwable.getMessage());
+                    return false;
+                });
+    }
+
+    private static NotificationRequest notificationRequest(String submissionId, String status, String message) {
+        return NotificationRequest.builder()
+                .submissionId(submissionId)
+                .status(status)
+                .message(message)
+                .timestamp(LocalDateTime.now().format(DATE_FORMATTER))
+                .build();
+    }
+
     /**
      * Logs failed notifications for monitoring and troubleshooting
      * In a production environment, this would be extended to store notifications
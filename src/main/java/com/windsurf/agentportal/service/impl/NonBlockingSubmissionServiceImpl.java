@@ -0,0 +1,37 @@
+package com.windsurf.agentportal.service.impl;
+
+import com.windsurf.agentportal.model.Submission;
+import com.windsurf.agentportal.repository.SubmissionRepository;
+import com.windsurf.agentportal.service.pipeline.AsyncSubmissionPipeline;
+import com.windsurf.agentportal.service.pipeline.SubmissionPipeline;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Submission service whose upstream calls do not block
+ * Idempotency, resumption and error reporting are those of {@link SubmissionServiceImpl}; the stages run
+ * on {@link AsyncSubmissionPipeline}, so {@link #processSubmissionAsync} returns once the submission has
+ * been stored and its file spooled.
+ */
+@Service
+@ConditionalOnProperty(name = "app.submission.client", havingValue = "non-blocking")
+public class NonBlockingSubmissionServiceImpl extends SubmissionServiceImpl {
+
+    private final AsyncSubmissionPipeline asyncSubmissionPipeline;
+
+    public NonBlockingSubmissionServiceImpl(SubmissionRepository repository,
+                                            SubmissionPipeline submissionPipeline,
+                                            AsyncSubmissionPipeline asyncSubmissionPipeline) {
+        super(repository, submissionPipeline);
+        this.asyncSubmissionPipeline = asyncSubmissionPipeline;
+    }
+
+    @Override
+    protected CompletableFuture<Submission> runPipeline(Submission submission, MultipartFile acordFile) {
+        return asyncSubmissionPipeline.runAsync(submission, acordFile);
+    }
+}
@@ -8,6 +8,7 @@ import com.windsurf.agentportal.service.base.BaseServiceImpl;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -49,12 +50,14 @@ public class NotificationServiceImpl extends BaseServiceImpl<Notification, Strin
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<Notification> getNotificationsByUserId(String userId) {
         log.debug("Fetching notifications for userId: {}", userId);
         return repository.findByUserId(userId);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<Notification> getUnreadNotificationsByUserId(String userId) {
         log.debug("Fetching unread notifications for userId: {}", userId);
         return repository.findByUserIdAndReadFalse(userId);
@@ -70,7 +73,11 @@ public class NotificationServiceImpl extends BaseServiceImpl<Notification, Strin
         });
     }
     
+    /**
+     * Runs as one transaction, so cached notification queries are invalidated once for the whole batch
+     */
     @Override
+    @Transactional
     public void markAllAsRead(String userId) {
         log.debug("Marking all notifications as read for userId: {}", userId);
         List<Notification> unreadNotifications = repository.findByUserIdAndReadFalse(userId);
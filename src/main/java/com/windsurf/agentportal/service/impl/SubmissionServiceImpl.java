@@ -1,146 +1,206 @@
 package com.windsurf.agentportal.service.impl;
 
-import com.windsurf.agentportal.client.OrigamiClient;
-import com.windsurf.agentportal.client.RootsAiClient;
-import com.windsurf.agentportal.dto.*;
+import com.windsurf.agentportal.dto.SubmissionRequest;
+import com.windsurf.agentportal.dto.SubmissionResponse;
+import com.windsurf.agentportal.exception.ServiceUnavailableException;
 import com.windsurf.agentportal.exception.SubmissionServiceException;
 import com.windsurf.agentportal.model.Submission;
+import com.windsurf.agentportal.model.SubmissionStage;
 import com.windsurf.agentportal.repository.SubmissionRepository;
 import com.windsurf.agentportal.service.ISubmissionService;
 import com.windsurf.agentportal.service.base.BaseServiceImpl;
+import com.windsurf.agentportal.service.pipeline.SubmissionPipeline;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Implementation of submission service that orchestrates calls to external APIs
  * and notifies the Agent Portal about submission status
+ * The calls themselves run as stages of the persisted {@link SubmissionPipeline}.
+ * Used unless {@code app.submission.client=non-blocking} selects {@link NonBlockingSubmissionServiceImpl}.
  */
 @Service
+@ConditionalOnProperty(name = "app.submission.client", havingValue = "blocking", matchIfMissing = true)
 @Slf4j
 public class SubmissionServiceImpl extends BaseServiceImpl<Submission, String, SubmissionRepository>
         implements ISubmissionService {
 
-    private final OrigamiClient origamiClient;
-    private final RootsAiClient rootsAiClient;
-    private final CircuitBreakerSubmissionService circuitBreakerSubmissionService;
+    private final SubmissionPipeline submissionPipeline;
 
-    @Value("${api.origami.api-key}")
-    private String origamiApiKey;
-
-    @Value("${api.rootsai.api-key}")
-    private String rootsAiApiKey;
-
-    @Value("${api.agent-portal.api-key}")
-    private String agentPortalApiKey;
+    @Value("${app.submission.recovery.stall-threshold:PT5M}")
+    private Duration stallThreshold;
 
     public SubmissionServiceImpl(SubmissionRepository repository,
-                               OrigamiClient origamiClient,
-                               RootsAiClient rootsAiClient,
-                               CircuitBreakerSubmissionService circuitBreakerSubmissionService) {
+                               SubmissionPipeline submissionPipeline) {
         super(repository);
-        this.origamiClient = origamiClient;
-        this.rootsAiClient = rootsAiClient;
-        this.circuitBreakerSubmissionService = circuitBreakerSubmissionService;
+        this.submissionPipeline = submissionPipeline;
     }
 
     @Override
     public SubmissionResponse processSubmission(SubmissionRequest request, MultipartFile acordFile) {
+        try {
+            return processSubmissionAsync(request, acordFile).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+    
+    @Override
+    public CompletableFuture<SubmissionResponse> processSubmissionAsync(SubmissionRequest request, MultipartFile acordFile) {
         log.info("Processing new submission for email: {}, userId: {}", request.getEmailId(), request.getUserId());
         
+        CompletableFuture<SubmissionResponse> response;
         try {
-            // Step 1: Create submission in our database
-            Submission submission = Submission.builder()
-                    .id(UUID.randomUUID().toString())
-                    .emailId(request.getEmailId())
-                    .userId(request.getUserId())
-                    .agentId(request.getAgentId())
-                    .clientName(request.getClientName())
-                    .status("PROCESSING")
-                    .createdAt(LocalDateTime.now())
-                    .updatedAt(LocalDateTime.now())
-                    .build();
-            
-            repository.save(submission);
-            
-            // Step 2: Create submission in Origami
-            OrigamiSubmissionRequest origamiRequest = OrigamiSubmissionRequest.builder()
-                    .emailId(request.getEmailId())
-                    .agentId(request.getAgentId())
-                    .clientName(request.getClientName())
-                    .build();
-            
-            log.debug("Calling Origami API to create submission with data: {}", origamiRequest);
-            OrigamiSubmissionResponse origamiResponse = origamiClient.createSubmission(
-                    origamiApiKey, origamiRequest);
-            
-            String submissionProposalId = origamiResponse.getSubmissionProposalId();
-            log.info("Obtained submissionProposalId: {} from Origami", submissionProposalId);
-            
-            // Update our submission with the submissionProposalId
-            submission.setSubmissionProposalId(submissionProposalId);
-            repository.save(submission);
-            
-            // Step 3: Send ACORD file to Roots.ai for parsing
-            log.debug("Sending ACORD file to Roots.ai for parsing");
-            RootsAiResponse rootsAiResponse = rootsAiClient.parseAcordFile(
-                    rootsAiApiKey, acordFile);
-            
-            log.info("Received parsed data from Roots.ai with requestId: {}", rootsAiResponse.getRequestId());
-            
-            // Step 4: Update Origami submission with parsed data
-            OrigamiUpdateRequest updateRequest = OrigamiUpdateRequest.builder()
-                    .submissionProposalId(submissionProposalId)
-                    .parsedData(rootsAiResponse.getParsedData())
-                    .build();
-            
-            log.debug("Updating Origami submission with parsed data");
-            origamiClient.updateSubmission(
-                    origamiApiKey, submissionProposalId, updateRequest);
-            
-            // Update our submission with parsed data and status
-            submission.setParsedData(rootsAiResponse.getParsedData());
-            submission.setStatus("PROCESSED");
+            // A retried request resumes the submission it created the first time
+            Optional<Submission> existing = StringUtils.hasText(request.getIdempotencyKey())
+                    ? repository.findByIdempotencyKey(request.getIdempotencyKey())
+                    : Optional.empty();
+            if (existing.isPresent()) {
+                response = resume(existing.get(), acordFile);
+            } else {
+                Submission submission = Submission.builder()
+                        .id(UUID.randomUUID().toString())
+                        .idempotencyKey(StringUtils.hasText(request.getIdempotencyKey()) ? request.getIdempotencyKey() : null)
+                        .emailId(request.getEmailId())
+                        .userId(request.getUserId())
+                        .agentId(request.getAgentId())
+                        .clientName(request.getClientName())
+                        .createdAt(LocalDateTime.now())
+                        .updatedAt(LocalDateTime.now())
+                        .build();
+                
+                Optional<Submission> started = start(submission, acordFile);
+                if (started.isEmpty()) {
+                    // A concurrent retry with the same key created the submission first
+                    response = resume(repository.findByIdempotencyKey(request.getIdempotencyKey())
+                            .orElseThrow(() -> new SubmissionServiceException(
+                                    "Submission with idempotency key " + request.getIdempotencyKey() + " not found")),
+                            acordFile);
+                } else {
+                    response = runPipeline(started.get(), acordFile).thenApply(completed -> {
+                        log.info("Submission processing completed successfully for submissionId: {}", completed.getSubmissionProposalId());
+                        return SubmissionResponse.success(completed.getSubmissionProposalId());
+                    });
+                }
+            }
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        
+        return response.handle((result, failure) -> {
+            if (failure == null) {
+                return result;
+            }
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (cause instanceof ServiceUnavailableException unavailable) {
+                // e.g. suspended by a drain; the client retries with the same idempotency key
+                throw unavailable;
+            }
+            log.error("Error processing submission: {}", cause.getMessage(), cause);
+            throw new SubmissionServiceException("Failed to process submission: " + cause.getMessage(), cause);
+        });
+    }
+    
+    /**
+     * Persists a new submission
+     *
+     * @return The saved submission, or empty if its idempotency key was taken by a concurrent request
+     */
+    private Optional<Submission> start(Submission submission, MultipartFile acordFile) {
+        try {
+            return Optional.of(submissionPipeline.start(submission, acordFile));
+        } catch (DataIntegrityViolationException e) {
+            if (submission.getIdempotencyKey() == null) {
+                throw e;
+            }
+            log.info("Idempotency key {} was taken by a concurrent request", submission.getIdempotencyKey());
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Runs the remaining stages of a submission
+     *
+     * @param submission Submission at its last checkpointed stage
+     * @param acordFile Uploaded file if still in memory, or null to use the spooled copy
+     * @return Completes with the submission at stage NOTIFIED; here, already completed on return
+     */
+    protected CompletableFuture<Submission> runPipeline(Submission submission, MultipartFile acordFile) {
+        return CompletableFuture.completedFuture(submissionPipeline.run(submission, acordFile));
+    }
+    
+    private CompletableFuture<SubmissionResponse> resume(Submission submission, MultipartFile acordFile) {
+        if (submission.getStage() == SubmissionStage.NOTIFIED) {
+            log.info("Submission {} already completed, returning original result", submission.getId());
+            return CompletableFuture.completedFuture(SubmissionResponse.success(submission.getSubmissionProposalId()));
+        }
+        
+        boolean inFlight = SubmissionPipeline.STATUS_PROCESSING.equals(submission.getStatus())
+                && submission.getUpdatedAt() != null
+                && submission.getUpdatedAt().isAfter(LocalDateTime.now().minus(stallThreshold));
+        if (inFlight) {
+            log.info("Submission {} is still being processed at stage {}", submission.getId(), submission.getStage());
+            return CompletableFuture.completedFuture(processing(submission));
+        }
+        
+        // Claim it by bumping its version, as the recovery worker does, so a concurrent retry or the
+        // worker cannot run the same stage's upstream call a second time
+        Submission claimed;
+        try {
+            submission.setStatus(SubmissionPipeline.STATUS_PROCESSING);
+            submission.setAttempts(0);
             submission.setUpdatedAt(LocalDateTime.now());
-            repository.save(submission);
-            
-            // Step 5: Send notification to Agent Portal using circuit breaker pattern
-            log.debug("Sending notification to Agent Portal for userId: {}", request.getUserId());
-            circuitBreakerSubmissionService.notifyUserWithCircuitBreaker(
-                    request.getUserId(),
-                    submissionProposalId,
-                    "PROCESSED",
-                    "Submission was successfully processed");
-            
-            log.info("Submission processing completed successfully for submissionId: {}", submissionProposalId);
-            
-            return SubmissionResponse.success(submissionProposalId);
-            
-        } catch (Exception e) {
-            log.error("Error processing submission: {}", e.getMessage(), e);
-            throw new SubmissionServiceException("Failed to process submission: " + e.getMessage(), e);
+            claimed = repository.save(submission);
+        } catch (OptimisticLockingFailureException e) {
+            log.info("Submission {} was claimed by a concurrent request or the recovery worker", submission.getId());
+            return CompletableFuture.completedFuture(processing(submission));
         }
+        
+        log.info("Resuming submission {} from stage {}", claimed.getId(), claimed.getStage());
+        return runPipeline(claimed, acordFile)
+                .thenApply(completed -> SubmissionResponse.success(completed.getSubmissionProposalId()));
+    }
+    
+    private static SubmissionResponse processing(Submission submission) {
+        return SubmissionResponse.builder()
+                .submissionId(submission.getSubmissionProposalId())
+                .status("processing")
+                .message("Submission is already being processed")
+                .build();
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<Submission> getSubmissionsByUserId(String userId) {
         log.debug("Fetching submissions for userId: {}", userId);
         return repository.findByUserId(userId);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<Submission> getSubmissionsByAgentId(String agentId) {
         log.debug("Fetching submissions for agentId: {}", agentId);
         return repository.findByAgentId(agentId);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<Submission> getSubmissionsByStatus(String status) {
         log.debug("Fetching submissions with status: {}", status);
         return repository.findByStatus(status);
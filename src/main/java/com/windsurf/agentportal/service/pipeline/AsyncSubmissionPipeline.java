@@ -0,0 +1,128 @@
+package com.windsurf.agentportal.service.pipeline;
+
+import com.windsurf.agentportal.admission.RequestDeadline;
+import com.windsurf.agentportal.client.NonBlockingUpstreamClient;
+import com.windsurf.agentportal.model.Submission;
+import com.windsurf.agentportal.model.SubmissionStage;
+import com.windsurf.agentportal.origami.OrigamiUpdater;
+import com.windsurf.agentportal.service.impl.CircuitBreakerSubmissionService;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the stages of {@link SubmissionPipeline} over {@link NonBlockingUpstreamClient}
+ * Stages, checkpoints, spooling and failure accounting are those of the blocking pipeline; only the
+ * upstream calls differ. Each stage is chained onto the completion of the previous one, so a submission
+ * waiting on an upstream holds no thread, and the checkpoint of a stage is written (on
+ * {@code submissionDbExecutor}, never on the client's I/O threads) before the next stage's request is
+ * sent. A drain suspends the submission between two stages, never while a request is outstanding.
+ */
+@Component
+@ConditionalOnProperty(name = "app.submission.client", havingValue = "non-blocking")
+@Slf4j
+public class AsyncSubmissionPipeline {
+
+    private final SubmissionPipeline submissionPipeline;
+    private final NonBlockingUpstreamClient upstreamClient;
+    private final OrigamiUpdater origamiUpdater;
+    private final CircuitBreakerSubmissionService circuitBreakerSubmissionService;
+    private final Executor dbExecutor;
+
+    @Value("${api.origami.api-key}")
+    private String origamiApiKey;
+
+    @Value("${api.rootsai.api-key}")
+    private String rootsAiApiKey;
+
+    public AsyncSubmissionPipeline(SubmissionPipeline submissionPipeline,
+                                   NonBlockingUpstreamClient upstreamClient,
+                                   OrigamiUpdater origamiUpdater,
+                                   CircuitBreakerSubmissionService circuitBreakerSubmissionService,
+                                   @Qualifier("submissionDbExecutor") Executor dbExecutor) {
+        this.submissionPipeline = submissionPipeline;
+        this.upstreamClient = upstreamClient;
+        this.origamiUpdater = origamiUpdater;
+        this.circuitBreakerSubmissionService = circuitBreakerSubmissionService;
+        this.dbExecutor = dbExecutor;
+    }
+
+    /**
+     * Runs the remaining stages of a submission without blocking the caller
+     *
+     * @param submission Submission at its last checkpointed stage
+     * @param acordFile Uploaded file if still available, or null to use the spooled copy
+     * @return Completes with the submission at stage NOTIFIED
+     */
+    public CompletableFuture<Submission> runAsync(Submission submission, MultipartFile acordFile) {
+        SubmissionPipeline.normalizeStage(submission);
+        Long deadline = RequestDeadline.get();
+        String submissionId = submission.getId();
+        Submission[] current = {submission};
+
+        submissionPipeline.markActive(submissionId);
+        return advance(current, acordFile, deadline)
+                .whenCompleteAsync((completed, failure) -> {
+                    submissionPipeline.markInactive(submissionId);
+                    if (failure != null && !(unwrap(failure) instanceof SubmissionPipeline.SubmissionSuspendedException)) {
+                        submissionPipeline.recordFailure(current[0], unwrap(failure));
+                    }
+                }, dbExecutor);
+    }
+
+    private CompletableFuture<Submission> advance(Submission[] current, MultipartFile acordFile, Long deadline) {
+        Submission submission = current[0];
+        if (submission.getStage() == SubmissionStage.NOTIFIED) {
+            return CompletableFuture.completedFuture(submission);
+        }
+        log.debug("Submission {} advancing from stage {}", submission.getId(), submission.getStage());
+
+        CompletableFuture<?> call;
+        try {
+            if (submissionPipeline.isSuspending()) {
+                throw submissionPipeline.suspendAtCheckpoint(submission);
+            }
+            call = call(submission, acordFile, deadline);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return call
+                .thenApplyAsync(ignored -> current[0] = submissionPipeline.checkpoint(submission), dbExecutor)
+                .thenCompose(checkpointed -> advance(current, acordFile, deadline));
+    }
+
+    private CompletableFuture<?> call(Submission submission, MultipartFile acordFile, Long deadline) {
+        return switch (submission.getStage()) {
+            case CREATED -> upstreamClient
+                    .createSubmission(origamiApiKey, SubmissionPipeline.origamiRequest(submission), deadline)
+                    .thenAccept(response -> SubmissionPipeline.applyOrigamiResponse(submission, response));
+            case ORIGAMI_CREATED -> SubmissionPipeline.callsRootsAi(submission)
+                    ? upstreamClient
+                            .parseAcordFile(rootsAiApiKey, submissionPipeline.fileFor(submission, acordFile), deadline)
+                            .thenAccept(response -> SubmissionPipeline.applyParse(submission, response))
+                    : CompletableFuture.completedFuture(null);
+            case PARSED -> origamiUpdater.update(upstreamClient.origamiTransport(origamiApiKey, deadline),
+                    submission.getSubmissionProposalId(), submission.getParsedData());
+            case ORIGAMI_UPDATED -> circuitBreakerSubmissionService.notifyUserAsync(
+                    submission.getUserId(),
+                    submission.getSubmissionProposalId(),
+                    SubmissionPipeline.STATUS_PROCESSED,
+                    "Submission was successfully processed",
+                    (apiKey, request) -> upstreamClient.notifyUser(apiKey, submission.getUserId(), request, deadline));
+            default -> throw new IllegalStateException("No transition from stage " + submission.getStage());
+        };
+    }
+
+    private static RuntimeException unwrap(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(cause);
+    }
+}
@@ -0,0 +1,125 @@
+package com.windsurf.agentportal.service.pipeline;
+
+import com.windsurf.agentportal.config.AcordExtractionProperties;
+import com.windsurf.agentportal.lease.LeaseManager;
+import com.windsurf.agentportal.lease.WorkPartitioner;
+import com.windsurf.agentportal.lifecycle.SubmissionDrain;
+import com.windsurf.agentportal.model.RootsAiAction;
+import com.windsurf.agentportal.model.Submission;
+import com.windsurf.agentportal.model.SubmissionStage;
+import com.windsurf.agentportal.repository.SubmissionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Runs Roots.ai parses that the ACORD rule set deferred until after the agent was notified
+ * Submissions are claimed by bumping their version, as in {@link SubmissionRecoveryWorker}.
+ * A failed parse is retried after {@code app.acord.extraction.deferred-backoff}, doubled after every
+ * further failure up to {@code deferred-max-backoff}; after {@code deferred-max-attempts} failures the
+ * submission's Roots.ai action becomes {@link RootsAiAction#FAILED} and the local extraction is kept,
+ * so a persistently failing file does not cost a paid call forever. Nothing is claimed while the
+ * instance is draining. With several instances, each only runs the parses of the partitions it holds.
+ */
+@Component
+@ConditionalOnProperty(name = "app.acord.extraction.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class DeferredParseWorker {
+
+    private static final String JOB = "deferred-parse";
+
+    private final SubmissionRepository submissionRepository;
+    private final SubmissionPipeline submissionPipeline;
+    private final SubmissionDrain submissionDrain;
+    private final WorkPartitioner workPartitioner;
+    private final LeaseManager leaseManager;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+
+    public DeferredParseWorker(SubmissionRepository submissionRepository,
+                               SubmissionPipeline submissionPipeline,
+                               SubmissionDrain submissionDrain,
+                               WorkPartitioner workPartitioner,
+                               LeaseManager leaseManager,
+                               AcordExtractionProperties properties) {
+        this.submissionRepository = submissionRepository;
+        this.submissionPipeline = submissionPipeline;
+        this.submissionDrain = submissionDrain;
+        this.workPartitioner = workPartitioner;
+        this.leaseManager = leaseManager;
+        this.batchSize = properties.getDeferredBatchSize();
+        this.maxAttempts = properties.getDeferredMaxAttempts();
+        this.backoff = properties.getDeferredBackoff();
+        this.maxBackoff = properties.getDeferredMaxBackoff();
+    }
+
+    @Scheduled(fixedDelayString = "${app.acord.extraction.deferred-interval:PT30S}",
+            initialDelayString = "${app.acord.extraction.deferred-interval:PT30S}")
+    public void completeDeferredParses() {
+        WorkPartitioner.Partitions partitions = workPartitioner.acquire(JOB);
+        if (partitions.isEmpty()) {
+            return;
+        }
+        List<Submission> deferred = submissionRepository.findDeferredParsesDue(
+                RootsAiAction.DEFER, SubmissionStage.NOTIFIED, LocalDateTime.now(), partitions.partitionCount(),
+                partitions.ids(), PageRequest.of(0, batchSize));
+
+        for (Submission submission : deferred) {
+            if (submissionDrain.isDraining()) {
+                return;
+            }
+            // Rows written before partitionHash existed come back whatever their partition
+            if (!partitions.owns(submission.getId())
+                    || !leaseManager.holds(partitions.leaseFor(submission.getId()))) {
+                continue;
+            }
+            Submission claimed;
+            try {
+                submission.setUpdatedAt(LocalDateTime.now());
+                claimed = submissionRepository.save(submission);
+            } catch (OptimisticLockingFailureException e) {
+                log.debug("Deferred submission {} was claimed elsewhere, skipping", submission.getId());
+                continue;
+            }
+
+            try {
+                submissionPipeline.completeDeferredParse(claimed);
+            } catch (RuntimeException e) {
+                recordFailure(claimed, e);
+            }
+        }
+    }
+
+    private void recordFailure(Submission submission, RuntimeException cause) {
+        int attempts = submission.getDeferredParseAttempts() + 1;
+        submission.setDeferredParseAttempts(attempts);
+        submission.setUpdatedAt(LocalDateTime.now());
+        if (attempts >= maxAttempts) {
+            submission.setRootsAiAction(RootsAiAction.FAILED);
+            submission.setNextDeferredParseAt(null);
+            log.error("Deferred Roots.ai parse of submission {} failed {} times, giving up: {}",
+                    submission.getId(), attempts, cause.getMessage());
+        } else {
+            Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+            delay = delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+            submission.setNextDeferredParseAt(LocalDateTime.now().plus(delay));
+            log.warn("Deferred Roots.ai parse of submission {} failed (attempt {} of {}), retrying in {}: {}",
+                    submission.getId(), attempts, maxAttempts, delay, cause.getMessage());
+        }
+        try {
+            submissionRepository.save(submission);
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Deferred submission {} changed while its parse failed, not recording the attempt", submission.getId());
+        }
+    }
+}
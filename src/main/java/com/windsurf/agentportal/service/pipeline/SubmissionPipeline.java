@@ -0,0 +1,417 @@
+package com.windsurf.agentportal.service.pipeline;
+
+import com.windsurf.agentportal.acord.AcordExtraction;
+import com.windsurf.agentportal.acord.AcordXmlExtractor;
+import com.windsurf.agentportal.acord.RootsAiRuleSet;
+import com.windsurf.agentportal.client.OrigamiClient;
+import com.windsurf.agentportal.client.RootsAiClient;
+import com.windsurf.agentportal.dto.OrigamiSubmissionRequest;
+import com.windsurf.agentportal.dto.OrigamiSubmissionResponse;
+import com.windsurf.agentportal.dto.RootsAiResponse;
+import com.windsurf.agentportal.exception.ServiceUnavailableException;
+import com.windsurf.agentportal.exception.SubmissionServiceException;
+import com.windsurf.agentportal.config.AcordExtractionProperties;
+import com.windsurf.agentportal.model.RootsAiAction;
+import com.windsurf.agentportal.model.Submission;
+import com.windsurf.agentportal.model.SubmissionFile;
+import com.windsurf.agentportal.model.SubmissionStage;
+import com.windsurf.agentportal.origami.OrigamiUpdater;
+import com.windsurf.agentportal.repository.SubmissionFileRepository;
+import com.windsurf.agentportal.repository.SubmissionRepository;
+import com.windsurf.agentportal.service.impl.CircuitBreakerSubmissionService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Persisted state machine for the submission pipeline
+ * CREATED → ORIGAMI_CREATED → PARSED → ORIGAMI_UPDATED → NOTIFIED
+ *
+ * Each transition performs one upstream call and then checkpoints the stage together with its output,
+ * so running the pipeline again on the same submission continues from the last completed stage.
+ * The uploaded file is spooled to {@link SubmissionFile} until the parse stage has completed.
+ *
+ * ACORD XML uploads are read locally on arrival and the result becomes the initial parsedData.
+ * {@link RootsAiRuleSet} then decides whether the parse stage calls Roots.ai, skips it, or defers it
+ * until after the agent has been notified ({@link #completeDeferredParse}).
+ */
+@Component
+@Slf4j
+public class SubmissionPipeline {
+
+    public static final String STATUS_PROCESSING = "PROCESSING";
+    public static final String STATUS_PROCESSED = "PROCESSED";
+    public static final String STATUS_FAILED = "FAILED";
+    /** Handed off by a draining instance; resumed by the next recovery run on any instance */
+    public static final String STATUS_SUSPENDED = "SUSPENDED";
+
+    private final SubmissionRepository submissionRepository;
+    private final SubmissionFileRepository submissionFileRepository;
+    private final OrigamiClient origamiClient;
+    private final RootsAiClient rootsAiClient;
+    private final OrigamiUpdater origamiUpdater;
+    private final CircuitBreakerSubmissionService circuitBreakerSubmissionService;
+    private final AcordXmlExtractor acordXmlExtractor;
+    private final RootsAiRuleSet rootsAiRuleSet;
+    private final AcordExtractionProperties acordExtractionProperties;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> activeSubmissions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger suspendedCount = new AtomicInteger();
+    private volatile boolean suspending;
+
+    @Value("${api.origami.api-key}")
+    private String origamiApiKey;
+
+    @Value("${api.rootsai.api-key}")
+    private String rootsAiApiKey;
+
+    @Value("${app.submission.pipeline.max-attempts:5}")
+    private int maxAttempts;
+
+    public SubmissionPipeline(SubmissionRepository submissionRepository,
+                              SubmissionFileRepository submissionFileRepository,
+                              OrigamiClient origamiClient,
+                              RootsAiClient rootsAiClient,
+                              OrigamiUpdater origamiUpdater,
+                              CircuitBreakerSubmissionService circuitBreakerSubmissionService,
+                              AcordXmlExtractor acordXmlExtractor,
+                              RootsAiRuleSet rootsAiRuleSet,
+                              AcordExtractionProperties acordExtractionProperties,
+                              MeterRegistry meterRegistry) {
+        this.submissionRepository = submissionRepository;
+        this.submissionFileRepository = submissionFileRepository;
+        this.origamiClient = origamiClient;
+        this.rootsAiClient = rootsAiClient;
+        this.origamiUpdater = origamiUpdater;
+        this.circuitBreakerSubmissionService = circuitBreakerSubmissionService;
+        this.acordXmlExtractor = acordXmlExtractor;
+        this.rootsAiRuleSet = rootsAiRuleSet;
+        this.acordExtractionProperties = acordExtractionProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Stores a new submission, with whatever could be read from its ACORD file locally, and spools
+     * the file before any upstream call is made
+     *
+     * @param submission New submission
+     * @param acordFile Uploaded ACORD file
+     * @return Saved submission at stage CREATED
+     */
+    public Submission start(Submission submission, MultipartFile acordFile) {
+        submission.setStage(SubmissionStage.CREATED);
+        submission.setStatus(STATUS_PROCESSING);
+        extractLocally(submission, acordFile);
+        Submission saved = submissionRepository.save(submission);
+
+        try {
+            submissionFileRepository.save(SubmissionFile.builder()
+                    .submissionId(saved.getId())
+                    .filename(acordFile.getOriginalFilename())
+                    .contentType(acordFile.getContentType())
+                    .content(acordFile.getBytes())
+                    .build());
+        } catch (IOException e) {
+            throw new SubmissionServiceException("Failed to read ACORD file: " + e.getMessage(), e);
+        }
+        return saved;
+    }
+
+    /**
+     * Runs the remaining stages of a submission
+     *
+     * @param submission Submission at its last checkpointed stage
+     * @param acordFile Uploaded file if still in memory, or null to use the spooled copy
+     * @return Submission at stage NOTIFIED
+     */
+    public Submission run(Submission submission, MultipartFile acordFile) {
+        normalizeStage(submission);
+
+        Submission current = submission;
+        activeSubmissions.add(submission.getId());
+        try {
+            while (current.getStage() != SubmissionStage.NOTIFIED) {
+                if (suspending) {
+                    throw suspendAtCheckpoint(current);
+                }
+                current = advance(current, acordFile);
+            }
+            return current;
+        } catch (SubmissionSuspendedException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            recordFailure(current, e);
+            throw e;
+        } finally {
+            activeSubmissions.remove(submission.getId());
+        }
+    }
+
+    /**
+     * @return Ids of the submissions whose pipeline is running on this instance
+     */
+    public Set<String> activeSubmissionIds() {
+        return Set.copyOf(activeSubmissions);
+    }
+
+    /**
+     * Makes every running pipeline hand its submission off to recovery at its next stage boundary
+     * No upstream call is interrupted: a pipeline inside one finishes it and checkpoints first, and
+     * pipelines started from now on stop before their first call. Used when the instance drains.
+     */
+    public void suspendAtNextCheckpoint() {
+        suspending = true;
+    }
+
+    /**
+     * @return Number of submissions handed off to recovery since {@link #suspendAtNextCheckpoint()}
+     */
+    public int suspendedCount() {
+        return suspendedCount.get();
+    }
+
+    boolean isSuspending() {
+        return suspending;
+    }
+
+    /**
+     * Hands a submission off to recovery on any instance
+     * Called by the pipeline that owns the submission, between two stages, so no upstream call of this
+     * instance is still in flight when the row becomes resumable elsewhere.
+     *
+     * @param submission Submission at its last checkpointed stage
+     * @return Exception to fail the caller with, 503 so the client retries against another instance
+     */
+    SubmissionSuspendedException suspendAtCheckpoint(Submission submission) {
+        submission.setStatus(STATUS_SUSPENDED);
+        submission.setUpdatedAt(LocalDateTime.now());
+        try {
+            submissionRepository.save(submission);
+            suspendedCount.incrementAndGet();
+            log.info("Suspended submission {} at stage {} for recovery elsewhere", submission.getId(), submission.getStage());
+        } catch (RuntimeException e) {
+            // Still PROCESSING; the recovery worker picks it up once it counts as stalled
+            log.warn("Unable to suspend submission {}: {}", submission.getId(), e.getMessage());
+        }
+        return new SubmissionSuspendedException(submission.getId());
+    }
+
+    /**
+     * Raised to the caller of a pipeline that stopped because the instance is draining
+     */
+    static class SubmissionSuspendedException extends ServiceUnavailableException {
+
+        SubmissionSuspendedException(String submissionId) {
+            super("Service is shutting down; submission " + submissionId + " will be completed by another instance", 1);
+        }
+    }
+
+    static void normalizeStage(Submission submission) {
+        if (submission.getStage() == null) {
+            // Rows written before stages were tracked
+            submission.setStage(submission.getSubmissionProposalId() == null
+                    ? SubmissionStage.CREATED : SubmissionStage.ORIGAMI_CREATED);
+        }
+    }
+
+    void markActive(String submissionId) {
+        activeSubmissions.add(submissionId);
+    }
+
+    void markInactive(String submissionId) {
+        activeSubmissions.remove(submissionId);
+    }
+
+    private Submission advance(Submission submission, MultipartFile acordFile) {
+        SubmissionStage stage = submission.getStage();
+        log.debug("Submission {} advancing from stage {}", submission.getId(), stage);
+
+        switch (stage) {
+            case CREATED -> createInOrigami(submission);
+            case ORIGAMI_CREATED -> parse(submission, acordFile);
+            case PARSED -> updateOrigami(submission);
+            case ORIGAMI_UPDATED -> notifyAgentPortal(submission);
+            default -> throw new IllegalStateException("No transition from stage " + stage);
+        }
+        return checkpoint(submission);
+    }
+
+    /**
+     * Records that the submission's current stage has completed
+     *
+     * @param submission Submission whose current stage's upstream call has succeeded
+     * @return Saved submission at the next stage
+     */
+    Submission checkpoint(Submission submission) {
+        SubmissionStage stage = submission.getStage();
+        submission.setStage(stage.next());
+        submission.setUpdatedAt(LocalDateTime.now());
+        if (submission.getStage() == SubmissionStage.NOTIFIED) {
+            submission.setStatus(STATUS_PROCESSED);
+        }
+        Submission saved = submissionRepository.save(submission);
+
+        if (saved.getStage() == SubmissionStage.PARSED && saved.getRootsAiAction() != RootsAiAction.DEFER) {
+            submissionFileRepository.deleteById(saved.getId());
+        }
+        return saved;
+    }
+
+    private void createInOrigami(Submission submission) {
+        OrigamiSubmissionRequest origamiRequest = origamiRequest(submission);
+        log.debug("Calling Origami API to create submission with data: {}", origamiRequest);
+        applyOrigamiResponse(submission, origamiClient.createSubmission(origamiApiKey, origamiRequest));
+    }
+
+    static OrigamiSubmissionRequest origamiRequest(Submission submission) {
+        return OrigamiSubmissionRequest.builder()
+                .emailId(submission.getEmailId())
+                .agentId(submission.getAgentId())
+                .clientName(submission.getClientName())
+                .build();
+    }
+
+    static void applyOrigamiResponse(Submission submission, OrigamiSubmissionResponse origamiResponse) {
+        submission.setSubmissionProposalId(origamiResponse.getSubmissionProposalId());
+        log.info("Obtained submissionProposalId: {} from Origami", origamiResponse.getSubmissionProposalId());
+    }
+
+    private void parse(Submission submission, MultipartFile acordFile) {
+        if (!callsRootsAi(submission)) {
+            return;
+        }
+        log.debug("Sending ACORD file to Roots.ai for parsing");
+        applyParse(submission, rootsAiClient.parseAcordFile(rootsAiApiKey, fileFor(submission, acordFile)));
+    }
+
+    static boolean callsRootsAi(Submission submission) {
+        RootsAiAction action = submission.getRootsAiAction() != null ? submission.getRootsAiAction() : RootsAiAction.CALL;
+        if (action != RootsAiAction.CALL) {
+            log.info("Submission {} covered by local ACORD extraction, Roots.ai parse {}",
+                    submission.getId(), action == RootsAiAction.SKIP ? "skipped" : "deferred");
+            return false;
+        }
+        return true;
+    }
+
+    MultipartFile fileFor(Submission submission, MultipartFile acordFile) {
+        return acordFile != null ? acordFile : loadSpooledFile(submission.getId());
+    }
+
+    static void applyParse(Submission submission, RootsAiResponse rootsAiResponse) {
+        submission.setParsedData(merge(submission.getParsedData(), rootsAiResponse.getParsedData()));
+        log.info("Received parsed data from Roots.ai with requestId: {}", rootsAiResponse.getRequestId());
+    }
+
+    /**
+     * Runs a Roots.ai parse that was deferred until after notification and sends the result to Origami
+     *
+     * @param submission Completed submission with {@link RootsAiAction#DEFER}
+     * @return Saved submission, now with {@link RootsAiAction#CALL}
+     */
+    public Submission completeDeferredParse(Submission submission) {
+        if (!submissionFileRepository.existsById(submission.getId())) {
+            log.warn("ACORD file for deferred submission {} is gone, keeping the local extraction", submission.getId());
+            submission.setRootsAiAction(RootsAiAction.SKIP);
+            return submissionRepository.save(submission);
+        }
+
+        RootsAiResponse rootsAiResponse = rootsAiClient.parseAcordFile(rootsAiApiKey, loadSpooledFile(submission.getId()));
+        submission.setParsedData(merge(submission.getParsedData(), rootsAiResponse.getParsedData()));
+        log.info("Received deferred parsed data from Roots.ai with requestId: {}", rootsAiResponse.getRequestId());
+
+        updateOrigami(submission);
+
+        submission.setRootsAiAction(RootsAiAction.CALL);
+        submission.setUpdatedAt(LocalDateTime.now());
+        Submission saved = submissionRepository.save(submission);
+        submissionFileRepository.deleteById(saved.getId());
+        return saved;
+    }
+
+    private void extractLocally(Submission submission, MultipartFile acordFile) {
+        RootsAiAction action = RootsAiAction.CALL;
+        if (acordExtractionProperties.isEnabled()) {
+            Optional<AcordExtraction> extraction;
+            try (InputStream content = acordFile.getInputStream()) {
+                extraction = acordXmlExtractor.extract(content);
+            } catch (IOException e) {
+                throw new SubmissionServiceException("Failed to read ACORD file: " + e.getMessage(), e);
+            }
+            if (extraction.isPresent() && !extraction.get().isEmpty()) {
+                submission.setParsedData(extraction.get().toParsedData());
+                action = rootsAiRuleSet.decide(extraction.get());
+            }
+        }
+        submission.setRootsAiAction(action);
+        meterRegistry.counter("submission.rootsai.decisions", "action", action.name()).increment();
+    }
+
+    /**
+     * Roots.ai output wins over local values; locally extracted fields it does not return are kept
+     */
+    private static Map<String, Object> merge(Map<String, Object> local, Map<String, Object> rootsAi) {
+        if (local == null || local.isEmpty()) {
+            return rootsAi;
+        }
+        Map<String, Object> merged = new LinkedHashMap<>(local);
+        if (rootsAi != null) {
+            merged.putAll(rootsAi);
+        }
+        return merged;
+    }
+
+    private void updateOrigami(Submission submission) {
+        log.debug("Updating Origami submission with parsed data");
+        origamiUpdater.update(origamiApiKey, submission.getSubmissionProposalId(), submission.getParsedData());
+    }
+
+    private void notifyAgentPortal(Submission submission) {
+        log.debug("Sending notification to Agent Portal for userId: {}", submission.getUserId());
+        circuitBreakerSubmissionService.notifyUserWithCircuitBreaker(
+                submission.getUserId(),
+                submission.getSubmissionProposalId(),
+                STATUS_PROCESSED,
+                "Submission was successfully processed");
+    }
+
+    private MultipartFile loadSpooledFile(String submissionId) {
+        SubmissionFile spooled = submissionFileRepository.findById(submissionId)
+                .orElseThrow(() -> new SubmissionServiceException(
+                        "ACORD file for submission " + submissionId + " is no longer available"));
+        return new ByteArrayMultipartFile("file", spooled.getFilename(), spooled.getContentType(), spooled.getContent());
+    }
+
+    void recordFailure(Submission submission, RuntimeException cause) {
+        try {
+            submission.setAttempts(submission.getAttempts() + 1);
+            submission.setUpdatedAt(LocalDateTime.now());
+            if (submission.getAttempts() >= maxAttempts) {
+                submission.setStatus(STATUS_FAILED);
+                submissionFileRepository.deleteById(submission.getId());
+                log.error("Submission {} failed at stage {} after {} attempts: {}",
+                        submission.getId(), submission.getStage(), submission.getAttempts(), cause.getMessage());
+            } else {
+                log.warn("Submission {} stopped at stage {} (attempt {}): {}",
+                        submission.getId(), submission.getStage(), submission.getAttempts(), cause.getMessage());
+            }
+            submissionRepository.save(submission);
+        } catch (RuntimeException e) {
+            log.error("Unable to record failure for submission {}: {}", submission.getId(), e.getMessage());
+        }
+    }
+}
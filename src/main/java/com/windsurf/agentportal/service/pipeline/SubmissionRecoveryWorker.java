@@ -0,0 +1,112 @@
+package com.windsurf.agentportal.service.pipeline;
+
+import com.windsurf.agentportal.lease.LeaseManager;
+import com.windsurf.agentportal.lease.WorkPartitioner;
+import com.windsurf.agentportal.lifecycle.SubmissionDrain;
+import com.windsurf.agentportal.model.Submission;
+import com.windsurf.agentportal.repository.SubmissionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Resumes submissions whose pipeline stopped before completion (crash, restart, upstream outage)
+ * A submission is considered stalled when it is still PROCESSING and has not been checkpointed for
+ * longer than {@code app.submission.recovery.stall-threshold}. It is claimed by bumping its
+ * version, so only one worker resumes it, and then continues from its last completed stage.
+ * Submissions SUSPENDED by a draining instance are resumed on the next run without waiting for the
+ * threshold. Nothing is resumed while this instance is itself draining. With several instances, each
+ * only looks at the submissions of the partitions it holds (see {@link WorkPartitioner}), at most
+ * {@code app.submission.recovery.batch-size} per run.
+ */
+@Component
+@ConditionalOnProperty(name = "app.submission.recovery.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SubmissionRecoveryWorker {
+
+    private static final String JOB = "recovery";
+
+    private final SubmissionRepository submissionRepository;
+    private final SubmissionPipeline submissionPipeline;
+    private final SubmissionDrain submissionDrain;
+    private final WorkPartitioner workPartitioner;
+    private final LeaseManager leaseManager;
+    private final Duration stallThreshold;
+    private final int batchSize;
+
+    public SubmissionRecoveryWorker(SubmissionRepository submissionRepository,
+                                    SubmissionPipeline submissionPipeline,
+                                    SubmissionDrain submissionDrain,
+                                    WorkPartitioner workPartitioner,
+                                    LeaseManager leaseManager,
+                                    @Value("${app.submission.recovery.stall-threshold:PT5M}") Duration stallThreshold,
+                                    @Value("${app.submission.recovery.batch-size:500}") int batchSize) {
+        this.submissionRepository = submissionRepository;
+        this.submissionPipeline = submissionPipeline;
+        this.submissionDrain = submissionDrain;
+        this.workPartitioner = workPartitioner;
+        this.leaseManager = leaseManager;
+        this.stallThreshold = stallThreshold;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.submission.recovery.interval:PT1M}",
+            initialDelayString = "${app.submission.recovery.interval:PT1M}")
+    public void recoverStalledSubmissions() {
+        if (submissionDrain.isDraining()) {
+            return;
+        }
+        WorkPartitioner.Partitions partitions = workPartitioner.acquire(JOB);
+        if (partitions.isEmpty()) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(stallThreshold);
+        List<Submission> stalled = submissionRepository.findRecoverable(SubmissionPipeline.STATUS_SUSPENDED,
+                SubmissionPipeline.STATUS_PROCESSING, cutoff, partitions.partitionCount(), partitions.ids(),
+                PageRequest.of(0, batchSize));
+        // Rows written before partitionHash existed come back whatever their partition
+        stalled = stalled.stream().filter(submission -> partitions.owns(submission.getId())).toList();
+
+        if (stalled.isEmpty()) {
+            return;
+        }
+        log.info("Found {} stalled submission(s), resuming", stalled.size());
+
+        for (Submission submission : stalled) {
+            if (!leaseManager.holds(partitions.leaseFor(submission.getId()))) {
+                log.warn("Lost the lease of submission {}'s partition, leaving it to its new holder", submission.getId());
+                continue;
+            }
+            resume(submission);
+        }
+    }
+
+    private void resume(Submission submission) {
+        Submission claimed;
+        try {
+            submission.setStatus(SubmissionPipeline.STATUS_PROCESSING);
+            submission.setUpdatedAt(LocalDateTime.now());
+            claimed = submissionRepository.save(submission);
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Submission {} was claimed elsewhere, skipping", submission.getId());
+            return;
+        }
+
+        log.info("Resuming submission {} from stage {}", claimed.getId(), claimed.getStage());
+        try {
+            submissionPipeline.run(claimed, null);
+            log.info("Recovered submission {}", claimed.getId());
+        } catch (RuntimeException e) {
+            log.warn("Recovery of submission {} did not complete: {}", claimed.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.windsurf.agentportal.stats;
+
+import com.windsurf.agentportal.dto.SubmissionStatsResponse;
+import com.windsurf.agentportal.repository.SubmissionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Submission counts by status, by agent and status, and created per hour, kept in memory
+ * Counts are adjusted on every committed insert, status change and delete of a Submission (see
+ * {@link SubmissionStatsEventListener}) and rebuilt from the database every
+ * {@code app.submission.stats.reconcile-interval}. Reading them never touches the database, so the cost of
+ * {@link #snapshot()} depends on the number of statuses, agents and hours, not on the number of rows.
+ *
+ * Each instance only sees its own transitions between reconciliations; changes made by other instances
+ * show up at the next reconciliation.
+ */
+@Component
+@Slf4j
+public class SubmissionStats {
+
+    static final String UNKNOWN = "unknown";
+
+    private final SubmissionRepository submissionRepository;
+    private final int hours;
+    private final Counter drift;
+
+    private volatile Counts counts = new Counts();
+    private volatile LocalDateTime reconciledAt;
+
+    public SubmissionStats(SubmissionRepository submissionRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.submission.stats.hours:48}") int hours) {
+        this.submissionRepository = submissionRepository;
+        this.hours = hours;
+        this.drift = Counter.builder("app.submission.stats.drift")
+                .description("Submissions by which a reconciliation corrected the incremental status counts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a new submission
+     */
+    void created(String agentId, String status, LocalDateTime createdAt) {
+        Counts current = counts;
+        current.add(agentId, status, 1);
+        if (createdAt != null) {
+            current.createdPerHour.computeIfAbsent(createdAt.truncatedTo(ChronoUnit.HOURS), hour -> new LongAdder())
+                    .increment();
+        }
+    }
+
+    /**
+     * Records a status change; no-op if the status did not change
+     */
+    void transitioned(String agentId, String fromStatus, String toStatus) {
+        if (key(fromStatus).equals(key(toStatus))) {
+            return;
+        }
+        Counts current = counts;
+        current.add(agentId, fromStatus, -1);
+        current.add(agentId, toStatus, 1);
+    }
+
+    /**
+     * Records a deleted submission; it stays in the hour it was created in
+     */
+    void deleted(String agentId, String status) {
+        counts.add(agentId, status, -1);
+    }
+
+    /**
+     * @return Current counts
+     */
+    public SubmissionStatsResponse snapshot() {
+        Counts current = counts;
+        Map<String, Long> byStatus = sum(current.byStatus);
+        Map<String, Map<String, Long>> byAgent = new TreeMap<>();
+        current.byAgent.forEach((agent, statuses) -> {
+            Map<String, Long> agentCounts = sum(statuses);
+            if (!agentCounts.isEmpty()) {
+                byAgent.put(agent, agentCounts);
+            }
+        });
+        LocalDateTime since = since();
+        Map<LocalDateTime, Long> createdPerHour = new TreeMap<>();
+        current.createdPerHour.forEach((hour, count) -> {
+            if (!hour.isBefore(since)) {
+                createdPerHour.put(hour, count.sum());
+            }
+        });
+        return SubmissionStatsResponse.builder()
+                .total(byStatus.values().stream().mapToLong(Long::longValue).sum())
+                .byStatus(byStatus)
+                .byAgent(byAgent)
+                .createdPerHour(createdPerHour)
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    /**
+     * Rebuilds the counts from the database
+     * Transitions committed while the queries run may be missed or counted twice; the next
+     * reconciliation corrects them.
+     */
+    @Scheduled(initialDelayString = "${app.submission.stats.initial-delay:PT5S}",
+            fixedDelayString = "${app.submission.stats.reconcile-interval:PT1M}")
+    public void reconcile() {
+        Counts rebuilt = new Counts();
+        for (Object[] row : submissionRepository.countByAgentAndStatus()) {
+            rebuilt.add((String) row[0], (String) row[1], ((Number) row[2]).longValue());
+        }
+        LocalDateTime since = since();
+        for (Object[] row : submissionRepository.countCreatedPerHourSince(since)) {
+            LocalDateTime hour = LocalDateTime.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue(),
+                    ((Number) row[2]).intValue(), ((Number) row[3]).intValue(), 0);
+            LongAdder count = new LongAdder();
+            count.add(((Number) row[4]).longValue());
+            rebuilt.createdPerHour.put(hour, count);
+        }
+
+        long corrected = difference(sum(counts.byStatus), sum(rebuilt.byStatus));
+        counts = rebuilt;
+        reconciledAt = LocalDateTime.now();
+        if (corrected > 0) {
+            drift.increment(corrected);
+            log.info("Submission stats reconciled, corrected by {}", corrected);
+        }
+    }
+
+    private LocalDateTime since() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(hours - 1L);
+    }
+
+    private static long difference(Map<String, Long> before, Map<String, Long> after) {
+        long difference = 0;
+        for (String status : before.keySet()) {
+            difference += Math.abs(before.get(status) - after.getOrDefault(status, 0L));
+        }
+        for (String status : after.keySet()) {
+            if (!before.containsKey(status)) {
+                difference += after.get(status);
+            }
+        }
+        return difference;
+    }
+
+    private static Map<String, Long> sum(Map<String, LongAdder> adders) {
+        Map<String, Long> sums = new TreeMap<>();
+        adders.forEach((key, adder) -> {
+            long sum = adder.sum();
+            if (sum != 0) {
+                sums.put(key, sum);
+            }
+        });
+        return sums;
+    }
+
+    private static String key(String value) {
+        return value != null ? value : UNKNOWN;
+    }
+
+    private static final class Counts {
+
+        private final ConcurrentMap<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> byAgent = new ConcurrentHashMap<>();
+        private final ConcurrentMap<LocalDateTime, LongAdder> createdPerHour = new ConcurrentHashMap<>();
+
+        private void add(String agentId, String status, long delta) {
+            byStatus.computeIfAbsent(key(status), s -> new LongAdder()).add(delta);
+            byAgent.computeIfAbsent(key(agentId), a -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(key(status), s -> new LongAdder()).add(delta);
+        }
+    }
+}
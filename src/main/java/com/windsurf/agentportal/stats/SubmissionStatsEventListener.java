@@ -0,0 +1,88 @@
+package com.windsurf.agentportal.stats;
+
+import com.windsurf.agentportal.model.Submission;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds committed Submission inserts, status changes and deletes into {@link SubmissionStats}
+ * Post-commit listeners only run once the transaction has committed, so rolled-back writes (for
+ * example a checkpoint that lost an optimistic lock) are never counted. The previous status comes
+ * from the state Hibernate loaded, so it is right even when a detached copy was saved.
+ */
+@Component
+class SubmissionStatsEventListener
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final SubmissionStats submissionStats;
+
+    SubmissionStatsEventListener(EntityManagerFactory entityManagerFactory, SubmissionStats submissionStats) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.submissionStats = submissionStats;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Submission.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Submission submission) {
+            submissionStats.created(submission.getAgentId(), submission.getStatus(), submission.getCreatedAt());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Submission submission && event.getOldState() != null) {
+            int status = event.getPersister().getEntityMetamodel().getPropertyIndex("status");
+            submissionStats.transitioned(submission.getAgentId(), (String) event.getOldState()[status],
+                    submission.getStatus());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Submission submission) {
+            submissionStats.deleted(submission.getAgentId(), submission.getStatus());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Not committed, nothing to count
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Not committed, nothing to count
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Not committed, nothing to count
+    }
+}
@@ -0,0 +1,135 @@
+-- Schema of the agent portal on PostgreSQL, as the entities map it (checked by ddl-auto: validate in the
+-- prod profile). Apply it before starting a release:
+--   psql -h <host> -d <database> -U "$DB_USERNAME" -f src/main/resources/db/schema-postgresql.sql
+-- It only creates what is missing, so it also brings a database created by an earlier release (or by
+-- ddl-auto: update) up to date. Keep it in step with the entities when they change.
+
+create table if not exists archived_notification (
+    id varchar(255) not null,
+    archive_period varchar(7) not null,
+    user_id varchar(255),
+    submission_id varchar(255),
+    timestamp timestamp(6),
+    archived_at timestamp(6) not null,
+    payload oid not null,
+    primary key (id)
+);
+
+create index if not exists idx_archived_notification_period on archived_notification (archive_period);
+create index if not exists idx_archived_notification_user_id on archived_notification (user_id);
+
+create table if not exists archived_submission (
+    id varchar(255) not null,
+    archive_period varchar(7) not null,
+    user_id varchar(255),
+    agent_id varchar(255),
+    status varchar(255),
+    created_at timestamp(6),
+    archived_at timestamp(6) not null,
+    payload oid not null,
+    primary key (id)
+);
+
+create index if not exists idx_archived_submission_period on archived_submission (archive_period);
+create index if not exists idx_archived_submission_user_id on archived_submission (user_id);
+
+create table if not exists notification (
+    id varchar(255) not null,
+    user_id varchar(255),
+    submission_id varchar(255),
+    status varchar(255),
+    message varchar(255),
+    timestamp timestamp(6),
+    read boolean not null,
+    primary key (id)
+);
+
+create index if not exists idx_notification_user_id on notification (user_id);
+create index if not exists idx_notification_submission_id on notification (submission_id);
+create index if not exists idx_notification_read on notification (read);
+create index if not exists idx_notification_timestamp on notification (timestamp);
+
+create table if not exists origami_sync_state (
+    submission_proposal_id varchar(255) not null,
+    version bigint,
+    sent_data text,
+    sent_at timestamp(6),
+    primary key (submission_proposal_id)
+);
+
+create table if not exists rate_limit_bucket (
+    bucket_key varchar(255) not null,
+    theoretical_arrival_time bigint not null,
+    primary key (bucket_key)
+);
+
+create table if not exists replica_heartbeat (
+    id integer not null,
+    beat_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table if not exists submission (
+    id varchar(255) not null,
+    email_id varchar(255),
+    user_id varchar(255),
+    agent_id varchar(255),
+    client_name varchar(255),
+    submission_proposal_id varchar(255),
+    status varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    parsed_data text,
+    primary key (id)
+);
+
+-- Columns added since the first release
+alter table submission add column if not exists version bigint;
+alter table submission add column if not exists idempotency_key varchar(255);
+alter table submission add column if not exists stage varchar(255)
+    check (stage in ('CREATED', 'ORIGAMI_CREATED', 'PARSED', 'ORIGAMI_UPDATED', 'NOTIFIED'));
+alter table submission add column if not exists attempts integer not null default 0;
+alter table submission add column if not exists roots_ai_action varchar(255)
+    check (roots_ai_action in ('CALL', 'SKIP', 'DEFER', 'FAILED'));
+alter table submission add column if not exists deferred_parse_attempts integer not null default 0;
+alter table submission add column if not exists next_deferred_parse_at timestamp(6);
+alter table submission add column if not exists partition_hash integer;
+
+create index if not exists idx_submission_status_updated_at on submission (status, updated_at);
+create unique index if not exists idx_submission_idempotency_key on submission (idempotency_key);
+create index if not exists idx_submission_created_at on submission (created_at);
+
+create table if not exists submission_file (
+    submission_id varchar(255) not null,
+    filename varchar(255),
+    content_type varchar(255),
+    content oid not null,
+    primary key (submission_id)
+);
+
+create table if not exists submission_search_state (
+    submission_id varchar(255) not null,
+    indexed_version bigint not null,
+    indexed_at timestamp(6) not null,
+    primary key (submission_id)
+);
+
+create table if not exists submission_search_term (
+    id varchar(255) not null,
+    submission_id varchar(255) not null,
+    field varchar(64) not null,
+    term varchar(255) not null,
+    primary key (id)
+);
+
+create index if not exists idx_search_term_field_term on submission_search_term (field, term, submission_id);
+create index if not exists idx_search_term_submission_id on submission_search_term (submission_id);
+
+create table if not exists worker_lease (
+    name varchar(128) not null,
+    owner varchar(255) not null,
+    token bigint not null,
+    acquired_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    primary key (name)
+);
@@ -0,0 +1,53 @@
+#!/bin/bash
+
+# Compares container startup of the default (jvm), fast-start (AppCDS + Spring AOT) and native
+# (GraalVM) images
+#
+# Usage: ./startup-benchmark.sh [runs]        (default 5 runs per image)
+#        IMAGES="jvm native" ./startup-benchmark.sh
+#
+# For every run the container is started fresh and two numbers are recorded:
+#   ready   - wall time from `docker run` until /actuator/health/readiness reports UP (includes warm-up)
+#   started - "Started AgentPortalServiceApplication in N seconds" from the application log
+# plus the container's memory use once ready (cgroup usage: process RSS plus page cache). Medians are printed
+# per image.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+read -r -a IMAGES <<< "${IMAGES:-jvm fast-start native}"
+
+for target in "${IMAGES[@]}"; do
+    docker build -q --target "$target" -t "agent-portal-service:$target" . > /dev/null
+done
+
+median() {
+    sort -n | awk '{ a[NR] = $1 } END { print (NR % 2) ? a[(NR + 1) / 2] : (a[NR / 2] + a[NR / 2 + 1]) / 2 }'
+}
+
+printf "%-12s %12s %12s %12s\n" "image" "ready (ms)" "started (s)" "memory"
+for target in "${IMAGES[@]}"; do
+    ready_times=()
+    started_times=()
+    memory=""
+    for run in $(seq "$RUNS"); do
+        start=$(date +%s%N)
+        container=$(docker run -d -p 127.0.0.1::8080 "agent-portal-service:$target")
+        port=$(docker port "$container" 8080/tcp | head -1 | sed 's/.*://')
+        until curl -sf "http://127.0.0.1:$port/actuator/health/readiness" 2>/dev/null | grep -q '"UP"'; do
+            if [ "$(docker inspect -f '{{.State.Running}}' "$container")" != "true" ]; then
+                docker logs "$container" >&2
+                exit 1
+            fi
+            sleep 0.05
+        done
+        ready_times+=($(( ($(date +%s%N) - start) / 1000000 )))
+        started_times+=($(docker logs "$container" 2>&1 | sed -n 's/.*Started AgentPortalServiceApplication in \([0-9.]*\) seconds.*/\1/p'))
+        memory=$(docker stats --no-stream --format '{{.MemUsage}}' "$container" | cut -d/ -f1 | tr -d ' ')
+        docker rm -f "$container" > /dev/null
+    done
+    printf "%-12s %12s %12s %12s\n" "$target" \
+        "$(printf '%s\n' "${ready_times[@]}" | median)" \
+        "$(printf '%s\n' "${started_times[@]}" | median)" \
+        "$memory"
+done